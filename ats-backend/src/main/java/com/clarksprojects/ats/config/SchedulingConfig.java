@@ -0,0 +1,17 @@
+package com.clarksprojects.ats.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance jobs (e.g. dashboard counter
+ * reconciliation). On Lambda they only run while an instance is warm, which
+ * is enough for jobs that merely correct drift. Set
+ * {@code app.scheduling.enabled=false} to turn them all off.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
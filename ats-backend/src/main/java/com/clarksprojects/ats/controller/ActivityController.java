@@ -1,11 +1,21 @@
 package com.clarksprojects.ats.controller;
 
+import com.clarksprojects.ats.dto.ActivityPage;
 import com.clarksprojects.ats.dto.ActivityResponse;
+import com.clarksprojects.ats.entity.ActivityType;
 import com.clarksprojects.ats.service.ActivityService;
+import com.clarksprojects.ats.service.ActivityStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/activities")
@@ -13,14 +23,76 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
+    private final ActivityStream activityStream;
 
+    @Value("${app.activity.stream-timeout:PT30M}")
+    private Duration streamTimeout;
+
+    /**
+     * A candidate's or job's whole timeline, or one keyset page of it when
+     * {@code limit} or {@code cursor} is given. The global feed is always
+     * paged (20 by default). The cursor for the following page, if any, is
+     * in the {@code X-Next-Cursor} header.
+     */
     @GetMapping
-    public List<ActivityResponse> list(
+    public ResponseEntity<List<ActivityResponse>> list(
             @RequestParam(required = false) Long candidateId,
             @RequestParam(required = false) Long jobId,
-            @RequestParam(defaultValue = "20") int limit) {
-        if (candidateId != null) return activityService.forCandidate(candidateId);
-        if (jobId != null) return activityService.forJob(jobId);
-        return activityService.recent(limit);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Long job = candidateId != null ? null : jobId;
+        boolean paged = cursor != null || limit != null;
+        if (candidateId != null && !paged) return ResponseEntity.ok(activityService.forCandidate(candidateId));
+        if (job != null && !paged) return ResponseEntity.ok(activityService.forJob(job));
+
+        ActivityPage page = activityService.page(candidateId, job, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CandidateController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Activities whose metadata matches every {@code meta=key:value} pair,
+     * e.g. {@code ?type=STAGE_CHANGED&meta=to:HIRED&days=30}.
+     */
+    @GetMapping("/filter")
+    public List<ActivityResponse> filter(
+            @RequestParam(required = false) ActivityType type,
+            @RequestParam(required = false) List<String> meta,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "50") int limit) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (String pair : meta != null ? meta : List.<String>of()) {
+            int colon = pair.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("meta must be key:value, got: " + pair);
+            }
+            metadata.put(pair.substring(0, colon), pair.substring(colon + 1));
+        }
+        return activityService.filter(type, metadata, days, limit);
+    }
+
+    /**
+     * Server-sent events for activities committed from now on, optionally
+     * for one candidate and/or job: an {@code activity} event per entry (no
+     * {@code id}; it isn't known when the event is published), and a
+     * {@code resync} event with the number of entries skipped when this
+     * client fell too far behind. The stream ends after
+     * {@code app.activity.stream-timeout}; EventSource reconnects on its own.
+     * Not found when {@code app.activity.stream-enabled} is off.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) Long candidateId,
+            @RequestParam(required = false) Long jobId) {
+        // No body: an error body can't be written as text/event-stream.
+        if (!activityStream.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        activityStream.subscribe(emitter, candidateId, jobId);
+        return ResponseEntity.ok(emitter);
     }
 }
@@ -0,0 +1,139 @@
+package com.clarksprojects.ats.controller;
+
+import com.clarksprojects.ats.service.BlobStore.Blob;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a stored blob as a download: conditional GETs against its ETag and
+ * Last-Modified (304 / 412), a single byte range ({@code Range}, honouring
+ * {@code If-Range}; several ranges get the whole file) and HEAD. A blob on
+ * local disk goes out by Tomcat's sendfile, without passing through the
+ * heap, when the connector offers it. Otherwise (as on Lambda) it is copied
+ * into the response stream through a buffer: {@link FileChannel#transferTo}
+ * can only skip the copy when the target is a file or socket channel.
+ */
+final class BlobResponses {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private BlobResponses() {
+        // utility class
+    }
+
+    /** {@code etag} is a quoted strong validator. */
+    static void send(ServletWebRequest webRequest, HttpServletResponse response, Blob blob, InputStreamSource content,
+                     String etag, String filename, String cacheControl) throws IOException {
+        long lastModified = blob.lastModified().toEpochMilli();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+        HttpServletRequest request = webRequest.getRequest();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long length = blob.size();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && rangeStillApplies(request, etag, lastModified)) {
+            List<HttpRange> ranges = parseRanges(range);
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        Path file = blob.file();
+        if (file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        if (file != null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                while (position <= end) {
+                    long sent = channel.transferTo(position, end + 1 - position, target);
+                    if (sent <= 0) {
+                        throw new IOException("File shrank while sending: " + file);
+                    }
+                    position += sent;
+                }
+            }
+        } else {
+            try (InputStream in = content.getInputStream()) {
+                StreamUtils.copyRange(in, out, start, end);
+            }
+        }
+    }
+
+    /** No {@code If-Range}, or one that still matches: a changed file is sent whole instead. */
+    private static boolean rangeStillApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** A malformed {@code Range} header is ignored, as RFC 9110 allows. */
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
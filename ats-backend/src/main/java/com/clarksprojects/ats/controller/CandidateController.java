@@ -1,14 +1,24 @@
 package com.clarksprojects.ats.controller;
 
+import com.clarksprojects.ats.dto.BulkStageMoveRequest;
+import com.clarksprojects.ats.dto.CandidatePage;
 import com.clarksprojects.ats.dto.CandidateRequest;
 import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.CandidateSearchHit;
+import com.clarksprojects.ats.dto.CandidateSuggestion;
 import com.clarksprojects.ats.dto.StageMoveRequest;
 import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.repository.CandidateSort;
 import com.clarksprojects.ats.service.CandidateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,26 +27,106 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CandidateController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int EXPORT_PAGE_SIZE = 500;
+
     private final CandidateService candidateService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * One keyset page of matches, the first when there is no {@code cursor};
+     * {@code /export} streams them all. The body is the JSON array; the
+     * cursor for the following page, if any, is in the
+     * {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping("/search")
-    public List<CandidateResponse> searchCandidates(
+    public ResponseEntity<List<CandidateResponse>> searchCandidates(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String skills,
             @RequestParam(required = false) PipelineStage stage,
             @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) Long nearJobId,
+            @RequestParam(required = false) Double radiusMiles,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toResponse(candidateService.searchCandidates(
+                name, skills, stage, jobId, nearJobId, radiusMiles, sort, cursor, limit));
+    }
+
+    /**
+     * Ranked full-text search over resume text, notes and names, with
+     * highlighted snippets; {@code q} takes web-search syntax (quotes,
+     * {@code or}, {@code -word}).
+     */
+    @GetMapping("/fulltext")
+    public List<CandidateSearchHit> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer offset) {
+        return candidateService.fullTextSearch(q, limit, offset);
+    }
+
+    @GetMapping("/typeahead")
+    public List<CandidateSuggestion> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return candidateService.typeahead(q, limit);
+    }
+
+    /**
+     * The same search as {@code /search}, written as newline-delimited JSON
+     * one page at a time, so an export of any size never holds more than
+     * {@value #EXPORT_PAGE_SIZE} candidates in memory. The first page is read
+     * before the response starts, so bad filters still get a 400. Relevance
+     * order can't be paged, so it can't be exported either.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCandidates(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String skills,
+            @RequestParam(required = false) PipelineStage stage,
+            @RequestParam(required = false) Long jobId,
+            @RequestParam(required = false) Long nearJobId,
+            @RequestParam(required = false) Double radiusMiles,
             @RequestParam(required = false) String sort) {
-        return candidateService.searchCandidates(name, skills, stage, jobId, sort);
+        if (CandidateSort.parse(sort) == CandidateSort.RELEVANCE) {
+            throw new IllegalArgumentException("sort=relevance cannot be exported");
+        }
+        CandidatePage first = candidateService.searchCandidates(
+                name, skills, stage, jobId, nearJobId, radiusMiles, sort, null, EXPORT_PAGE_SIZE);
+        StreamingResponseBody body = out -> {
+            CandidatePage page = first;
+            while (true) {
+                for (CandidateResponse candidate : page.items()) {
+                    out.write(objectMapper.writeValueAsBytes(candidate));
+                    out.write('\n');
+                }
+                out.flush();
+                if (page.nextCursor() == null) break;
+                page = candidateService.searchCandidates(
+                        name, skills, stage, jobId, nearJobId, radiusMiles, sort, page.nextCursor(), EXPORT_PAGE_SIZE);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"candidates.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping
-    public List<CandidateResponse> getCandidates(
+    public ResponseEntity<List<CandidateResponse>> getCandidates(
             @RequestParam Long jobId,
-            @RequestParam(required = false) PipelineStage stage) {
+            @RequestParam(required = false) PipelineStage stage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return toResponse(candidateService.getCandidatesByJob(jobId, stage, cursor, limit));
+        }
         if (stage != null) {
-            return candidateService.getCandidatesByJobAndStage(jobId, stage);
+            return ResponseEntity.ok(candidateService.getCandidatesByJobAndStage(jobId, stage));
         }
-        return candidateService.getCandidatesByJob(jobId);
+        return ResponseEntity.ok(candidateService.getCandidatesByJob(jobId));
     }
 
     @GetMapping("/{id}")
@@ -55,6 +145,12 @@ public class CandidateController {
         return candidateService.updateCandidate(id, request);
     }
 
+    /** Several board moves in one request; returns every column they touched, in board order. */
+    @PatchMapping("/stage")
+    public List<CandidateResponse> moveStages(@Valid @RequestBody BulkStageMoveRequest request) {
+        return candidateService.moveStages(request);
+    }
+
     @PatchMapping("/{id}/stage")
     public CandidateResponse moveStage(@PathVariable Long id, @Valid @RequestBody StageMoveRequest request) {
         return candidateService.moveStage(id, request);
@@ -65,4 +161,12 @@ public class CandidateController {
     public void deleteCandidate(@PathVariable Long id) {
         candidateService.deleteCandidate(id);
     }
+
+    private static ResponseEntity<List<CandidateResponse>> toResponse(CandidatePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
 }
@@ -2,6 +2,7 @@ package com.clarksprojects.ats.controller;
 
 import com.clarksprojects.ats.dto.DashboardStats;
 import com.clarksprojects.ats.service.DashboardService;
+import com.clarksprojects.ats.service.DashboardStatsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,9 +14,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardStatsCache dashboardStatsCache;
 
     @GetMapping
     public DashboardStats getStats() {
-        return dashboardService.getStats();
+        // Cached outside the service so a hit doesn't open a transaction.
+        return dashboardStatsCache.get(dashboardService::getStats);
     }
 }
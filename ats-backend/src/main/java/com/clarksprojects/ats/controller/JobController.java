@@ -2,6 +2,7 @@ package com.clarksprojects.ats.controller;
 
 import com.clarksprojects.ats.dto.JobRequest;
 import com.clarksprojects.ats.dto.JobResponse;
+import com.clarksprojects.ats.dto.JobTopCandidates;
 import com.clarksprojects.ats.dto.TopCandidateMatch;
 import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.service.JobService;
@@ -32,6 +33,12 @@ public class JobController {
         return jobService.getAllJobs();
     }
 
+    @GetMapping("/top-candidates")
+    public List<JobTopCandidates> getTopCandidatesForOpenJobs(
+            @RequestParam(defaultValue = "5") int limit) {
+        return jobService.getTopCandidatesForOpenJobs(limit);
+    }
+
     @GetMapping("/{id}")
     public JobResponse getJob(@PathVariable Long id) {
         return jobService.getJob(id);
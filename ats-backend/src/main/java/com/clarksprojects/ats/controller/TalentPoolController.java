@@ -1,107 +1,106 @@
 package com.clarksprojects.ats.controller;
 
+import com.clarksprojects.ats.dto.BulkUploadStatus;
 import com.clarksprojects.ats.dto.CandidateResponse;
 import com.clarksprojects.ats.dto.ParsedResume;
+import com.clarksprojects.ats.service.BlobStore.Blob;
 import com.clarksprojects.ats.service.CandidateService;
+import com.clarksprojects.ats.service.ResumeIngestionService;
 import com.clarksprojects.ats.service.ResumeParserService;
+import com.clarksprojects.ats.service.ResumeStorage;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Set;
-import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/talent-pool")
 @RequiredArgsConstructor
 public class TalentPoolController {
 
-    private static final Pattern SAFE_FILENAME = Pattern.compile(
-            "^[0-9a-fA-F]{8}-([0-9a-fA-F]{4}-){3}[0-9a-fA-F]{12}\\.[a-zA-Z0-9]{1,10}$"
-    );
-
-    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(
-            ".pdf", ".doc", ".docx", ".txt", ".rtf"
-    );
-
     private final CandidateService candidateService;
     private final ResumeParserService resumeParserService;
-
-    @Value("${app.upload.resume-dir}")
-    private String uploadDir;
-
+    private final ResumeStorage resumeStorage;
+    private final ResumeIngestionService resumeIngestionService;
+
+    /**
+     * Creates a candidate from one resume (201). The same file uploaded
+     * again is recognised by its content hash and returns the candidate
+     * already created from it (200) without parsing it again.
+     */
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @ResponseStatus(HttpStatus.CREATED)
-    public CandidateResponse uploadResume(@RequestPart("file") MultipartFile file) throws IOException {
-        ParsedResume parsed = resumeParserService.parse(file);
-
-        String storedFilename = storeFile(file);
-        String resumeUrl = "/api/talent-pool/resumes/" + storedFilename;
-
-        return candidateService.createFromParsedResume(parsed, resumeUrl);
-    }
-
-    @GetMapping("/resumes/{filename}")
-    public ResponseEntity<Resource> serveResume(@PathVariable String filename) throws MalformedURLException {
-        if (!SAFE_FILENAME.matcher(filename).matches()) {
-            return ResponseEntity.badRequest().build();
-        }
-
-        // SAFE_FILENAME already rejects traversal sequences, but resolve+normalize
-        // then assert containment within the upload dir as defense-in-depth (and the
-        // canonical path-traversal barrier static analyzers recognize).
-        Path baseDir = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Path filePath = baseDir.resolve(filename).normalize();
-        if (!filePath.startsWith(baseDir)) {
-            return ResponseEntity.badRequest().build();
+    public ResponseEntity<CandidateResponse> uploadResume(@RequestPart("file") MultipartFile file) throws IOException {
+        if (file.getSize() > ResumeStorage.MAX_FILE_BYTES) {
+            throw new IllegalArgumentException("File is larger than " + ResumeStorage.MAX_FILE_BYTES / (1024 * 1024) + " MB");
         }
-        Resource resource = new UrlResource(filePath.toUri());
-
-        if (!resource.exists() || !resource.isReadable()) {
-            return ResponseEntity.notFound().build();
+        // Spooled once; hashed, parsed from and then moved into storage, never read into memory whole.
+        Path spooled = Files.createTempFile("resume-", ".upload");
+        try {
+            file.transferTo(spooled);
+            String filename = resumeStorage.filenameFor(file.getOriginalFilename(), spooled);
+            String resumeUrl = ResumeStorage.URL_PREFIX + filename;
+            Optional<CandidateResponse> existing = candidateService.findByResumeUrl(resumeUrl);
+            if (existing.isPresent()) {
+                return ResponseEntity.ok(existing.get());
+            }
+
+            ParsedResume parsed = resumeParserService.parse(spooled);
+            resumeStorage.store(filename, spooled);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(candidateService.createFromParsedResume(parsed, resumeUrl));
+        } finally {
+            Files.deleteIfExists(spooled);
         }
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(resource);
     }
 
-    private String storeFile(MultipartFile file) throws IOException {
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
+    /**
+     * Starts a bulk upload of many resumes and/or ZIP archives of resumes;
+     * poll the returned location for per-file progress.
+     */
+    @PostMapping(value = "/bulk-upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkUploadStatus> bulkUpload(@RequestPart("files") List<MultipartFile> files) throws IOException {
+        BulkUploadStatus status = resumeIngestionService.start(files);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/talent-pool/bulk-upload/" + status.id()))
+                .body(status);
+    }
 
-        String originalName = file.getOriginalFilename();
-        String extension = (originalName != null && originalName.contains("."))
-                ? originalName.substring(originalName.lastIndexOf('.')).toLowerCase()
-                : "";
+    @GetMapping("/bulk-upload/{id}")
+    public BulkUploadStatus getBulkUpload(@PathVariable String id) {
+        return resumeIngestionService.status(id);
+    }
 
-        if (!ALLOWED_EXTENSIONS.contains(extension)) {
-            throw new IllegalArgumentException("Unsupported file extension: " + extension);
+    /**
+     * Downloads a stored resume, answering conditional and range requests.
+     * Content-addressed files never change, so clients may cache them for good.
+     */
+    @GetMapping("/resumes/{filename}")
+    public void serveResume(@PathVariable String filename, ServletWebRequest webRequest,
+                            HttpServletResponse response) throws IOException {
+        if (!ResumeStorage.isValidFilename(filename)) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
         }
-
-        String storedFilename = UUID.randomUUID() + extension;
-        Path resolvedPath = uploadPath.resolve(storedFilename).normalize();
-
-        if (!resolvedPath.startsWith(uploadPath)) {
-            throw new IOException("Invalid file path");
+        Optional<Blob> found = resumeStorage.find(filename);
+        if (found.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
-
-        Files.write(resolvedPath, file.getBytes());
-        return storedFilename;
+        Blob blob = found.get();
+        Optional<String> hash = ResumeStorage.contentHashOf(filename);
+        String etag = "\"" + hash.orElse(blob.size() + "-" + blob.lastModified().toEpochMilli()) + "\"";
+        String cacheControl = hash.isPresent() ? "private, max-age=31536000, immutable" : "private, no-cache";
+        BlobResponses.send(webRequest, response, blob, () -> resumeStorage.open(blob), etag, filename, cacheControl);
     }
 }
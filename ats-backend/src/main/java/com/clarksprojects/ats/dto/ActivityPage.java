@@ -0,0 +1,12 @@
+package com.clarksprojects.ats.dto;
+
+import java.util.List;
+
+/**
+ * One page of an activity timeline. {@code nextCursor} is {@code null} on the
+ * last page (and always when the request wasn't paged).
+ */
+public record ActivityPage(
+        List<ActivityResponse> items,
+        String nextCursor
+) {}
@@ -4,6 +4,7 @@ import com.clarksprojects.ats.entity.Activity;
 import com.clarksprojects.ats.entity.ActivityType;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public record ActivityResponse(
         Long id,
@@ -15,7 +16,7 @@ public record ActivityResponse(
         Long actorId,
         String actorName,
         String summary,
-        String metadata,
+        Map<String, String> metadata,
         LocalDateTime createdAt
 ) {
     public static ActivityResponse from(Activity a) {
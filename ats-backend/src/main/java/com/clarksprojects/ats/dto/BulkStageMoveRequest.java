@@ -0,0 +1,43 @@
+package com.clarksprojects.ats.dto;
+
+import com.clarksprojects.ats.entity.PipelineStage;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStageMoveRequest {
+
+    public static final int MAX_MOVES = 500;
+
+    @NotEmpty(message = "At least one move is required")
+    @Size(max = MAX_MOVES, message = "At most " + MAX_MOVES + " moves per request")
+    private List<@Valid @NotNull Move> moves;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Move {
+
+        @NotNull(message = "Candidate id is required")
+        private Long candidateId;
+
+        @NotNull(message = "New stage is required")
+        private PipelineStage newStage;
+
+        /** As in {@link StageMoveRequest}. */
+        @PositiveOrZero(message = "New order must not be negative")
+        private Integer newOrder;
+    }
+}
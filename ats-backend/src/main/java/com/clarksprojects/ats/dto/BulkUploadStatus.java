@@ -0,0 +1,31 @@
+package com.clarksprojects.ats.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk resume upload; {@code files} lists every resume in
+ * upload order (archives are expanded into their entries). A
+ * {@link FileState#DUPLICATE} file was uploaded before: its
+ * {@code candidateId} is the candidate created from it then, or its
+ * {@code error} names the earlier file in the same upload.
+ */
+public record BulkUploadStatus(
+        String id,
+        State state,
+        Instant startedAt,
+        Instant finishedAt,
+        int total,
+        int processed,
+        int created,
+        int failed,
+        int duplicates,
+        List<FileResult> files) {
+
+    public enum State { RUNNING, COMPLETED }
+
+    public enum FileState { PENDING, CREATED, DUPLICATE, FAILED }
+
+    public record FileResult(String name, FileState state, Long candidateId, String error) {
+    }
+}
@@ -25,7 +25,7 @@ public class CandidateResponse {
     private Double longitude;
     private Integer lastAssignmentDays;
     private PipelineStage stage;
-    private Integer stageOrder;
+    private Long stageOrder;
     private Long jobId;
     private String jobTitle;
     private boolean talentPool;
@@ -0,0 +1,13 @@
+package com.clarksprojects.ats.dto;
+
+/**
+ * One full-text search result. Snippets are HTML: matches are wrapped in
+ * {@code <mark>}, everything else is escaped. {@code null} when the resume
+ * or the notes didn't match (e.g. a hit on the name alone).
+ */
+public record CandidateSearchHit(
+        CandidateResponse candidate,
+        double rank,
+        String resumeSnippet,
+        String noteSnippet
+) {}
@@ -0,0 +1,9 @@
+package com.clarksprojects.ats.dto;
+
+/** A typeahead match: just enough to show the candidate and link to it. */
+public record CandidateSuggestion(
+        Long id,
+        String firstName,
+        String lastName,
+        String email
+) {}
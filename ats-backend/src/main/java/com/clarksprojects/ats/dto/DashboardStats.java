@@ -4,9 +4,10 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Aggregated metrics + at-a-glance lists for the dashboard. All counts come
- * from a single database round-trip per piece (no N+1) and the lists are
- * already bounded (top-N) so the SPA can render the dashboard from one call.
+ * Aggregated metrics + at-a-glance lists for the dashboard. The counts come
+ * from the {@code dashboard_counter} rollup plus one time-window query, and
+ * the lists are already bounded (top-N) so the SPA can render the dashboard
+ * from one call.
  */
 public record DashboardStats(
         long totalJobs,
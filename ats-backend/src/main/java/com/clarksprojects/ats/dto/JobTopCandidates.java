@@ -0,0 +1,11 @@
+package com.clarksprojects.ats.dto;
+
+import java.util.List;
+
+/** One open job and its best-ranked candidates, for the batch top-candidates view. */
+public record JobTopCandidates(
+        Long jobId,
+        String title,
+        String employer,
+        List<TopCandidateMatch> matches
+) {}
@@ -2,6 +2,7 @@ package com.clarksprojects.ats.dto;
 
 import com.clarksprojects.ats.entity.PipelineStage;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
 
 @Getter
@@ -14,5 +15,7 @@ public class StageMoveRequest {
     @NotNull(message = "New stage is required")
     private PipelineStage newStage;
 
+    /** Position in the new stage's column, 0 = top; omitted keeps the order, or appends on a stage change. */
+    @PositiveOrZero(message = "New order must not be negative")
     private Integer newOrder;
 }
@@ -0,0 +1,9 @@
+package com.clarksprojects.ats.dto;
+
+/**
+ * A parsed resume whose file has already been stored under {@code resumeUrl};
+ * {@code newlyStored} is false when the same content was stored before, by
+ * this or another request.
+ */
+public record StoredResume(ParsedResume parsed, String resumeUrl, boolean newlyStored) {
+}
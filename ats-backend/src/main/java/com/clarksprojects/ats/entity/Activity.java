@@ -3,8 +3,11 @@ package com.clarksprojects.ats.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
 @Table(name = "activity")
@@ -39,13 +42,18 @@ public class Activity {
     private String summary;
 
     /**
-     * Free-form key=value metadata serialised by {@link com.clarksprojects.ats.service.ActivityService}.
-     * Stored as TEXT to stay portable across H2 (tests) and Postgres (runtime).
+     * Free-form string metadata (ids, from/to stages, ...). Stored as a JSON
+     * object: JSONB with a GIN index on Postgres, JSON on H2 (tests).
      */
-    @Column(columnDefinition = "TEXT")
-    private String metadata;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> metadata;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private LocalDateTime createdAt;
+
+    /** The metadata value for {@code key}, or {@code null} when absent. */
+    public String metadataValue(String key) {
+        return metadata != null ? metadata.get(key) : null;
+    }
 }
@@ -1,5 +1,8 @@
 package com.clarksprojects.ats.entity;
 
+import com.clarksprojects.ats.util.Geo;
+import com.clarksprojects.ats.util.Skills;
+import com.clarksprojects.ats.util.StageOrderKeys;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -28,6 +31,18 @@ public class Candidate {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    /**
+     * {@code LOWER(first_name || ' ' || last_name)}, generated by the database
+     * (V18) and read by the name filters in {@link
+     * com.clarksprojects.ats.repository.CandidateSearchRepositoryImpl}. Never
+     * written from here. The definition is V18's for generated (test) schemas,
+     * less {@code STORED}, which H2 doesn't accept (it stores them regardless).
+     */
+    @Column(name = "full_name_lower", insertable = false, updatable = false,
+            columnDefinition = "TEXT GENERATED ALWAYS AS (LOWER(first_name || ' ' || last_name))")
+    @Setter(AccessLevel.NONE)
+    private String fullNameLower;
+
     @Column(nullable = false)
     private String email;
 
@@ -42,12 +57,29 @@ public class Candidate {
     @Column(columnDefinition = "TEXT")
     private String skills;
 
+    /**
+     * Normalised copy of {@link #skills} (see {@link Skills#normalize}), one row
+     * per skill in {@code candidate_skill}. Skill searches and top-candidate
+     * matching filter on this instead of re-splitting the TEXT column per row.
+     * Kept in sync by {@link #setSkills} and {@link #indexSkills}.
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "candidate_skill", joinColumns = @JoinColumn(name = "candidate_id"))
+    @Column(name = "skill", nullable = false, length = Skills.MAX_SKILL_LENGTH)
+    @Builder.Default
+    private Set<String> skillIndex = new HashSet<>();
+
     private String address;
 
     private Double latitude;
 
     private Double longitude;
 
+    /** {@link Geo#cellOf} of the coordinates; kept in sync by the coordinate setters and {@link #indexSkills}. */
+    @Column(name = "geo_cell")
+    @Setter(AccessLevel.NONE)
+    private Integer geoCell;
+
     @Column(name = "last_assignment_days")
     private Integer lastAssignmentDays;
 
@@ -55,8 +87,9 @@ public class Candidate {
     @Column(nullable = false)
     private PipelineStage stage;
 
-    @Column(name = "stage_order")
-    private Integer stageOrder;
+    /** Position in the job's board column; a gap-based key, see {@link StageOrderKeys}. */
+    @Column(name = "stage_order", nullable = false)
+    private Long stageOrder;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
@@ -78,4 +111,30 @@ public class Candidate {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    public void setSkills(String skills) {
+        this.skills = skills;
+        indexSkills();
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+        this.geoCell = Geo.cellOf(latitude, longitude);
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+        this.geoCell = Geo.cellOf(latitude, longitude);
+    }
+
+    /** Builder-created candidates bypass the setters, so derive the skill and geo indexes on insert. */
+    @PrePersist
+    void indexSkills() {
+        if (skillIndex == null) {
+            skillIndex = new HashSet<>();
+        }
+        skillIndex.clear();
+        skillIndex.addAll(Skills.normalize(skills));
+        geoCell = Geo.cellOf(latitude, longitude);
+    }
 }
@@ -0,0 +1,29 @@
+package com.clarksprojects.ats.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Text extracted from a candidate's resume, kept for full-text search. The
+ * table's {@code search_vector} column (V17) is generated from it by
+ * Postgres and is not mapped here.
+ */
+@Entity
+@Table(name = "candidate_resume")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CandidateResume {
+
+    /** Longest text stored; Postgres can't index a {@code tsvector} over 1 MB, and search gains little past this. */
+    public static final int MAX_TEXT_LENGTH = 200_000;
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(name = "resume_text", nullable = false, columnDefinition = "TEXT")
+    private String resumeText;
+}
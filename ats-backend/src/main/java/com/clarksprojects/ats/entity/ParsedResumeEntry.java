@@ -0,0 +1,45 @@
+package com.clarksprojects.ats.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resume's parse result, keyed by the SHA-256 of the file. Skills are
+ * not kept: they depend on the skill dictionary, which can change, and are
+ * re-extracted from {@code rawText} on every read.
+ */
+@Entity
+@Table(name = "parsed_resume")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParsedResumeEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "parser_version", nullable = false)
+    private int parserVersion;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    @Column(name = "raw_text", nullable = false, columnDefinition = "TEXT")
+    private String rawText;
+
+    @Column(name = "parsed_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime parsedAt = LocalDateTime.now();
+}
@@ -0,0 +1,83 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.ActivityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes activity rows in bulk with multi-row {@code INSERT}s, bypassing the
+ * persistence context: the log is append-only and nothing reads the new rows
+ * back as entities in the writing transaction.
+ */
+@Repository
+public class ActivityBatchRepository {
+
+    /** Seven bind parameters per row keeps a full chunk well under the driver's 65535 limit. */
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String metadataCast;
+
+    public void insertAll(List<NewActivity> activities) {
+        for (int from = 0; from < activities.size(); from += ROWS_PER_STATEMENT) {
+            insert(activities.subList(from, Math.min(activities.size(), from + ROWS_PER_STATEMENT)));
+        }
+    }
+
+    private void insert(List<NewActivity> rows) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO activity (type, candidate_id, job_id, actor_id, summary, metadata, created_at) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(:type").append(i).append(", :candidate").append(i).append(", :job").append(i)
+                    .append(", :actor").append(i).append(", :summary").append(i)
+                    .append(", ").append(metadataCast().formatted("metadata" + i))
+                    .append(", :createdAt").append(i).append(")");
+        }
+        // Typed binds, so a null id or metadata still binds as the column's type.
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        for (int i = 0; i < rows.size(); i++) {
+            NewActivity row = rows.get(i);
+            query.setParameter("type" + i, row.type().name());
+            query.setParameter("candidate" + i, row.candidateId(), Long.class);
+            query.setParameter("job" + i, row.jobId(), Long.class);
+            query.setParameter("actor" + i, row.actorId(), Long.class);
+            query.setParameter("summary" + i, row.summary());
+            query.setParameter("metadata" + i, row.metadataJson(), String.class);
+            query.setParameter("createdAt" + i, row.createdAt());
+        }
+        query.executeUpdate();
+    }
+
+    /**
+     * How to turn a JSON text parameter into the metadata column's type. H2
+     * would store a plain cast as a JSON string rather than parse it.
+     */
+    private String metadataCast() {
+        String cast = metadataCast;
+        if (cast == null) {
+            boolean h2 = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof H2Dialect;
+            cast = h2 ? ":%s FORMAT JSON" : "CAST(:%s AS jsonb)";
+            metadataCast = cast;
+        }
+        return cast;
+    }
+
+    public record NewActivity(ActivityType type,
+                              Long candidateId,
+                              Long jobId,
+                              Long actorId,
+                              String summary,
+                              String metadataJson,
+                              LocalDateTime createdAt) {}
+}
@@ -0,0 +1,42 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in an activity feed, which is ordered newest first by
+ * {@code (created_at, id)}: the next page starts strictly before the last row
+ * already returned. Clients get it as an opaque URL-safe token.
+ */
+public record ActivityCursor(LocalDateTime createdAt, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ActivityCursor after(ActivityResponse last) {
+        return new ActivityCursor(last.createdAt(), last.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} isn't an activity cursor
+     */
+    public static ActivityCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ActivityCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Activity timelines, newest first, read straight into {@link ActivityResponse}:
+ * the actor, candidate and job names come from joins in the same SELECT, so a
+ * page costs one statement however many rows it has. Keyset paging on
+ * {@code (created_at, id)} is served by the matching composite indexes.
+ */
+@Repository
+public class ActivityFeedRepository {
+
+    private static final String SELECT = """
+            SELECT new com.clarksprojects.ats.dto.ActivityResponse(
+                a.id, a.type,
+                c.id, CASE WHEN c.id IS NULL THEN NULL ELSE CONCAT(c.firstName, ' ', c.lastName) END,
+                j.id, j.title,
+                u.id, CASE WHEN u.id IS NULL THEN 'System' ELSE u.fullName END,
+                a.summary, a.metadata, a.createdAt)
+            FROM Activity a
+            LEFT JOIN a.candidate c
+            LEFT JOIN a.job j
+            LEFT JOIN a.actor u
+            WHERE 1 = 1
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param candidateId only this candidate's activities, or {@code null}
+     * @param jobId       only this job's activities, or {@code null}
+     * @param after       start strictly after this position, or {@code null} for the newest
+     * @param limit       at most this many rows, or {@code null} for all
+     */
+    public List<ActivityResponse> find(Long candidateId, Long jobId, ActivityCursor after, Integer limit) {
+        return find(candidateId, jobId, after, null, limit);
+    }
+
+    /**
+     * As {@link #find(Long, Long, ActivityCursor, Integer)}, but only rows
+     * created at or after {@code since}, which lets Postgres skip every
+     * monthly partition before it.
+     */
+    public List<ActivityResponse> find(Long candidateId, Long jobId, ActivityCursor after,
+                                       LocalDateTime since, Integer limit) {
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (candidateId != null) jpql.append(" AND a.candidate.id = :candidateId");
+        if (jobId != null) jpql.append(" AND a.job.id = :jobId");
+        if (since != null) jpql.append(" AND a.createdAt >= :since");
+        if (after != null) jpql.append(" AND (a.createdAt, a.id) < (:afterCreatedAt, :afterId)");
+        jpql.append(" ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<ActivityResponse> query = entityManager.createQuery(jpql.toString(), ActivityResponse.class);
+        if (candidateId != null) query.setParameter("candidateId", candidateId);
+        if (jobId != null) query.setParameter("jobId", jobId);
+        if (since != null) query.setParameter("since", since);
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        if (limit != null) query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.clarksprojects.ats.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * DDL for the monthly partitions of {@code activity} (V13). Postgres only;
+ * every method must run inside a transaction.
+ */
+@Repository
+public class ActivityPartitionRepository {
+
+    private static final Pattern MONTHLY = Pattern.compile("activity_(\\d{4})_(\\d{2})");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    /** Advisory lock taken by whoever is changing the partitions; any fixed number unique to this job. */
+    private static final long MAINTENANCE_LOCK = 0x61637469766974L;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static String partitionName(YearMonth month) {
+        return "activity_%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    /** The month a partition named by {@link #partitionName} holds; empty for any other table. */
+    public static Optional<YearMonth> monthOf(String partition) {
+        Matcher m = MONTHLY.matcher(partition);
+        return m.matches()
+                ? Optional.of(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))
+                : Optional.empty();
+    }
+
+    /** Monthly partitions currently attached to {@code activity}, oldest first. */
+    @SuppressWarnings("unchecked")
+    public List<YearMonth> attachedMonths() {
+        List<String> names = entityManager.createNativeQuery("""
+                        SELECT c.relname FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = 'activity'
+                        """)
+                .getResultList();
+        return names.stream().map(ActivityPartitionRepository::monthOf)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Monthly partition tables that exist but are not attached: archives
+     * whose export or drop did not finish.
+     */
+    @SuppressWarnings("unchecked")
+    public List<YearMonth> detachedMonths() {
+        List<String> names = entityManager.createNativeQuery("""
+                        SELECT c.relname FROM pg_class c
+                        WHERE c.relkind = 'r' AND NOT c.relispartition
+                          AND c.relname ~ '^activity_[0-9]{4}_[0-9]{2}$'
+                          AND pg_table_is_visible(c.oid)
+                        """)
+                .getResultList();
+        return names.stream().map(ActivityPartitionRepository::monthOf)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Takes the partition maintenance lock until the transaction ends, so
+     * only one instance changes partitions at a time; false if another
+     * holds it.
+     */
+    public boolean tryLock() {
+        return (Boolean) entityManager.createNativeQuery("SELECT pg_try_advisory_xact_lock(:key)")
+                .setParameter("key", MAINTENANCE_LOCK)
+                .getSingleResult();
+    }
+
+    /**
+     * Creates and attaches the partition for {@code month}, first moving any
+     * rows for that month out of {@code activity_default} (attaching fails
+     * while the default partition holds rows in the new range).
+     */
+    public void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        entityManager.createNativeQuery("CREATE TABLE IF NOT EXISTS " + name + " (LIKE activity INCLUDING DEFAULTS)")
+                .executeUpdate();
+        entityManager.createNativeQuery("WITH moved AS (DELETE FROM activity_default"
+                        + " WHERE created_at >= :from AND created_at < :to RETURNING *)"
+                        + " INSERT INTO " + name + " SELECT * FROM moved")
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.atStartOfDay())
+                .executeUpdate();
+        entityManager.createNativeQuery("ALTER TABLE activity ATTACH PARTITION " + name
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')")
+                .executeUpdate();
+    }
+
+    public void detachPartition(YearMonth month) {
+        entityManager.createNativeQuery("ALTER TABLE activity DETACH PARTITION " + partitionName(month))
+                .executeUpdate();
+    }
+
+    /** Streams every row of a (detached) partition as a JSON object, in id order. */
+    @SuppressWarnings("unchecked")
+    public long exportPartition(YearMonth month, Consumer<String> jsonRows) {
+        try (Stream<String> rows = entityManager.createNativeQuery(
+                        "SELECT CAST(row_to_json(t) AS TEXT) FROM " + partitionName(month) + " t ORDER BY t.id")
+                .setHint("org.hibernate.fetchSize", EXPORT_FETCH_SIZE)
+                .getResultStream()) {
+            long[] count = {0};
+            rows.forEach(row -> {
+                jsonRows.accept(row);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+
+    public void dropPartition(YearMonth month) {
+        entityManager.createNativeQuery("DROP TABLE IF EXISTS " + partitionName(month)).executeUpdate();
+    }
+}
@@ -1,13 +1,34 @@
 package com.clarksprojects.ats.repository;
 
 import com.clarksprojects.ats.entity.Activity;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
-    List<Activity> findByCandidateIdOrderByCreatedAtDesc(Long candidateId);
-    List<Activity> findByJobIdOrderByCreatedAtDesc(Long jobId);
-    List<Activity> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    /**
+     * Newest ids of activities whose metadata contains every pair in
+     * {@code metadataJson} (a JSON object), optionally of one type. The
+     * containment test is answered by the GIN index on metadata. Postgres only.
+     */
+    @Query(value = """
+            SELECT a.id FROM activity a
+            WHERE a.metadata @> CAST(:metadataJson AS jsonb)
+              AND (CAST(:type AS VARCHAR) IS NULL OR a.type = CAST(:type AS VARCHAR))
+              AND a.created_at >= :since
+            ORDER BY a.created_at DESC, a.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findIdsByMetadata(@Param("metadataJson") String metadataJson,
+                                 @Param("type") String type,
+                                 @Param("since") LocalDateTime since,
+                                 @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = {"candidate", "job", "actor"})
+    List<Activity> findByIdInOrderByCreatedAtDescIdDesc(Collection<Long> ids);
 }
@@ -0,0 +1,68 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset position in a {@link CandidateSort} ordering: the sort keys and id of
+ * the last row already returned. The next page starts strictly after it, so
+ * paging costs the same at any depth and rows inserted meanwhile don't shift
+ * later pages the way an OFFSET would.
+ *
+ * <p>Clients get it as an opaque URL-safe token; {@link #decode} rejects
+ * malformed tokens and tokens minted for a different ordering.
+ */
+public record CandidateCursor(CandidateSort sort, List<String> keys, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static CandidateCursor after(CandidateSort sort, Candidate last) {
+        return new CandidateCursor(sort, sort.keysOf(last), last.getId());
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(sort.name());
+        for (String key : keys) {
+            // URL encoding escapes '|', so keys can't collide with the separator.
+            raw.append(SEPARATOR).append(URLEncoder.encode(key, StandardCharsets.UTF_8));
+        }
+        raw.append(SEPARATOR).append(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} isn't a cursor for {@code expected}
+     */
+    public static CandidateCursor decode(String token, CandidateSort expected) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!parts[0].equals(expected.name())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        if (parts.length != expected.columns.size() + 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            List<String> keys = new ArrayList<>(parts.length - 2);
+            for (int i = 1; i < parts.length - 1; i++) {
+                String key = URLDecoder.decode(parts[i], StandardCharsets.UTF_8);
+                expected.bind(key);
+                keys.add(key);
+            }
+            return new CandidateCursor(expected, keys, Long.parseLong(parts[parts.length - 1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
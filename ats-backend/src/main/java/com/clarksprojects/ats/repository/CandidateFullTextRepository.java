@@ -0,0 +1,129 @@
+package com.clarksprojects.ats.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Full-text search over candidates' resume text ({@code candidate_resume})
+ * and notes ({@code candidate_note}), through their generated
+ * {@code tsvector} columns and GIN indexes (V17), plus a substring match on
+ * the name served by its trigram index (V18). Postgres-specific.
+ *
+ * <p>The query is read with {@code websearch_to_tsquery}, so it takes the
+ * syntax of a web search box: {@code "quoted phrases"}, {@code or} and
+ * {@code -excluded} words. Words are stemmed ({@code english}), so "managing"
+ * matches "managed".
+ */
+@Repository
+public class CandidateFullTextRepository {
+
+    /** Highlight markers ts_headline puts around matches; characters that don't occur in resume text. */
+    public static final String START_SEL = "⟦";
+    public static final String STOP_SEL = "⟧";
+
+    private static final String HEADLINE_OPTIONS = "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL
+            + ", MaxWords=30, MinWords=12, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    /**
+     * A candidate's rank sums its resume match, half its best-matching notes
+     * (a note is someone's opinion, not the candidate's own words) and twice
+     * the name similarity, so a hit on the name itself comes first.
+     */
+    private static final String SEARCH_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query),
+            hits AS (
+                SELECT r.candidate_id, ts_rank_cd(r.search_vector, q.query) AS rank
+                FROM candidate_resume r, q
+                WHERE r.search_vector @@ q.query
+                UNION ALL
+                SELECT n.candidate_id, 0.5 * ts_rank_cd(n.search_vector, q.query)
+                FROM candidate_note n, q
+                WHERE n.search_vector @@ q.query
+                UNION ALL
+                SELECT c.id, 2 * similarity(c.full_name_lower, :name)
+                FROM candidate c
+                WHERE c.full_name_lower LIKE :namePattern
+            )
+            SELECT candidate_id, SUM(rank) AS rank
+            FROM hits
+            GROUP BY candidate_id
+            ORDER BY rank DESC, candidate_id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String RESUME_SNIPPETS_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query)
+            SELECT r.candidate_id, ts_headline('english', r.resume_text, q.query, :options)
+            FROM candidate_resume r, q
+            WHERE r.candidate_id IN (:ids) AND r.search_vector @@ q.query
+            """;
+
+    /** The best-matching note of each candidate. */
+    private static final String NOTE_SNIPPETS_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query)
+            SELECT DISTINCT ON (n.candidate_id) n.candidate_id, ts_headline('english', n.body, q.query, :options)
+            FROM candidate_note n, q
+            WHERE n.candidate_id IN (:ids) AND n.search_vector @@ q.query
+            ORDER BY n.candidate_id, ts_rank_cd(n.search_vector, q.query) DESC, n.id DESC
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public record Hit(long candidateId, double rank) {
+    }
+
+    /** One page of matching candidates, best first. */
+    @SuppressWarnings("unchecked")
+    public List<Hit> search(String query, int limit, int offset) {
+        String name = query.toLowerCase(Locale.ROOT);
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_SQL)
+                .setParameter("query", query)
+                .setParameter("name", name)
+                .setParameter("namePattern", "%" + CandidateSearchRepositoryImpl.escapeLike(name) + "%")
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new Hit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .toList();
+    }
+
+    /**
+     * Fragments of each candidate's resume around the matches, with every
+     * match between {@link #START_SEL} and {@link #STOP_SEL}. Only computed
+     * for the page being returned: building headlines reads the whole text.
+     */
+    public Map<Long, String> resumeSnippets(String query, Collection<Long> candidateIds) {
+        return snippets(RESUME_SNIPPETS_SQL, query, candidateIds);
+    }
+
+    /** Like {@link #resumeSnippets}, from each candidate's best-matching note. */
+    public Map<Long, String> noteSnippets(String query, Collection<Long> candidateIds) {
+        return snippets(NOTE_SNIPPETS_SQL, query, candidateIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, String> snippets(String sql, String query, Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("query", query)
+                .setParameter("options", HEADLINE_OPTIONS)
+                .setParameter("ids", candidateIds)
+                .getResultList();
+        Map<Long, String> snippets = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            snippets.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return snippets;
+    }
+}
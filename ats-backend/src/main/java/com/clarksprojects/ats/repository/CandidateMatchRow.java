@@ -0,0 +1,16 @@
+package com.clarksprojects.ats.repository;
+
+/**
+ * The columns top-candidate scoring reads, projected straight from the
+ * candidate table so matching never hydrates {@code Candidate} entities.
+ */
+public record CandidateMatchRow(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String skills,
+        Integer lastAssignmentDays,
+        Double latitude,
+        Double longitude
+) {}
@@ -0,0 +1,147 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.util.StageOrderKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and renumbers the gap-based board keys ({@link StageOrderKeys}) of
+ * one column, i.e. one job's candidates in one stage, ordered by
+ * {@code (stage_order, id)}. Every method must run inside a transaction.
+ */
+@Repository
+public class CandidateOrderRepository {
+
+    /** Two bind parameters per row keeps a full chunk well under the driver's 65535 limit. */
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    /** Columns with a gap this small are renumbered before it closes completely. */
+    static final long MIN_GAP = StageOrderKeys.GAP >> 10;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Keys of the cards that would sit directly above and below a card put at
+     * {@code position} (0 = top) of a column, not counting {@code candidateId}
+     * itself (null for a new candidate). A null position, or one past the
+     * end, means the bottom.
+     */
+    public Neighbours neighbours(Long jobId, PipelineStage stage, Long candidateId, Integer position) {
+        if (position == null) {
+            return new Neighbours(lastKey(jobId, stage, candidateId), null);
+        }
+        List<Long> keys = columnKeys(jobId, stage, candidateId)
+                .setFirstResult(Math.max(0, position - 1))
+                .setMaxResults(position == 0 ? 1 : 2)
+                .getResultList();
+        if (position == 0) {
+            return new Neighbours(null, keys.isEmpty() ? null : keys.get(0));
+        }
+        if (keys.isEmpty()) {
+            return new Neighbours(lastKey(jobId, stage, candidateId), null);
+        }
+        return new Neighbours(keys.get(0), keys.size() > 1 ? keys.get(1) : null);
+    }
+
+    private TypedQuery<Long> columnKeys(Long jobId, PipelineStage stage, Long candidateId) {
+        return entityManager.createQuery("""
+                        SELECT c.stageOrder FROM Candidate c
+                        WHERE c.job.id = :jobId AND c.stage = :stage AND (:id IS NULL OR c.id <> :id)
+                        ORDER BY c.stageOrder, c.id
+                        """, Long.class)
+                .setParameter("jobId", jobId)
+                .setParameter("stage", stage)
+                .setParameter("id", candidateId);
+    }
+
+    private Long lastKey(Long jobId, PipelineStage stage, Long candidateId) {
+        return entityManager.createQuery("""
+                        SELECT MAX(c.stageOrder) FROM Candidate c
+                        WHERE c.job.id = :jobId AND c.stage = :stage AND (:id IS NULL OR c.id <> :id)
+                        """, Long.class)
+                .setParameter("jobId", jobId)
+                .setParameter("stage", stage)
+                .setParameter("id", candidateId)
+                .getSingleResult();
+    }
+
+    /**
+     * Respaces a column to {@link StageOrderKeys#nth}, keeping its order.
+     * The update bypasses the persistence context (so it doesn't touch
+     * {@code updated_at}); candidates of the column already loaded in it are
+     * refreshed afterwards.
+     */
+    public int rebalance(Long jobId, PipelineStage stage) {
+        entityManager.flush();
+        List<Long> ids = entityManager.createQuery("""
+                        SELECT c.id FROM Candidate c
+                        WHERE c.job.id = :jobId AND c.stage = :stage
+                        ORDER BY c.stageOrder, c.id
+                        """, Long.class)
+                .setParameter("jobId", jobId)
+                .setParameter("stage", stage)
+                .getResultList();
+        for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+            renumber(ids.subList(from, Math.min(ids.size(), from + ROWS_PER_STATEMENT)), from);
+        }
+        for (Long id : ids) {
+            Candidate loaded = entityManager.getReference(Candidate.class, id);
+            if (entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(loaded)) {
+                entityManager.refresh(loaded);
+            }
+        }
+        return ids.size();
+    }
+
+    private void renumber(List<Long> ids, int offset) {
+        StringBuilder sql = new StringBuilder("UPDATE candidate SET stage_order = CASE id");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN :key").append(i);
+        }
+        sql.append(" END WHERE id IN (:ids)");
+        var query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < ids.size(); i++) {
+            query.setParameter("id" + i, ids.get(i));
+            query.setParameter("key" + i, StageOrderKeys.nth(offset + i));
+        }
+        query.setParameter("ids", ids);
+        query.executeUpdate();
+    }
+
+    /**
+     * Columns where two neighbouring keys are closer than {@link #MIN_GAP}
+     * or a key has drifted towards {@link StageOrderKeys#MAX_KEY}.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Column> crowdedColumns() {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT DISTINCT job_id, stage FROM (
+                            SELECT job_id, stage, stage_order,
+                                   stage_order - LAG(stage_order) OVER (
+                                       PARTITION BY job_id, stage ORDER BY stage_order, id) AS gap
+                            FROM candidate) keyed
+                        WHERE gap < :minGap OR ABS(stage_order) > :maxKey
+                        """)
+                .setParameter("minGap", MIN_GAP)
+                .setParameter("maxKey", StageOrderKeys.MAX_KEY / 2)
+                .getResultList();
+        List<Column> columns = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            columns.add(new Column(((Number) row[0]).longValue(), PipelineStage.valueOf((String) row[1])));
+        }
+        return columns;
+    }
+
+    /** Keys around an insertion point; null past either end of the column. */
+    public record Neighbours(Long before, Long after) {}
+
+    public record Column(Long jobId, PipelineStage stage) {}
+}
@@ -2,27 +2,45 @@ package com.clarksprojects.ats.repository;
 
 import com.clarksprojects.ats.entity.Candidate;
 import com.clarksprojects.ats.entity.PipelineStage;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface CandidateRepository extends JpaRepository<Candidate, Long> {
+public interface CandidateRepository extends JpaRepository<Candidate, Long>, CandidateSearchRepository {
+
+    // List queries fetch the job and tags every CandidateResponse reads, instead of one lazy load per row.
+    @EntityGraph(attributePaths = {"job", "tags"})
     List<Candidate> findByJobIdOrderByStageOrderAsc(Long jobId);
+
+    @EntityGraph(attributePaths = {"job", "tags"})
     List<Candidate> findByJobIdAndStageOrderByStageOrderAsc(Long jobId, PipelineStage stage);
-    long countByStage(PipelineStage stage);
-
-    @Query("SELECT COUNT(c) FROM Candidate c WHERE c.stage = com.clarksprojects.ats.entity.PipelineStage.HIRED AND c.updatedAt >= :since")
-    long countHiredSince(@Param("since") LocalDateTime since);
-
-    @Query(value = "SELECT * FROM candidate c WHERE " +
-           "(CAST(:name AS text) IS NULL OR LOWER(c.first_name || ' ' || c.last_name) LIKE LOWER('%' || CAST(:name AS text) || '%')) AND " +
-           "(CAST(:stage AS varchar) IS NULL OR c.stage = CAST(:stage AS varchar)) AND " +
-           "(CAST(:jobId AS bigint) IS NULL OR c.job_id = CAST(:jobId AS bigint)) " +
-           "ORDER BY c.last_name ASC, c.first_name ASC", nativeQuery = true)
-    List<Candidate> search(@Param("name") String name,
-                           @Param("stage") String stage,
-                           @Param("jobId") Long jobId);
+
+    @EntityGraph(attributePaths = {"job", "tags"})
+    List<Candidate> findByIdIn(Collection<Long> ids);
+
+    /** Oldest candidate created from the resume stored at {@code resumeUrl}. */
+    Optional<Candidate> findFirstByResumeUrlOrderByIdAsc(String resumeUrl);
+
+    /** Candidates of any of the jobs in any of the stages; callers narrow this to the columns they want. */
+    @EntityGraph(attributePaths = {"job", "tags"})
+    @Query("SELECT c FROM Candidate c WHERE c.job.id IN :jobIds AND c.stage IN :stages")
+    List<Candidate> findColumns(@Param("jobIds") Collection<Long> jobIds,
+                                @Param("stages") Collection<PipelineStage> stages);
+
+    /** Every candidate as a scoring projection, for {@code CandidateFeatureIndex}. */
+    @Query("SELECT new com.clarksprojects.ats.repository.CandidateMatchRow(" +
+           "c.id, c.firstName, c.lastName, c.email, c.skills, c.lastAssignmentDays, c.latitude, c.longitude) " +
+           "FROM Candidate c ORDER BY c.id")
+    List<CandidateMatchRow> findAllMatchRows();
+
+    /** The scoring projection of those of {@code ids} that still exist. */
+    @Query("SELECT new com.clarksprojects.ats.repository.CandidateMatchRow(" +
+           "c.id, c.firstName, c.lastName, c.email, c.skills, c.lastAssignmentDays, c.latitude, c.longitude) " +
+           "FROM Candidate c WHERE c.id IN :ids ORDER BY c.id")
+    List<CandidateMatchRow> findMatchRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
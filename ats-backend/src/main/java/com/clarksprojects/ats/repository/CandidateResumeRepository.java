@@ -0,0 +1,7 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.CandidateResume;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CandidateResumeRepository extends JpaRepository<CandidateResume, Long> {
+}
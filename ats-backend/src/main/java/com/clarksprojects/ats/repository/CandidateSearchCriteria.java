@@ -0,0 +1,45 @@
+package com.clarksprojects.ats.repository;
+
+import java.util.Set;
+
+/**
+ * Filters for {@link CandidateSearchRepository#search}. Every field is optional;
+ * {@code null} (or an empty {@code skills} set) means "don't filter on this".
+ *
+ * @param name        case-insensitive substring of "first last"; with {@link CandidateSort#RELEVANCE},
+ *                    also any similar name (typos)
+ * @param stage       {@code PipelineStage} name
+ * @param skills      normalised skill keys (see {@link com.clarksprojects.ats.util.Skills#normalize});
+ *                    matches candidates having at least one
+ * @param nearLat     centre of the radius filter; applied only with {@code nearLon} and {@code radiusMiles}
+ * @param radiusMiles great-circle radius around ({@code nearLat}, {@code nearLon})
+ * @param sort        result order; {@code null} means {@link CandidateSort#NAME}
+ * @param after       resume strictly after this position; must be for the same {@code sort}
+ * @param limit       maximum rows to return; {@code null} returns every match
+ */
+public record CandidateSearchCriteria(
+        String name,
+        String stage,
+        Long jobId,
+        Set<String> skills,
+        Double nearLat,
+        Double nearLon,
+        Double radiusMiles,
+        CandidateSort sort,
+        CandidateCursor after,
+        Integer limit
+) {
+
+    public CandidateSearchCriteria {
+        if (sort == null) sort = CandidateSort.NAME;
+    }
+
+    /** The same filters and sort, starting after {@code after} and capped at {@code limit} rows. */
+    public CandidateSearchCriteria page(CandidateCursor after, Integer limit) {
+        return new CandidateSearchCriteria(name, stage, jobId, skills, nearLat, nearLon, radiusMiles, sort, after, limit);
+    }
+
+    public boolean hasRadius() {
+        return nearLat != null && nearLon != null && radiusMiles != null;
+    }
+}
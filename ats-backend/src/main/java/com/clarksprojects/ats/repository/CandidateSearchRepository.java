@@ -0,0 +1,23 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.CandidateSuggestion;
+import com.clarksprojects.ats.entity.Candidate;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link CandidateRepository} for the candidate search,
+ * whose optional filters (skills, radius) are cheaper composed into one
+ * native statement than enumerated as fixed {@code @Query} variants.
+ */
+public interface CandidateSearchRepository {
+
+    /** Up to {@code criteria.limit()} candidates matching every present filter, in {@code criteria.sort()} order. */
+    List<Candidate> search(CandidateSearchCriteria criteria);
+
+    /**
+     * The {@code limit} candidates whose names best contain {@code query}
+     * (lower-cased), tolerating typos: ranked by trigram word similarity.
+     */
+    List<CandidateSuggestion> suggest(String query, int limit);
+}
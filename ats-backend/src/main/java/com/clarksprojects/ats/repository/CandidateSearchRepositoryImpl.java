@@ -0,0 +1,185 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.CandidateSuggestion;
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.util.Geo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the search SQL from only the filters that are present. Name
+ * filters and typeahead run on {@code full_name_lower}, a column Postgres
+ * generates and trigram-indexes (V18). The radius
+ * filter narrows in three steps, cheapest first: {@code geo_cell IN (...)}
+ * (indexed), the lat/lon bounding box, then the exact haversine distance.
+ *
+ * <p>Ordering and paging happen in SQL: {@code ORDER BY} the sort's columns
+ * plus {@code c.id}, and a cursor becomes a row-value comparison against those
+ * same columns, so each page is an index range scan rather than an OFFSET.
+ * Jobs and tags are fetched for the result in one more query per
+ * {@value #IDS_PER_FETCH} candidates.
+ */
+class CandidateSearchRepositoryImpl implements CandidateSearchRepository {
+
+    /** Same formula as {@link Geo#haversineMiles}; LEAST guards ASIN against rounding just above 1. */
+    private static final String DISTANCE_MILES_SQL =
+            Geo.EARTH_RADIUS_MILES + " * 2 * ASIN(SQRT(LEAST(1.0, " +
+            "POWER(SIN(RADIANS(c.latitude - :nearLat) / 2), 2) + " +
+            "COS(RADIANS(:nearLat)) * COS(RADIANS(c.latitude)) * " +
+            "POWER(SIN(RADIANS(c.longitude - :nearLon) / 2), 2))))";
+
+    /**
+     * {@code <%} keeps names with a word similar to the query; ordering by
+     * the matching distance {@code <<->} alone lets the GiST index return
+     * the best rows first and stop at the limit.
+     */
+    private static final String SUGGEST_SQL = """
+            SELECT c.id, c.first_name, c.last_name, c.email
+            FROM candidate c
+            WHERE :query <% c.full_name_lower
+            ORDER BY :query <<-> c.full_name_lower
+            LIMIT :limit
+            """;
+
+    /** Ids bound per follow-up fetch, well under the driver's 65535 bind parameters. */
+    static final int IDS_PER_FETCH = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Candidate> search(CandidateSearchCriteria criteria) {
+        StringBuilder sql = new StringBuilder("SELECT c.* FROM candidate c WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        CandidateSort sort = criteria.sort();
+        if (criteria.name() != null) {
+            String name = criteria.name().toLowerCase(Locale.ROOT);
+            if (sort == CandidateSort.RELEVANCE) {
+                // Substring hits plus names within the pg_trgm similarity threshold; both use the trigram index.
+                sql.append(" AND (c.full_name_lower LIKE :name OR c.full_name_lower % :nameQuery)");
+                params.put("nameQuery", name);
+            } else {
+                sql.append(" AND c.full_name_lower LIKE :name");
+            }
+            params.put("name", "%" + escapeLike(name) + "%");
+        } else if (sort == CandidateSort.RELEVANCE) {
+            throw new IllegalArgumentException("Relevance order needs a name to compare with");
+        }
+        if (criteria.stage() != null) {
+            sql.append(" AND c.stage = :stage");
+            params.put("stage", criteria.stage());
+        }
+        if (criteria.jobId() != null) {
+            sql.append(" AND c.job_id = :jobId");
+            params.put("jobId", criteria.jobId());
+        }
+        if (criteria.skills() != null && !criteria.skills().isEmpty()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM candidate_skill cs " +
+                    "WHERE cs.candidate_id = c.id AND cs.skill IN (:skills))");
+            params.put("skills", criteria.skills());
+        }
+        if (criteria.hasRadius()) {
+            appendRadius(sql, params, criteria.nearLat(), criteria.nearLon(), criteria.radiusMiles());
+        }
+        if (criteria.after() != null) {
+            appendAfter(sql, params, criteria.after());
+        }
+        String direction = sort.descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ");
+        for (String column : sort.columns) {
+            sql.append(column).append(direction).append(", ");
+        }
+        sql.append("c.id").append(direction);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Candidate.class);
+        params.forEach(query::setParameter);
+        if (criteria.limit() != null) {
+            query.setMaxResults(criteria.limit());
+        }
+        List<Candidate> candidates = query.getResultList();
+        fetchJobsAndTags(candidates);
+        return candidates;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CandidateSuggestion> suggest(String query, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery(SUGGEST_SQL)
+                .setParameter("query", query)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new CandidateSuggestion(((Number) row[0]).longValue(),
+                        (String) row[1], (String) row[2], (String) row[3]))
+                .toList();
+    }
+
+    /**
+     * A native query can't take a fetch graph, so load the job and tags of
+     * the already-managed results in follow-up queries of at most
+     * {@value #IDS_PER_FETCH} ids. Hibernate fills in the same instances, and
+     * responses built from them need no lazy loads.
+     */
+    private void fetchJobsAndTags(List<Candidate> candidates) {
+        List<Long> ids = candidates.stream().map(Candidate::getId).toList();
+        for (int from = 0; from < ids.size(); from += IDS_PER_FETCH) {
+            entityManager.createQuery(
+                            "SELECT c FROM Candidate c JOIN FETCH c.job LEFT JOIN FETCH c.tags WHERE c.id IN :ids",
+                            Candidate.class)
+                    .setParameter("ids", ids.subList(from, Math.min(ids.size(), from + IDS_PER_FETCH)))
+                    .getResultList();
+        }
+    }
+
+    /** {@code (sort columns, id) > (cursor keys, cursor id)}, or {@code <} for a descending sort. */
+    private static void appendAfter(StringBuilder sql, Map<String, Object> params, CandidateCursor after) {
+        CandidateSort sort = after.sort();
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < sort.columns.size(); i++) {
+            columns.append(sort.columns.get(i)).append(", ");
+            values.append(":after").append(i).append(", ");
+            params.put("after" + i, sort.bind(after.keys().get(i)));
+        }
+        sql.append(" AND (").append(columns).append("c.id) ")
+                .append(sort.descending ? "<" : ">")
+                .append(" (").append(values).append(":afterId)");
+        params.put("afterId", after.id());
+    }
+
+    /** Makes {@code %}, {@code _} and the escape character itself match literally. */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void appendRadius(StringBuilder sql, Map<String, Object> params,
+                                     double lat, double lon, double radiusMiles) {
+        int[] cells = Geo.cellsWithin(lat, lon, radiusMiles);
+        if (cells != null) {
+            sql.append(" AND c.geo_cell IN (:cells)");
+            params.put("cells", Arrays.stream(cells).boxed().toList());
+        }
+        Geo.BoundingBox box = Geo.boundingBox(lat, lon, radiusMiles);
+        sql.append(" AND c.latitude BETWEEN :minLat AND :maxLat");
+        params.put("minLat", box.minLat());
+        params.put("maxLat", box.maxLat());
+        if (box.minLon() > -180.0 || box.maxLon() < 180.0) {
+            sql.append(" AND c.longitude BETWEEN :minLon AND :maxLon");
+            params.put("minLon", box.minLon());
+            params.put("maxLon", box.maxLon());
+        }
+        sql.append(" AND ").append(DISTANCE_MILES_SQL).append(" <= :radiusMiles");
+        params.put("nearLat", lat);
+        params.put("nearLon", lon);
+        params.put("radiusMiles", radiusMiles);
+    }
+}
@@ -0,0 +1,78 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Orderings {@link CandidateSearchRepository#search} can page through. Every
+ * ordering ends with {@code c.id} so it is total, which is what makes a
+ * {@link CandidateCursor} (the last row's sort keys plus its id) a stable
+ * position to resume from.
+ */
+public enum CandidateSort {
+
+    /** Last name then first name, case-insensitive, ascending. */
+    NAME(false, "LOWER(c.last_name)", "LOWER(c.first_name)"),
+    APPLIED_DESC(true, "c.applied_at"),
+    APPLIED_ASC(false, "c.applied_at"),
+    UPDATED_DESC(true, "c.updated_at"),
+    /** Kanban board order within a job. */
+    STAGE_ORDER(false, "c.stage_order"),
+    /**
+     * Closest name match first, by trigram similarity to the searched name
+     * (which is then matched fuzzily). Not pageable by cursor: the score
+     * exists only in the query.
+     */
+    RELEVANCE(true, "similarity(c.full_name_lower, :nameQuery)");
+
+    final boolean descending;
+    final List<String> columns;
+
+    CandidateSort(boolean descending, String... columns) {
+        this.descending = descending;
+        this.columns = List.of(columns);
+    }
+
+    /**
+     * Search sort options:
+     *   "name"       (default) — last name then first name, ascending
+     *   "applied"    — applied date, descending
+     *   "applied:asc"— applied date, ascending
+     *   "updated"    — last updated, descending
+     *   "relevance"  — name similarity, descending; typo-tolerant name match
+     */
+    public static CandidateSort parse(String sort) {
+        String key = sort == null ? "name" : sort.toLowerCase(Locale.ROOT);
+        return switch (key) {
+            case "applied", "applied:desc" -> APPLIED_DESC;
+            case "applied:asc" -> APPLIED_ASC;
+            case "updated", "updated:desc" -> UPDATED_DESC;
+            case "relevance" -> RELEVANCE;
+            default -> NAME;
+        };
+    }
+
+    /** {@code c}'s values for {@link #columns}, as strings {@link #bind} reads back. */
+    List<String> keysOf(Candidate c) {
+        return switch (this) {
+            case NAME -> List.of(c.getLastName().toLowerCase(Locale.ROOT), c.getFirstName().toLowerCase(Locale.ROOT));
+            case APPLIED_DESC, APPLIED_ASC -> List.of(c.getAppliedAt().toString());
+            case UPDATED_DESC -> List.of(c.getUpdatedAt().toString());
+            case STAGE_ORDER -> List.of(String.valueOf(c.getStageOrder()));
+            case RELEVANCE -> throw new IllegalArgumentException("Relevance order can't be paged by cursor");
+        };
+    }
+
+    /** Parameter value for a key produced by {@link #keysOf}. */
+    Object bind(String key) {
+        return switch (this) {
+            case NAME -> key;
+            case APPLIED_DESC, APPLIED_ASC, UPDATED_DESC -> LocalDateTime.parse(key);
+            case STAGE_ORDER -> Long.valueOf(key);
+            case RELEVANCE -> throw new IllegalArgumentException("Relevance order can't be paged by cursor");
+        };
+    }
+}
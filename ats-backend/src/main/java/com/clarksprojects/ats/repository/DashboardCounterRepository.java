@@ -0,0 +1,85 @@
+package com.clarksprojects.ats.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code dashboard_counter} rollup: named running totals such as
+ * {@code candidates.stage:APPLIED}. Postgres-specific ({@code ON CONFLICT},
+ * {@code LOCK TABLE}), like the migration that creates and seeds it.
+ */
+@Repository
+public class DashboardCounterRepository {
+
+    public static final String CANDIDATE_STAGE = "candidates.stage:";
+    public static final String JOB_EMPLOYER = "jobs.employer:";
+    public static final String JOB_STATUS = "jobs.status:";
+    public static final String TASK_STATUS = "tasks.status:";
+
+    /** Every counter from the base tables; must match V10__dashboard_counter.sql. */
+    private static final String RECOUNT_SQL = """
+            INSERT INTO dashboard_counter (name, value)
+            SELECT 'candidates.stage:' || stage, COUNT(*) FROM candidate GROUP BY stage
+            UNION ALL
+            SELECT 'jobs.employer:' || employer, COUNT(*) FROM job GROUP BY employer
+            UNION ALL
+            SELECT 'jobs.status:' || status, COUNT(*) FROM job GROUP BY status
+            UNION ALL
+            SELECT 'tasks.status:' || status, COUNT(*) FROM task GROUP BY status
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> findAll() {
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT name, value FROM dashboard_counter")
+                .getResultList();
+        Map<String, Long> counters = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counters.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counters;
+    }
+
+    /**
+     * Adds each delta to its counter, creating missing counters, in one
+     * statement. Rows are locked in {@code deltas}' iteration order, so
+     * callers pass a sorted map to keep concurrent writers deadlock-free.
+     */
+    public void increment(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) return;
+        StringBuilder sql = new StringBuilder("INSERT INTO dashboard_counter (name, value) VALUES ");
+        for (int i = 0; i < deltas.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(:name").append(i).append(", :delta").append(i).append(")");
+        }
+        sql.append(" ON CONFLICT (name) DO UPDATE SET value = dashboard_counter.value + EXCLUDED.value");
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int i = 0;
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            query.setParameter("name" + i, delta.getKey());
+            query.setParameter("delta" + i, delta.getValue());
+            i++;
+        }
+        query.executeUpdate();
+    }
+
+    /**
+     * Replaces every counter with a fresh count from the base tables. The
+     * table lock waits out transactions that have already applied their
+     * deltas and holds back new ones until the recount commits, so no write
+     * is counted twice or dropped. Must run inside a transaction.
+     */
+    public void recount() {
+        entityManager.createNativeQuery("LOCK TABLE dashboard_counter IN EXCLUSIVE MODE").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM dashboard_counter").executeUpdate();
+        entityManager.createNativeQuery(RECOUNT_SQL).executeUpdate();
+    }
+}
@@ -0,0 +1,49 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The dashboard metrics that depend on the current time, and so can't be
+ * kept as running totals in {@link DashboardCounterRepository}: both come
+ * from one row of {@code FILTER}ed aggregates.
+ */
+@Repository
+public class DashboardQueryRepository {
+
+    private static final String TIME_WINDOW_SQL = """
+            SELECT c.hired_since, t.overdue_tasks
+            FROM (SELECT COUNT(*) FILTER (WHERE updated_at >= :hiredSince) AS hired_since
+                  FROM candidate WHERE stage = :hired) c
+            CROSS JOIN (SELECT COUNT(*) FILTER (WHERE due_at < :now) AS overdue_tasks
+                        FROM task WHERE status = :openTask) t
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param hiredSince hires are candidates moved to HIRED at or after this
+     * @param now        open tasks due before this are overdue
+     */
+    public TimeWindowCounts timeWindowCounts(LocalDateTime hiredSince, LocalDateTime now) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(TIME_WINDOW_SQL)
+                .setParameter("hired", PipelineStage.HIRED.name())
+                .setParameter("hiredSince", hiredSince)
+                .setParameter("openTask", TaskStatus.OPEN.name())
+                .setParameter("now", now)
+                .getSingleResult();
+        return new TimeWindowCounts(count(row[0]), count(row[1]));
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    public record TimeWindowCounts(long hiredSince, long overdueTasks) {}
+}
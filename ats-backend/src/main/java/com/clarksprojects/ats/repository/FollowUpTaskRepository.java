@@ -4,9 +4,9 @@ import com.clarksprojects.ats.entity.FollowUpTask;
 import com.clarksprojects.ats.entity.TaskStatus;
 import com.clarksprojects.ats.entity.User;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 public interface FollowUpTaskRepository extends JpaRepository<FollowUpTask, Long> {
@@ -16,9 +16,8 @@ public interface FollowUpTaskRepository extends JpaRepository<FollowUpTask, Long
     List<FollowUpTask> findByAssigneeOrderByDueAtAscCreatedAtDesc(User assignee);
     List<FollowUpTask> findByCandidateIdOrderByDueAtAscCreatedAtDesc(Long candidateId);
 
-    long countByStatus(TaskStatus status);
-    long countByStatusAndDueAtBefore(TaskStatus status, LocalDateTime cutoff);
-
+    @EntityGraph(attributePaths = {"candidate", "job", "assignee", "creator"})
     List<FollowUpTask> findTop5ByStatusOrderByDueAtAscCreatedAtAsc(TaskStatus status);
+
     List<FollowUpTask> findAllByOrderByCreatedAtDesc(Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.ParsedResumeEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ParsedResumeRepository extends JpaRepository<ParsedResumeEntry, String> {
+
+    @Modifying
+    @Query("DELETE FROM ParsedResumeEntry e WHERE e.parserVersion <> :version")
+    int deleteOtherVersions(@Param("version") int version);
+
+    @Modifying
+    @Query("DELETE FROM ParsedResumeEntry e WHERE e.parsedAt < :cutoff")
+    int deleteParsedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /** Deletes those of {@code hashes} that no candidate's resume URL ({@code <urlPrefix><hash>.<ext>}) refers to. */
+    @Modifying
+    @Query("DELETE FROM ParsedResumeEntry e WHERE e.contentHash IN :hashes AND NOT EXISTS (" +
+           "SELECT 1 FROM Candidate c WHERE c.resumeUrl LIKE CONCAT(:urlPrefix, e.contentHash, '.%'))")
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes, @Param("urlPrefix") String urlPrefix);
+}
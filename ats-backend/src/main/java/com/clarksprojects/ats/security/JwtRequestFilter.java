@@ -1,5 +1,7 @@
 package com.clarksprojects.ats.security;
 
+import com.clarksprojects.ats.entity.User;
+import com.clarksprojects.ats.security.JwtUtil.AccessToken;
 import com.clarksprojects.ats.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,6 +19,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Optional;
 
+/**
+ * Authenticates requests that carry an access token, from the access-token
+ * cookie or an {@code Authorization: Bearer} header. The token is parsed
+ * once, and the user comes from {@link UserPrincipalCache}, so steady-state
+ * requests don't touch the database. A token is accepted only while its
+ * version matches the user's and the user is enabled.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -28,6 +36,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
     private final CookieUtil cookieUtil;
+    private final UserPrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -51,11 +60,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (SecurityContextHolder.getContext().getAuthentication() != null) {
             return;
         }
+        Optional<AccessToken> access = jwtUtil.parseAccessToken(token);
+        if (access.isEmpty()) return;
+        int version = access.get().tokenVersion();
         try {
-            String username = jwtUtil.extractUsername(token);
-            if (username == null) return;
-            UserDetails user = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateAccessToken(token, user)) {
+            User user = principalCache.get(access.get().username(), version, userDetailsService::loadUserByUsername);
+            if (user.getTokenVersion() == version && user.isEnabled()) {
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                         user, null, user.getAuthorities());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -63,8 +73,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             }
         } catch (UsernameNotFoundException ignored) {
             // user removed since token issued — fall through unauthenticated
-        } catch (Exception e) {
-            log.debug("JWT validation failed: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.debug("JWT authentication failed: {}", e.getMessage());
         }
     }
 }
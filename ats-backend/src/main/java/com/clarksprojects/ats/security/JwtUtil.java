@@ -1,6 +1,9 @@
 package com.clarksprojects.ats.security;
 
+import com.clarksprojects.ats.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -13,6 +16,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -27,6 +31,7 @@ public class JwtUtil {
     public static final String TOKEN_TYPE_REFRESH = "refresh";
     private static final String CLAIM_TYPE = "type";
     private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_VERSION = "ver";
 
     @Value("${jwt.secret}")
     private String secret;
@@ -38,10 +43,38 @@ public class JwtUtil {
     private Long refreshTokenExpiration;
 
     private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * The claims of a valid access token. Tokens issued before versions
+     * existed have none, which reads as version 0.
+     */
+    public record AccessToken(String username, String role, int tokenVersion) {
+    }
 
     @PostConstruct
     void initSigningKey() {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /**
+     * Verifies {@code token} and reads everything the request filter needs
+     * in one parse; empty if it is not a well-signed, unexpired access token.
+     */
+    public Optional<AccessToken> parseAccessToken(String token) {
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!TOKEN_TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class)) || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        return Optional.of(new AccessToken(claims.getSubject(), claims.get(CLAIM_ROLE, String.class),
+                version != null ? version : 0));
     }
 
     public String extractUsername(String token) {
@@ -64,22 +97,16 @@ public class JwtUtil {
         return resolver.apply(parseClaims(token));
     }
 
+    /** Throws if the signature is wrong or the token has expired. */
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private boolean isExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public String generateAccessToken(UserDetails user, String role) {
+    public String generateAccessToken(User user, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(CLAIM_TYPE, TOKEN_TYPE_ACCESS);
         claims.put(CLAIM_ROLE, role);
+        claims.put(CLAIM_VERSION, user.getTokenVersion());
         return createToken(claims, user.getUsername(), accessTokenExpiration);
     }
 
@@ -101,19 +128,15 @@ public class JwtUtil {
     }
 
     public boolean validateAccessToken(String token, UserDetails user) {
-        try {
-            return TOKEN_TYPE_ACCESS.equals(extractTokenType(token))
-                    && user.getUsername().equals(extractUsername(token))
-                    && !isExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return parseAccessToken(token)
+                .map(access -> access.username().equals(user.getUsername()))
+                .orElse(false);
     }
 
     public boolean validateRefreshToken(String token) {
         try {
-            return TOKEN_TYPE_REFRESH.equals(extractTokenType(token)) && !isExpired(token);
-        } catch (Exception e) {
+            return TOKEN_TYPE_REFRESH.equals(parseClaims(token).get(CLAIM_TYPE, String.class));
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
@@ -0,0 +1,114 @@
+package com.clarksprojects.ats.security;
+
+import com.clarksprojects.ats.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The users {@link JwtRequestFilter} authenticated recently, so a signed-in
+ * user's requests cost a user lookup once per {@code app.auth.principal-cache-ttl}
+ * rather than once per request. At most {@code app.auth.principal-cache-size}
+ * users are kept, least recently used evicted first.
+ *
+ * <p>An entry only answers for the token version it was loaded with: a
+ * token newer than the cached user reloads it, so a user whose version was
+ * bumped elsewhere is never judged by a stale copy. {@code UserService}
+ * evicts a user when it changes or deletes them; other instances see the
+ * change when their entry expires.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    /** Access-ordered, so the eldest entry is the least recently used; guarded by {@code this}. */
+    private final Map<String, Entry> entries;
+    /** Bumped by every eviction, so a load that raced with one is not cached; guarded by {@code this}. */
+    private long evictions;
+
+    @Autowired
+    public UserPrincipalCache(@Value("${app.auth.principal-cache-ttl:PT30S}") Duration ttl,
+                              @Value("${app.auth.principal-cache-size:1000}") int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    UserPrincipalCache(Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative: " + ttl);
+        }
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxEntries);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached user named {@code username} if it is at least
+     * {@code tokenVersion}, else whatever {@code loader} returns (which is
+     * then cached). The caller still has to compare versions: a cached user
+     * newer than the token means the token was revoked.
+     */
+    public User get(String username, int tokenVersion, Function<String, User> loader) {
+        String key = username.toLowerCase(Locale.ROOT);
+        long evictionsBefore;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.expiresAt < 0
+                    && entry.user.getTokenVersion() >= tokenVersion) {
+                return entry.user;
+            }
+            evictionsBefore = evictions;
+        }
+        User user = loader.apply(username);
+        synchronized (this) {
+            if (evictions == evictionsBefore) {
+                entries.put(key, new Entry(user, nanoClock.getAsLong() + ttlNanos));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Drops {@code username}'s entry. Inside a transaction this takes effect
+     * after commit; evicting earlier would let a concurrent request re-cache
+     * the user as it was before the change.
+     */
+    public void evict(String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        } else {
+            remove(key);
+        }
+    }
+
+    private synchronized void remove(String key) {
+        evictions++;
+        entries.remove(key);
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
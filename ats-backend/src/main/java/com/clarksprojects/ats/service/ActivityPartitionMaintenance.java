@@ -0,0 +1,198 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.repository.ActivityPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly {@code activity} partitions (V13) in shape:
+ * <ul>
+ *   <li>creates the partitions for the current month and the next
+ *       {@code app.activity.partition-months-ahead}, so inserts never fall
+ *       into the default partition;</li>
+ *   <li>when {@code app.activity.retention-months} is positive, archives
+ *       every month older than that: the partition is detached, written to
+ *       {@code <archive-dir>/activity_YYYY_MM.ndjson.gz} and dropped.</li>
+ * </ul>
+ * Detaching takes an exclusive lock on {@code activity}, which every
+ * business write needs, so it gets its own short transaction; the export
+ * and the drop run afterwards on the detached table. A month whose export
+ * failed stays detached and is picked up again on the next run.
+ *
+ * <p>Every step runs in its own transaction under an advisory lock, after
+ * re-checking the partitions, so concurrent instances and retries don't
+ * trip over each other. Runs shortly after startup and then periodically.
+ * The SQL is Postgres-only; {@code app.activity.partition-maintenance.enabled=false}
+ * leaves the partitions alone (the tests' H2 database has none).
+ */
+@Component
+@ConditionalOnProperty(name = "app.activity.partition-maintenance.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ActivityPartitionMaintenance {
+
+    private final ActivityPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Path archiveDir;
+
+    @Autowired
+    public ActivityPartitionMaintenance(ActivityPartitionRepository partitionRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${app.activity.partition-months-ahead:2}") int monthsAhead,
+                                        @Value("${app.activity.retention-months:0}") int retentionMonths,
+                                        @Value("${app.activity.archive-dir:${java.io.tmpdir}/ats-archive}") Path archiveDir) {
+        this(partitionRepository, transactionTemplate, Clock.systemDefaultZone(), monthsAhead, retentionMonths, archiveDir);
+    }
+
+    ActivityPartitionMaintenance(ActivityPartitionRepository partitionRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 Clock clock,
+                                 int monthsAhead,
+                                 int retentionMonths,
+                                 Path archiveDir) {
+        if (monthsAhead < 0 || retentionMonths < 0) {
+            throw new IllegalArgumentException("Partition months ahead and retention must not be negative");
+        }
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = archiveDir;
+        if (retentionMonths > 0) {
+            requireWritable(archiveDir);
+        }
+    }
+
+    /** Archiving drops the data once exported, so an unusable archive directory must stop startup. */
+    private static void requireWritable(Path dir) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException | SecurityException e) {
+            throw new IllegalStateException("app.activity.archive-dir " + dir + " cannot be created", e);
+        }
+        if (!Files.isWritable(dir)) {
+            throw new IllegalStateException("app.activity.archive-dir " + dir + " is not writable");
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${app.activity.maintenance-interval:PT6H}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock);
+        List<YearMonth> attached = transactionTemplate.execute(status -> partitionRepository.attachedMonths());
+
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            if (!attached.contains(month)) {
+                YearMonth toCreate = month;
+                boolean created = locked(() -> {
+                    if (partitionRepository.attachedMonths().contains(toCreate)) return false;
+                    partitionRepository.createPartition(toCreate);
+                    return true;
+                });
+                if (created) {
+                    log.info("Activity partition created: {}", ActivityPartitionRepository.partitionName(toCreate));
+                }
+            }
+        }
+
+        if (retentionMonths == 0) return;
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (YearMonth month : attached) {
+            if (month.isBefore(oldestKept)) {
+                locked(() -> {
+                    if (!partitionRepository.attachedMonths().contains(month)) return false;
+                    partitionRepository.detachPartition(month);
+                    return true;
+                });
+            }
+        }
+        List<YearMonth> detached = transactionTemplate.execute(status -> partitionRepository.detachedMonths());
+        for (YearMonth month : detached) {
+            if (month.isBefore(oldestKept)) {
+                archive(month);
+            }
+        }
+    }
+
+    /** Exports a detached partition, then drops it. */
+    private void archive(YearMonth month) {
+        String name = ActivityPartitionRepository.partitionName(month);
+        Path target = archiveDir.resolve(name + ".ndjson.gz");
+        long[] rows = {-1};
+        boolean exported = locked(() -> {
+            if (!partitionRepository.detachedMonths().contains(month)) return false;
+            rows[0] = export(month, target);
+            return true;
+        });
+        if (exported && locked(() -> {
+            partitionRepository.dropPartition(month);
+            return true;
+        })) {
+            log.info("Activity partition archived: partition={}, rows={}, file={}", name, rows[0], target);
+        }
+    }
+
+    /**
+     * Runs {@code step} in a transaction holding the maintenance lock; false
+     * without running it when another instance holds the lock.
+     */
+    private boolean locked(Supplier<Boolean> step) {
+        Boolean done = transactionTemplate.execute(status -> {
+            if (!partitionRepository.tryLock()) {
+                log.debug("Activity partition maintenance is running elsewhere; skipping a step");
+                return false;
+            }
+            return step.get();
+        });
+        return Boolean.TRUE.equals(done);
+    }
+
+    /** Writes to a temp file first, so {@code target} only ever holds a complete export. */
+    private long export(YearMonth month, Path target) {
+        try {
+            Files.createDirectories(archiveDir);
+            Path partial = Files.createTempFile(archiveDir, target.getFileName().toString(), ".partial");
+            long rows;
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(partial)), StandardCharsets.UTF_8))) {
+                rows = partitionRepository.exportPartition(month, json -> {
+                    try {
+                        out.write(json);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive activity partition to " + target, e);
+        }
+    }
+}
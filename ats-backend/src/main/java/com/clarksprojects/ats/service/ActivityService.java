@@ -1,68 +1,227 @@
 package com.clarksprojects.ats.service;
 
+import com.clarksprojects.ats.dto.ActivityPage;
 import com.clarksprojects.ats.dto.ActivityResponse;
 import com.clarksprojects.ats.entity.*;
+import com.clarksprojects.ats.repository.ActivityBatchRepository;
+import com.clarksprojects.ats.repository.ActivityBatchRepository.NewActivity;
+import com.clarksprojects.ats.repository.ActivityCursor;
+import com.clarksprojects.ats.repository.ActivityFeedRepository;
 import com.clarksprojects.ats.repository.ActivityRepository;
 import com.clarksprojects.ats.security.CurrentUserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Append-only audit log. Other services call into {@link #record} after they
  * mutate state, so the timeline reflects business actions rather than database
  * triggers.
+ *
+ * <p>Recorded events are buffered for the rest of the caller's transaction and
+ * written in one multi-row insert just before it commits, with the actor looked
+ * up once. The insert runs on the committing thread, so by the time a request
+ * (or Lambda invocation) returns, its events are committed with it or, on
+ * rollback, were never written.
  */
 @Service
 @RequiredArgsConstructor
 public class ActivityService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int RECENT_WINDOW_DAYS = 31;
+    static final int MAX_FILTER_DAYS = 366;
+    static final int MAX_FILTER_LIMIT = 500;
+
     private final ActivityRepository activityRepository;
+    private final ActivityBatchRepository activityBatchRepository;
+    private final ActivityFeedRepository activityFeedRepository;
     private final CurrentUserService currentUserService;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final ActivityStream activityStream;
+    private final ObjectMapper objectMapper;
 
     @Transactional
-    public Activity record(ActivityType type, Candidate candidate, Job job, String summary, Map<String, String> metadata) {
-        Activity activity = Activity.builder()
-                .type(type)
-                .candidate(candidate)
-                .job(job)
-                .actor(currentUserService.currentUser().orElse(null))
-                .summary(summary)
-                .metadata(serialize(metadata))
-                .build();
-        return activityRepository.save(activity);
+    public void record(ActivityType type, Candidate candidate, Job job, String summary, Map<String, String> metadata) {
+        PendingActivities pending = pending();
+        LocalDateTime now = LocalDateTime.now();
+        pending.rows.add(new NewActivity(
+                type,
+                candidate != null ? candidate.getId() : null,
+                job != null ? job.getId() : null,
+                pending.actorId(),
+                summary,
+                serialize(metadata),
+                now));
+        if (activityStream.hasSubscribers()) {
+            pending.published.add(new ActivityResponse(
+                    null,
+                    type,
+                    candidate != null ? candidate.getId() : null,
+                    candidate != null ? candidate.getFirstName() + " " + candidate.getLastName() : null,
+                    job != null ? job.getId() : null,
+                    job != null ? job.getTitle() : null,
+                    pending.actorId(),
+                    pending.actor != null ? pending.actor.getFullName() : "System",
+                    summary,
+                    metadata == null || metadata.isEmpty() ? null : Map.copyOf(metadata),
+                    now));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertPending(pending);
+            dashboardStatsCache.invalidate();
+            publish(pending);
+        }
     }
 
     @Transactional(readOnly = true)
     public List<ActivityResponse> forCandidate(Long candidateId) {
-        return activityRepository.findByCandidateIdOrderByCreatedAtDesc(candidateId).stream()
-                .map(ActivityResponse::from)
-                .toList();
+        return activityFeedRepository.find(candidateId, null, null, null);
     }
 
     @Transactional(readOnly = true)
     public List<ActivityResponse> forJob(Long jobId) {
-        return activityRepository.findByJobIdOrderByCreatedAtDesc(jobId).stream()
-                .map(ActivityResponse::from)
-                .toList();
+        return activityFeedRepository.find(null, jobId, null, null);
     }
 
+    /**
+     * Looks in the last {@value #RECENT_WINDOW_DAYS} days first, which only
+     * touches the newest partitions; only a quiet system falls back to the
+     * whole log.
+     */
     @Transactional(readOnly = true)
     public List<ActivityResponse> recent(int limit) {
-        return activityRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, Math.max(1, limit))).stream()
+        int size = Math.max(1, limit);
+        List<ActivityResponse> recent = activityFeedRepository.find(
+                null, null, null, LocalDateTime.now().minusDays(RECENT_WINDOW_DAYS), size);
+        return recent.size() < size ? activityFeedRepository.find(null, null, null, size) : recent;
+    }
+
+    /**
+     * One keyset page of a candidate's, a job's, or the global timeline,
+     * newest first. A {@code null} or blank cursor asks for the first page.
+     */
+    @Transactional(readOnly = true)
+    public ActivityPage page(Long candidateId, Long jobId, String cursor, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ActivityCursor after = cursor == null || cursor.isBlank() ? null : ActivityCursor.decode(cursor);
+        List<ActivityResponse> rows = activityFeedRepository.find(candidateId, jobId, after, size + 1);
+        boolean more = rows.size() > size;
+        List<ActivityResponse> pageRows = more ? rows.subList(0, size) : rows;
+        String next = more ? ActivityCursor.after(pageRows.get(size - 1)).encode() : null;
+        return new ActivityPage(pageRows, next);
+    }
+
+    /**
+     * Newest activities from the last {@code days} days whose metadata
+     * contains every given pair, e.g. STAGE_CHANGED with {@code to=HIRED}.
+     * The index finds the ids; a second query loads them with their
+     * candidate, job and actor.
+     *
+     * @param type {@code null} for any type
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityResponse> filter(ActivityType type, Map<String, String> metadata, int days, int limit) {
+        if (metadata == null || metadata.isEmpty()) {
+            throw new IllegalArgumentException("At least one metadata filter is required");
+        }
+        if (days < 1 || days > MAX_FILTER_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_FILTER_DAYS);
+        }
+        if (limit < 1 || limit > MAX_FILTER_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FILTER_LIMIT);
+        }
+        List<Long> ids = activityRepository.findIdsByMetadata(serialize(metadata),
+                type != null ? type.name() : null, LocalDateTime.now().minusDays(days), limit);
+        if (ids.isEmpty()) return List.of();
+        return activityRepository.findByIdInOrderByCreatedAtDescIdDesc(ids).stream()
                 .map(ActivityResponse::from)
                 .toList();
     }
 
+    private PendingActivities pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingActivities(currentActor());
+        }
+        PendingActivities pending = (PendingActivities) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        PendingActivities created = new PendingActivities(currentActor());
+        TransactionSynchronizationManager.bindResource(this, created);
+        dashboardStatsCache.invalidate();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                insertPending(created);
+            }
+
+            @Override
+            public void afterCommit() {
+                publish(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ActivityService.this);
+            }
+        });
+        return created;
+    }
+
+    private void insertPending(PendingActivities pending) {
+        if (pending.rows.isEmpty()) return;
+        activityBatchRepository.insertAll(List.copyOf(pending.rows));
+        pending.rows.clear();
+    }
+
+    private void publish(PendingActivities pending) {
+        if (pending.published.isEmpty()) return;
+        activityStream.publish(List.copyOf(pending.published));
+        pending.published.clear();
+    }
+
+    private User currentActor() {
+        return currentUserService.currentUser().orElse(null);
+    }
+
     private String serialize(Map<String, String> meta) {
         if (meta == null || meta.isEmpty()) return null;
-        return meta.entrySet().stream()
-                .map(e -> e.getKey() + "=" + (e.getValue() == null ? "" : e.getValue()))
-                .collect(Collectors.joining(";"));
+        try {
+            return objectMapper.writeValueAsString(meta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize activity metadata", e);
+        }
+    }
+
+    /**
+     * One transaction's unwritten events, and their stream payloads (built
+     * only while someone is subscribed); the actor can't change
+     * mid-transaction.
+     */
+    private static final class PendingActivities {
+        final User actor;
+        final List<NewActivity> rows = new ArrayList<>();
+        final List<ActivityResponse> published = new ArrayList<>();
+
+        PendingActivities(User actor) {
+            this.actor = actor;
+        }
+
+        Long actorId() {
+            return actor != null ? actor.getId() : null;
+        }
     }
 }
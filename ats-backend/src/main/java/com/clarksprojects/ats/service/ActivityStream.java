@@ -0,0 +1,199 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process fan-out of committed activities to SSE subscribers
+ * ({@code GET /api/activities/stream}).
+ *
+ * <p>Publishing never blocks on a client: each subscriber has a bounded
+ * queue drained by its own send task, and when a slow client falls
+ * {@code app.activity.stream-buffer} events behind, the oldest are dropped.
+ * The next frame it receives is then a {@code resync} event carrying the
+ * number dropped, so the client can refetch instead of trusting the gap.
+ * A comment frame every {@code app.activity.stream-heartbeat} keeps proxies
+ * from closing idle connections and detects clients that went away.
+ *
+ * <p>Events only reach subscribers connected to the same instance. Where
+ * instances don't live on between requests (Lambda), set
+ * {@code app.activity.stream-enabled=false}: no heartbeat thread is started
+ * and nobody can subscribe.
+ */
+@Component
+@Slf4j
+public class ActivityStream {
+
+    static final String ACTIVITY_EVENT = "activity";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final Executor sender;
+    private final ScheduledExecutorService heartbeat;
+
+    @Autowired
+    public ActivityStream(@Value("${app.activity.stream-enabled:true}") boolean enabled,
+                          @Value("${app.activity.stream-buffer:256}") int bufferSize,
+                          @Value("${app.activity.stream-heartbeat:PT15S}") Duration heartbeatInterval) {
+        this(bufferSize, enabled ? Executors.newVirtualThreadPerTaskExecutor() : null,
+                enabled ? Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("activity-stream-heartbeat").daemon().factory()) : null);
+        if (enabled) {
+            long millis = heartbeatInterval.toMillis();
+            heartbeat.scheduleAtFixedRate(this::heartbeat, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** For tests: heartbeats are sent by calling {@link #heartbeat()} directly. */
+    ActivityStream(int bufferSize, Executor sender) {
+        this(bufferSize, sender, null);
+    }
+
+    private ActivityStream(int bufferSize, Executor sender, ScheduledExecutorService heartbeat) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Activity stream buffer must hold at least one event");
+        }
+        this.bufferSize = bufferSize;
+        this.sender = sender;
+        this.heartbeat = heartbeat;
+    }
+
+    /** False when {@code app.activity.stream-enabled} is off. */
+    public boolean isEnabled() {
+        return sender != null;
+    }
+
+    /**
+     * Streams activities to {@code emitter} from now on, limited to one
+     * candidate and/or job when those are non-null.
+     */
+    public void subscribe(SseEmitter emitter, Long candidateId, Long jobId) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Activity stream is disabled");
+        }
+        Subscriber subscriber = new Subscriber(emitter, candidateId, jobId);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** Call only after the activities' transaction committed. */
+    public void publish(List<ActivityResponse> activities) {
+        if (activities.isEmpty()) return;
+        for (Subscriber subscriber : subscribers) {
+            for (ActivityResponse activity : activities) {
+                if (subscriber.wants(activity)) {
+                    subscriber.offer(SseEmitter.event().name(ACTIVITY_EVENT).data(activity));
+                }
+            }
+        }
+    }
+
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (heartbeat != null) heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        if (sender instanceof ExecutorService executor) executor.shutdown();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Long candidateId;
+        final Long jobId;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private int dropped;
+        private boolean draining;
+
+        Subscriber(SseEmitter emitter, Long candidateId, Long jobId) {
+            this.emitter = emitter;
+            this.candidateId = candidateId;
+            this.jobId = jobId;
+        }
+
+        boolean wants(ActivityResponse activity) {
+            return (candidateId == null || Objects.equals(candidateId, activity.candidateId()))
+                    && (jobId == null || Objects.equals(jobId, activity.jobId()));
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (queue.size() == bufferSize) {
+                    queue.pollFirst();
+                    dropped++;
+                }
+                queue.addLast(event);
+                if (draining) return;
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                int missed;
+                synchronized (this) {
+                    next = queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                    missed = dropped;
+                    dropped = 0;
+                }
+                try {
+                    if (missed > 0) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(missed));
+                    }
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Activity stream subscriber dropped: {}", e.toString());
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        queue.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
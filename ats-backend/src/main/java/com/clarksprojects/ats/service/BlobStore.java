@@ -0,0 +1,36 @@
+package com.clarksprojects.ats.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Immutable blobs under opaque string keys; {@link ResumeStorage} keys
+ * resumes by the SHA-256 of their content. Writing a key that is already
+ * present keeps the existing blob, which is safe because equal keys mean
+ * equal content.
+ */
+public interface BlobStore {
+
+    /**
+     * Moves {@code source} in under {@code key}. Returns false, and deletes
+     * {@code source}, when the key was already present.
+     */
+    boolean put(String key, Path source) throws IOException;
+
+    Optional<Blob> find(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * A stored blob. {@code file} is its path when the backend keeps it on
+     * the local file system, so it can be sent without copying through the
+     * heap; null otherwise.
+     */
+    record Blob(String key, long size, Instant lastModified, Path file) {
+    }
+}
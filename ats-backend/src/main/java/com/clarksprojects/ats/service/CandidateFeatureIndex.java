@@ -0,0 +1,277 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.repository.CandidateMatchRow;
+import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.util.Geo;
+import com.clarksprojects.ats.util.Skills;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory, column-oriented copy of the candidate fields top-candidate
+ * scoring reads: a skill bitset (ids from {@link SkillDictionary}), assignment
+ * days and coordinates, in parallel arrays ordered by candidate id.
+ *
+ * <p>Snapshots are immutable. Writers that change a candidate's skills,
+ * location or assignment days, or create or delete candidates, pass their ids
+ * to {@link #invalidate}; the first read afterwards re-reads just those rows
+ * and copies the rest over from the previous snapshot. Writes made by other
+ * instances are only seen by the full rebuild, one projection query, that
+ * happens once a snapshot is older than {@code app.matching.feature-index-ttl}.
+ */
+@Component
+@Slf4j
+public class CandidateFeatureIndex {
+
+    /** Ids re-read per query, well under the driver's 65535 bind parameters. */
+    static final int IDS_PER_QUERY = 1000;
+
+    private final CandidateRepository candidateRepository;
+    private final SkillDictionary skillDictionary;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /** Bumped after each invalidation adds its ids to {@link #changed}. */
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public CandidateFeatureIndex(CandidateRepository candidateRepository, SkillDictionary skillDictionary,
+                                 @Value("${app.matching.feature-index-ttl:PT5M}") Duration ttl) {
+        this(candidateRepository, skillDictionary, ttl, System::nanoTime);
+    }
+
+    CandidateFeatureIndex(CandidateRepository candidateRepository, SkillDictionary skillDictionary,
+                          Duration ttl, LongSupplier nanoClock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative: " + ttl);
+        }
+        this.candidateRepository = candidateRepository;
+        this.skillDictionary = skillDictionary;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (isCurrent(current)) return current;
+        synchronized (this) {
+            current = snapshot;
+            if (isCurrent(current)) return current;
+            // Read the version before draining: ids added later bump it again and are caught next time.
+            long v = version.get();
+            Set<Long> ids = drainChanged();
+            current = current == null || expired(current) ? build(v) : refresh(current, v, ids);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private boolean isCurrent(Snapshot current) {
+        return current != null && current.version() == version.get() && !expired(current);
+    }
+
+    private boolean expired(Snapshot current) {
+        return nanoClock.getAsLong() - current.builtAt() >= ttlNanos;
+    }
+
+    /**
+     * Marks the given candidates' rows stale. Inside a transaction this takes
+     * effect after commit, so a concurrent refresh cannot re-read the
+     * pre-commit rows and then be treated as current.
+     */
+    public void invalidate(Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(candidateIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    markChanged(ids);
+                }
+            });
+        } else {
+            markChanged(ids);
+        }
+    }
+
+    public void invalidate(Long candidateId) {
+        invalidate(List.of(candidateId));
+    }
+
+    private void markChanged(List<Long> ids) {
+        changed.addAll(ids);
+        version.incrementAndGet();
+    }
+
+    private Set<Long> drainChanged() {
+        Set<Long> ids = new HashSet<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private Snapshot build(long v) {
+        long started = System.nanoTime();
+        List<CandidateMatchRow> rows = candidateRepository.findAllMatchRows();
+        Builder builder = new Builder(rows.size());
+        rows.forEach(builder::add);
+        Snapshot built = builder.build(v);
+        log.info("Candidate feature index built: candidates={}, skills={}, took={}ms",
+                built.size(), skillDictionary.size(), (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * {@code current} with the rows of {@code ids} re-read: changed rows are
+     * replaced, deleted ones dropped and new ones inserted in id order.
+     */
+    private Snapshot refresh(Snapshot current, long v, Set<Long> ids) {
+        List<Long> sorted = ids.stream().sorted().toList();
+        List<CandidateMatchRow> fresh = new ArrayList<>(sorted.size());
+        for (int from = 0; from < sorted.size(); from += IDS_PER_QUERY) {
+            fresh.addAll(candidateRepository.findMatchRowsByIdIn(
+                    sorted.subList(from, Math.min(sorted.size(), from + IDS_PER_QUERY))));
+        }
+        Builder builder = new Builder(current.size() + fresh.size());
+        int next = 0;
+        for (int i = 0; i < current.size(); i++) {
+            long id = current.rows()[i].id();
+            while (next < fresh.size() && fresh.get(next).id() < id) {
+                builder.add(fresh.get(next++));
+            }
+            if (!ids.contains(id)) {
+                builder.copy(current, i);
+            }
+        }
+        while (next < fresh.size()) {
+            builder.add(fresh.get(next++));
+        }
+        log.debug("Candidate feature index refreshed: changed={}, candidates={}", ids.size(), builder.size);
+        return builder.build(v);
+    }
+
+    /** Fills the parallel arrays in ascending id order. */
+    private final class Builder {
+        private final CandidateMatchRow[] rows;
+        private final long[][] skills;
+        private final int[] days;
+        private final double[] lat;
+        private final double[] lon;
+        private int size;
+
+        Builder(int capacity) {
+            rows = new CandidateMatchRow[capacity];
+            skills = new long[capacity][];
+            days = new int[capacity];
+            lat = new double[capacity];
+            lon = new double[capacity];
+        }
+
+        void add(CandidateMatchRow row) {
+            boolean located = row.latitude() != null && row.longitude() != null;
+            rows[size] = row;
+            skills[size] = skillDictionary.internAll(Skills.normalize(row.skills()));
+            days[size] = row.lastAssignmentDays() != null ? row.lastAssignmentDays() : 0;
+            lat[size] = located ? row.latitude() : Double.NaN;
+            lon[size] = located ? row.longitude() : Double.NaN;
+            size++;
+        }
+
+        /** Position {@code i} of {@code from}, whose row has not changed. */
+        void copy(Snapshot from, int i) {
+            rows[size] = from.rows()[i];
+            skills[size] = from.skills()[i];
+            days[size] = from.days()[i];
+            lat[size] = from.latitude()[i];
+            lon[size] = from.longitude()[i];
+            size++;
+        }
+
+        Snapshot build(long v) {
+            Map<Integer, List<Integer>> byCell = new HashMap<>();
+            List<Integer> unlocated = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (Double.isNaN(lat[i])) {
+                    unlocated.add(i);
+                } else {
+                    byCell.computeIfAbsent(Geo.cellOf(lat[i], lon[i]), c -> new ArrayList<>()).add(i);
+                }
+            }
+            Map<Integer, int[]> positionsByCell = new HashMap<>(byCell.size() * 2);
+            byCell.forEach((cell, positions) -> positionsByCell.put(cell, toArray(positions)));
+            return new Snapshot(v, nanoClock.getAsLong(), Arrays.copyOf(rows, size), Arrays.copyOf(skills, size),
+                    Arrays.copyOf(days, size), Arrays.copyOf(lat, size), Arrays.copyOf(lon, size),
+                    positionsByCell, toArray(unlocated));
+        }
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Parallel arrays indexed by position (ascending candidate id). A candidate
+     * without coordinates has {@code NaN} latitude and longitude. Positions are
+     * also bucketed by {@link Geo#cellOf} grid cell, with unlocated candidates
+     * listed separately, so radius-bounded scoring can skip far-away cells.
+     */
+    public record Snapshot(long version,
+                           long builtAt,
+                           CandidateMatchRow[] rows,
+                           long[][] skills,
+                           int[] days,
+                           double[] latitude,
+                           double[] longitude,
+                           Map<Integer, int[]> positionsByCell,
+                           int[] unlocated) {
+
+        public int size() {
+            return rows.length;
+        }
+
+        /**
+         * Positions of unlocated candidates plus those in any of {@code cells},
+         * or {@code null} for "all positions" when {@code cells} is {@code null}.
+         */
+        public int[] positionsNear(int[] cells) {
+            if (cells == null) return null;
+            int total = unlocated.length;
+            for (int cell : cells) {
+                int[] bucket = positionsByCell.get(cell);
+                if (bucket != null) total += bucket.length;
+            }
+            int[] positions = Arrays.copyOf(unlocated, total);
+            int n = unlocated.length;
+            for (int cell : cells) {
+                int[] bucket = positionsByCell.get(cell);
+                if (bucket != null) {
+                    System.arraycopy(bucket, 0, positions, n, bucket.length);
+                    n += bucket.length;
+                }
+            }
+            return positions;
+        }
+    }
+}
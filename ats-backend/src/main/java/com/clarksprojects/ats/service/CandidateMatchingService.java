@@ -0,0 +1,294 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.TopCandidateMatch;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.repository.CandidateMatchRow;
+import com.clarksprojects.ats.util.Geo;
+import com.clarksprojects.ats.util.Skills;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks candidates against a job's required skills, recency and distance.
+ *
+ * <p>Scoring runs over {@link CandidateFeatureIndex} snapshots: skill overlap is
+ * a popcount of the job's and candidate's {@link SkillDictionary} bitsets, and
+ * the best {@code limit} per job are kept in fixed-size primitive arrays, so the
+ * scan allocates nothing per candidate. Candidates with coordinates outside the
+ * job's {@link #MAX_DISTANCE_MILES} bounding box are skipped; candidates
+ * without coordinates score a neutral distance. Response DTOs are built for
+ * the winners only.
+ *
+ * <p>A single located job scores only unlocated candidates and those in the
+ * snapshot's nearby {@link Geo#cellsWithin grid cells}. Several jobs are scored
+ * in one pass over all candidates instead: the range is split across the
+ * common {@link ForkJoinPool}, each slice scores every job, and the per-slice
+ * top-K lists are merged.
+ */
+@Service
+@RequiredArgsConstructor
+public class CandidateMatchingService {
+
+    static final int DEFAULT_LIMIT = 5;
+    static final int MAX_DAYS = 730;
+    static final double MAX_DISTANCE_MILES = 50.0;
+    static final double NO_DISTANCE_SCORE = 50.0;
+
+    /** Candidates per fork-join leaf; below this a slice is scanned on the calling thread. */
+    static final int SLICE_SIZE = 8_192;
+
+    private final CandidateFeatureIndex featureIndex;
+    private final SkillDictionary skillDictionary;
+
+    public List<TopCandidateMatch> topCandidates(Job job) {
+        return topCandidates(job, DEFAULT_LIMIT);
+    }
+
+    public List<TopCandidateMatch> topCandidates(Job job, int limit) {
+        return topCandidates(List.of(job), limit).get(0);
+    }
+
+    /**
+     * Top {@code limit} matches for each of {@code jobs}, in the same order.
+     * Jobs without required skills get an empty list.
+     */
+    public List<List<TopCandidateMatch>> topCandidates(List<Job> jobs, int limit) {
+        List<List<TopCandidateMatch>> results = new ArrayList<>(jobs.size());
+        List<Query> queries = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Map<String, String> required = requiredSkills(job.getRequiredSkills());
+            results.add(List.of());
+            if (!required.isEmpty() && limit > 0) {
+                queries.add(new Query(results.size() - 1, required, job.getLatitude(), job.getLongitude()));
+            }
+        }
+        if (queries.isEmpty()) return results;
+
+        CandidateFeatureIndex.Snapshot snapshot = featureIndex.snapshot();
+        for (Query query : queries) {
+            query.bits = skillDictionary.lookupAll(query.required.keySet());
+        }
+        Query[] queryArray = queries.toArray(Query[]::new);
+        TopK[] ranked = null;
+        if (queryArray.length == 1 && queryArray[0].located) {
+            ranked = rankNearby(snapshot, queryArray[0], limit);
+        }
+        if (ranked == null) {
+            ranked = ForkJoinPool.commonPool()
+                    .invoke(new ScoreTask(snapshot, queryArray, limit, 0, snapshot.size()));
+        }
+
+        for (int q = 0; q < queryArray.length; q++) {
+            Query query = queryArray[q];
+            TopK top = ranked[q];
+            List<TopCandidateMatch> matches = new ArrayList<>(top.count);
+            for (int i = 0; i < top.count; i++) {
+                matches.add(toMatch(snapshot, top.idx[i], query));
+            }
+            results.set(query.slot, matches);
+        }
+        return results;
+    }
+
+    /**
+     * A single located job only needs unlocated candidates plus those in grid
+     * cells near it, so score just those. {@code null} if the radius spans too
+     * many cells to be worth it.
+     */
+    private static TopK[] rankNearby(CandidateFeatureIndex.Snapshot snapshot, Query query, int limit) {
+        int[] positions = snapshot.positionsNear(Geo.cellsWithin(query.lat, query.lon, MAX_DISTANCE_MILES));
+        if (positions == null) return null;
+        TopK[] tops = {new TopK(limit)};
+        Query[] queries = {query};
+        for (int i : positions) {
+            score(snapshot, queries, tops, i);
+        }
+        return tops;
+    }
+
+    /** Scores positions {@code [from, to)} of {@code snapshot} against every query in one pass. */
+    static void scan(CandidateFeatureIndex.Snapshot snapshot, Query[] queries, TopK[] tops, int from, int to) {
+        for (int i = from; i < to; i++) {
+            score(snapshot, queries, tops, i);
+        }
+    }
+
+    private static void score(CandidateFeatureIndex.Snapshot snapshot, Query[] queries, TopK[] tops, int i) {
+        long[] candidateBits = snapshot.skills()[i];
+        double daysNorm = Math.min(snapshot.days()[i], MAX_DAYS) / (double) MAX_DAYS * 100.0;
+        double lat = snapshot.latitude()[i];
+        double lon = snapshot.longitude()[i];
+        boolean located = !Double.isNaN(lat);
+        for (int q = 0; q < queries.length; q++) {
+            Query query = queries[q];
+            int matched = SkillDictionary.overlap(query.bits, candidateBits);
+            if (matched == 0) continue;
+            int skillsPct = skillsPercent(matched, query.requiredCount);
+            if (skillsPct <= 0) continue;
+
+            double distNorm = NO_DISTANCE_SCORE;
+            if (query.located && located) {
+                if (lat < query.minLat || lat > query.maxLat || lon < query.minLon || lon > query.maxLon) continue;
+                double distMiles = Geo.haversineMiles(query.lat, query.lon, lat, lon);
+                distNorm = Math.max(0.0, 100.0 - (distMiles / MAX_DISTANCE_MILES) * 100.0);
+            }
+            tops[q].offer(i, 0.5 * skillsPct + 0.25 * daysNorm + 0.25 * distNorm);
+        }
+    }
+
+    private static int skillsPercent(int matched, int requiredCount) {
+        return (int) Math.round((double) matched / requiredCount * 100);
+    }
+
+    /** Required skills keyed by index key, keeping the job's own spelling for display. */
+    private static Map<String, String> requiredSkills(String requiredSkills) {
+        Map<String, String> required = new LinkedHashMap<>();
+        for (String skill : Skills.parse(requiredSkills)) {
+            required.putIfAbsent(Skills.key(skill), skill);
+        }
+        return required;
+    }
+
+    private static TopCandidateMatch toMatch(CandidateFeatureIndex.Snapshot snapshot, int i, Query query) {
+        CandidateMatchRow row = snapshot.rows()[i];
+        Set<String> candidateKeys = Skills.normalize(row.skills());
+        List<String> matched = query.required.entrySet().stream()
+                .filter(e -> candidateKeys.contains(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        double distMiles = -1.0;
+        if (query.located && !Double.isNaN(snapshot.latitude()[i])) {
+            distMiles = Geo.haversineMiles(query.lat, query.lon, snapshot.latitude()[i], snapshot.longitude()[i]);
+        }
+        return new TopCandidateMatch(
+                row.id(),
+                row.firstName(),
+                row.lastName(),
+                row.email(),
+                skillsPercent(matched.size(), query.required.size()),
+                snapshot.days()[i],
+                distMiles,
+                matched,
+                Skills.parse(row.skills())
+        );
+    }
+
+    /** One job's scoring inputs, precomputed once per request. */
+    static final class Query {
+        final int slot;
+        final Map<String, String> required;
+        final int requiredCount;
+        final boolean located;
+        final double lat;
+        final double lon;
+        final double minLat;
+        final double maxLat;
+        final double minLon;
+        final double maxLon;
+        long[] bits = new long[0];
+
+        Query(int slot, Map<String, String> required, Double lat, Double lon) {
+            this.slot = slot;
+            this.required = required;
+            this.requiredCount = required.size();
+            this.located = lat != null && lon != null;
+            this.lat = located ? lat : Double.NaN;
+            this.lon = located ? lon : Double.NaN;
+            if (located) {
+                Geo.BoundingBox box = Geo.boundingBox(lat, lon, MAX_DISTANCE_MILES);
+                this.minLat = box.minLat();
+                this.maxLat = box.maxLat();
+                this.minLon = box.minLon();
+                this.maxLon = box.maxLon();
+            } else {
+                this.minLat = Double.NaN;
+                this.maxLat = Double.NaN;
+                this.minLon = Double.NaN;
+                this.maxLon = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Fixed-capacity best-first list of snapshot positions. Higher score wins;
+     * equal scores go to the lower position, i.e. the lower candidate id.
+     */
+    static final class TopK {
+        final int[] idx;
+        final double[] score;
+        int count;
+
+        TopK(int capacity) {
+            this.idx = new int[capacity];
+            this.score = new double[capacity];
+        }
+
+        void offer(int i, double s) {
+            int k = idx.length;
+            if (count == k && !better(s, i, score[k - 1], idx[k - 1])) return;
+            int pos = count < k ? count++ : k - 1;
+            while (pos > 0 && better(s, i, score[pos - 1], idx[pos - 1])) {
+                score[pos] = score[pos - 1];
+                idx[pos] = idx[pos - 1];
+                pos--;
+            }
+            score[pos] = s;
+            idx[pos] = i;
+        }
+
+        void addAll(TopK other) {
+            for (int j = 0; j < other.count; j++) {
+                offer(other.idx[j], other.score[j]);
+            }
+        }
+
+        private static boolean better(double s, int i, double otherScore, int otherIdx) {
+            return s > otherScore || (s == otherScore && i < otherIdx);
+        }
+    }
+
+    private static final class ScoreTask extends RecursiveTask<TopK[]> {
+        private final CandidateFeatureIndex.Snapshot snapshot;
+        private final Query[] queries;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        ScoreTask(CandidateFeatureIndex.Snapshot snapshot, Query[] queries, int limit, int from, int to) {
+            this.snapshot = snapshot;
+            this.queries = queries;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK[] compute() {
+            if (to - from <= SLICE_SIZE) {
+                TopK[] tops = new TopK[queries.length];
+                for (int q = 0; q < tops.length; q++) {
+                    tops[q] = new TopK(limit);
+                }
+                scan(snapshot, queries, tops, from, to);
+                return tops;
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(snapshot, queries, limit, from, mid);
+            left.fork();
+            TopK[] right = new ScoreTask(snapshot, queries, limit, mid, to).compute();
+            TopK[] merged = left.join();
+            for (int q = 0; q < merged.length; q++) {
+                merged[q].addAll(right[q]);
+            }
+            return merged;
+        }
+    }
+}
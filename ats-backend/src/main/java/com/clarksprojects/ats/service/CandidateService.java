@@ -1,26 +1,50 @@
 package com.clarksprojects.ats.service;
 
+import com.clarksprojects.ats.dto.BulkStageMoveRequest;
+import com.clarksprojects.ats.dto.CandidatePage;
 import com.clarksprojects.ats.dto.CandidateRequest;
 import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.CandidateSearchHit;
+import com.clarksprojects.ats.dto.CandidateSuggestion;
 import com.clarksprojects.ats.dto.ParsedResume;
 import com.clarksprojects.ats.dto.StageMoveRequest;
+import com.clarksprojects.ats.dto.StoredResume;
 import com.clarksprojects.ats.dto.TagResponse;
 import com.clarksprojects.ats.entity.ActivityType;
 import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.CandidateResume;
 import com.clarksprojects.ats.entity.Job;
 import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.exception.ResourceNotFoundException;
+import com.clarksprojects.ats.repository.CandidateCursor;
+import com.clarksprojects.ats.repository.CandidateFullTextRepository;
+import com.clarksprojects.ats.repository.CandidateOrderRepository;
 import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.repository.CandidateResumeRepository;
+import com.clarksprojects.ats.repository.CandidateSearchCriteria;
+import com.clarksprojects.ats.repository.CandidateSort;
 import com.clarksprojects.ats.util.Entities;
+import com.clarksprojects.ats.util.Highlights;
+import com.clarksprojects.ats.util.Skills;
+import com.clarksprojects.ats.util.StageOrderKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,50 +54,177 @@ public class CandidateService {
     private final CandidateRepository candidateRepository;
     private final JobService jobService;
     private final ActivityService activityService;
+    private final CandidateFeatureIndex candidateFeatureIndex;
+    private final DashboardCounters dashboardCounters;
+    private final CandidateOrderRepository candidateOrderRepository;
+    private final CandidateResumeRepository candidateResumeRepository;
+    private final CandidateFullTextRepository candidateFullTextRepository;
+    private final ParsedResumeCache parsedResumeCache;
 
+    static final double MAX_SEARCH_RADIUS_MILES = 500.0;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int DEFAULT_FULLTEXT_LIMIT = 20;
+    static final int MAX_FULLTEXT_LIMIT = 100;
+    static final int MAX_FULLTEXT_QUERY_LENGTH = 200;
+    static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+    static final int MAX_TYPEAHEAD_LIMIT = 20;
+    static final int MIN_TYPEAHEAD_QUERY_LENGTH = 2;
+    static final int MAX_TYPEAHEAD_QUERY_LENGTH = 100;
+
+    private static final Comparator<Candidate> BOARD_ORDER =
+            Comparator.comparing(Candidate::getStageOrder).thenComparing(Candidate::getId);
+
+    /**
+     * Optionally limited to candidates within {@code radiusMiles} (default
+     * {@link CandidateMatchingService#MAX_DISTANCE_MILES}) of job
+     * {@code nearJobId}'s location. {@code sort} is parsed by
+     * {@link CandidateSort#parse}. Returns one keyset page: a missing or
+     * empty cursor means the first page, a missing limit
+     * {@value #DEFAULT_PAGE_SIZE}. Every match is only available through the
+     * paged export.
+     * {@link CandidateSort#RELEVANCE} ranks by name similarity, so it needs
+     * a {@code name} and returns a single page with no next cursor.
+     */
     @Transactional(readOnly = true)
-    public List<CandidateResponse> searchCandidates(String name, String skills, PipelineStage stage, Long jobId, String sort) {
+    public CandidatePage searchCandidates(String name, String skills, PipelineStage stage, Long jobId,
+                                          Long nearJobId, Double radiusMiles, String sort,
+                                          String cursor, Integer limit) {
         String nameParam = (name == null || name.isBlank()) ? null : name.trim();
         String stageParam = stage != null ? stage.name() : null;
-        List<Candidate> candidates = candidateRepository.search(nameParam, stageParam, jobId);
-        if (skills != null && !skills.isBlank()) {
-            candidates = candidates.stream()
-                    .filter(c -> skillsMatch(c.getSkills(), skills))
-                    .toList();
+        Set<String> skillTerms = Skills.normalize(skills);
+        Double nearLat = null;
+        Double nearLon = null;
+        if (nearJobId != null) {
+            Job near = jobService.findJobOrThrow(nearJobId);
+            if (near.getLatitude() == null || near.getLongitude() == null) {
+                throw new IllegalArgumentException("Job " + nearJobId + " has no location");
+            }
+            nearLat = near.getLatitude();
+            nearLon = near.getLongitude();
+            radiusMiles = radiusMiles != null ? radiusMiles : CandidateMatchingService.MAX_DISTANCE_MILES;
+            if (radiusMiles <= 0 || radiusMiles > MAX_SEARCH_RADIUS_MILES) {
+                throw new IllegalArgumentException("radiusMiles must be greater than 0 and at most " + MAX_SEARCH_RADIUS_MILES);
+            }
+        } else if (radiusMiles != null) {
+            throw new IllegalArgumentException("radiusMiles requires nearJobId");
+        }
+        CandidateSort order = CandidateSort.parse(sort);
+        if (order == CandidateSort.RELEVANCE && nameParam == null) {
+            throw new IllegalArgumentException("sort=relevance requires name");
+        }
+        return page(new CandidateSearchCriteria(nameParam, stageParam, jobId, skillTerms,
+                nearLat, nearLon, radiusMiles, order, null, null), cursor, limit);
+    }
+
+    /**
+     * Up to {@code limit} (default {@value #DEFAULT_TYPEAHEAD_LIMIT})
+     * candidates whose name is most like {@code query}, for completing a
+     * name as it is typed; misspellings still match.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSuggestion> typeahead(String query, Integer limit) {
+        String q = query == null ? "" : query.trim();
+        if (q.length() < MIN_TYPEAHEAD_QUERY_LENGTH || q.length() > MAX_TYPEAHEAD_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be between " + MIN_TYPEAHEAD_QUERY_LENGTH
+                    + " and " + MAX_TYPEAHEAD_QUERY_LENGTH + " characters");
+        }
+        int size = limit != null ? limit : DEFAULT_TYPEAHEAD_LIMIT;
+        if (size < 1 || size > MAX_TYPEAHEAD_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TYPEAHEAD_LIMIT);
+        }
+        return candidateRepository.suggest(q.toLowerCase(Locale.ROOT), size);
+    }
+
+    /**
+     * Candidates whose resume text, notes or name match {@code query}, best
+     * first, each with highlighted snippets of where it matched; see
+     * {@link CandidateFullTextRepository} for the query syntax and ranking.
+     * Paged by {@code limit} (default {@value #DEFAULT_FULLTEXT_LIMIT}) and
+     * {@code offset}.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSearchHit> fullTextSearch(String query, Integer limit, Integer offset) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        String q = query.trim();
+        if (q.length() > MAX_FULLTEXT_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_FULLTEXT_QUERY_LENGTH + " characters");
+        }
+        int size = limit != null ? limit : DEFAULT_FULLTEXT_LIMIT;
+        if (size < 1 || size > MAX_FULLTEXT_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FULLTEXT_LIMIT);
+        }
+        int skip = offset != null ? offset : 0;
+        if (skip < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+
+        List<CandidateFullTextRepository.Hit> hits = candidateFullTextRepository.search(q, size, skip);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(CandidateFullTextRepository.Hit::candidateId).toList();
+        Map<Long, Candidate> candidates = new HashMap<>();
+        for (Candidate candidate : candidateRepository.findByIdIn(ids)) {
+            candidates.put(candidate.getId(), candidate);
         }
-        return sorted(candidates, sort).stream().map(this::toResponse).toList();
+        Map<Long, String> resumeSnippets = candidateFullTextRepository.resumeSnippets(q, ids);
+        Map<Long, String> noteSnippets = candidateFullTextRepository.noteSnippets(q, ids);
+
+        List<CandidateSearchHit> results = new ArrayList<>(hits.size());
+        for (CandidateFullTextRepository.Hit hit : hits) {
+            Candidate candidate = candidates.get(hit.candidateId());
+            if (candidate == null) {
+                continue; // deleted since the search ran
+            }
+            results.add(new CandidateSearchHit(toResponse(candidate), hit.rank(),
+                    highlight(resumeSnippets.get(hit.candidateId())),
+                    highlight(noteSnippets.get(hit.candidateId()))));
+        }
+        return results;
+    }
+
+    private static String highlight(String snippet) {
+        return Highlights.toHtml(snippet, CandidateFullTextRepository.START_SEL, CandidateFullTextRepository.STOP_SEL);
+    }
+
+    /** One keyset page of a job's candidates in board order, optionally for one stage. */
+    @Transactional(readOnly = true)
+    public CandidatePage getCandidatesByJob(Long jobId, PipelineStage stage, String cursor, Integer limit) {
+        String stageParam = stage != null ? stage.name() : null;
+        return page(new CandidateSearchCriteria(null, stageParam, jobId, Set.of(),
+                null, null, null, CandidateSort.STAGE_ORDER, null, null), cursor, limit);
     }
 
     /**
-     * Sort options:
-     *   "name"       (default) — last name then first name, ascending
-     *   "applied"    — applied date, descending
-     *   "applied:asc"— applied date, ascending
-     *   "updated"    — last updated, descending
+     * Runs the search one row past the page size; if that extra row comes
+     * back there is another page, and the cursor points after the last row
+     * actually returned.
      */
-    private List<Candidate> sorted(List<Candidate> candidates, String sort) {
-        String key = sort == null ? "name" : sort.toLowerCase();
-        Comparator<Candidate> comparator = switch (key) {
-            case "applied", "applied:desc" -> Comparator.comparing(Candidate::getAppliedAt,
-                    Comparator.nullsLast(Comparator.reverseOrder()));
-            case "applied:asc" -> Comparator.comparing(Candidate::getAppliedAt,
-                    Comparator.nullsLast(Comparator.naturalOrder()));
-            case "updated", "updated:desc" -> Comparator.comparing(Candidate::getUpdatedAt,
-                    Comparator.nullsLast(Comparator.reverseOrder()));
-            default -> Comparator.comparing(Candidate::getLastName, String.CASE_INSENSITIVE_ORDER)
-                    .thenComparing(Candidate::getFirstName, String.CASE_INSENSITIVE_ORDER);
-        };
-        return candidates.stream().sorted(comparator).toList();
-    }
-
-    private boolean skillsMatch(String candidateSkills, String searchSkills) {
-        if (candidateSkills == null || candidateSkills.isBlank()) return false;
-        List<String> cSkills = Arrays.stream(candidateSkills.split(","))
-                .map(s -> s.trim().toLowerCase()).toList();
-        return Arrays.stream(searchSkills.split(","))
-                .map(s -> s.trim().toLowerCase())
-                .filter(s -> !s.isEmpty())
-                .anyMatch(cSkills::contains);
+    private CandidatePage page(CandidateSearchCriteria criteria, String cursor, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        CandidateSort sort = criteria.sort();
+        if (sort == CandidateSort.RELEVANCE) {
+            // The score only exists inside the query, so there is nothing to resume from.
+            if (cursor != null && !cursor.isBlank()) {
+                throw new IllegalArgumentException("sort=relevance does not support cursor");
+            }
+            return new CandidatePage(candidateRepository.search(criteria.page(null, size)).stream()
+                    .map(this::toResponse)
+                    .toList(), null);
+        }
+        // A blank cursor asks for the first page.
+        CandidateCursor after = cursor == null || cursor.isBlank() ? null : CandidateCursor.decode(cursor, sort);
+        List<Candidate> rows = candidateRepository.search(criteria.page(after, size + 1));
+        boolean more = rows.size() > size;
+        List<Candidate> pageRows = more ? rows.subList(0, size) : rows;
+        String next = more ? CandidateCursor.after(sort, pageRows.get(size - 1)).encode() : null;
+        return new CandidatePage(pageRows.stream().map(this::toResponse).toList(), next);
     }
 
     @Transactional(readOnly = true)
@@ -95,9 +246,47 @@ public class CandidateService {
         return toResponse(findCandidateOrThrow(id));
     }
 
+    /** The candidate already created from the resume at {@code resumeUrl}, if any. */
+    @Transactional(readOnly = true)
+    public Optional<CandidateResponse> findByResumeUrl(String resumeUrl) {
+        return candidateRepository.findFirstByResumeUrlOrderByIdAsc(resumeUrl).map(this::toResponse);
+    }
+
     @Transactional
     public CandidateResponse createFromParsedResume(ParsedResume parsed, String resumeUrl) {
         Job talentPoolJob = jobService.findOrCreateTalentPoolJob();
+        Candidate saved = createFromParsed(parsed, resumeUrl, talentPoolJob,
+                keyAt(talentPoolJob.getId(), PipelineStage.APPLIED, null, null));
+        candidateFeatureIndex.invalidate(saved.getId());
+        return toResponse(saved);
+    }
+
+    /**
+     * {@link #createFromParsedResume} for a batch of bulk-uploaded resumes,
+     * in one transaction: the talent-pool job and the bottom of its APPLIED
+     * column are looked up once, and the feature index is invalidated once.
+     * Responses are in the order of {@code resumes}.
+     */
+    @Transactional
+    public List<CandidateResponse> createFromParsedResumes(List<StoredResume> resumes) {
+        if (resumes.isEmpty()) {
+            return List.of();
+        }
+        Job talentPoolJob = jobService.findOrCreateTalentPoolJob();
+        List<CandidateResponse> created = new ArrayList<>(resumes.size());
+        Long key = null;
+        for (StoredResume resume : resumes) {
+            key = key == null ? null : StageOrderKeys.between(key, null);
+            if (key == null) {
+                key = keyAt(talentPoolJob.getId(), PipelineStage.APPLIED, null, null);
+            }
+            created.add(toResponse(createFromParsed(resume.parsed(), resume.resumeUrl(), talentPoolJob, key)));
+        }
+        candidateFeatureIndex.invalidate(created.stream().map(CandidateResponse::getId).toList());
+        return created;
+    }
+
+    private Candidate createFromParsed(ParsedResume parsed, String resumeUrl, Job talentPoolJob, long stageOrder) {
         Candidate candidate = Candidate.builder()
                 .firstName(Objects.requireNonNullElse(parsed.firstName(), ""))
                 .lastName(Objects.requireNonNullElse(parsed.lastName(), ""))
@@ -106,16 +295,26 @@ public class CandidateService {
                 .resumeUrl(resumeUrl)
                 .skills(parsed.skills())
                 .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
+                .stageOrder(stageOrder)
                 .job(talentPoolJob)
                 .build();
         Candidate saved = candidateRepository.save(candidate);
+        if (parsed.rawText() != null && !parsed.rawText().isBlank()) {
+            candidateResumeRepository.save(new CandidateResume(saved.getId(), searchableText(parsed.rawText())));
+        }
+        dashboardCounters.candidateStageChanged(null, saved.getStage());
         log.info("Candidate created from parsed resume: id={}, email={}", saved.getId(), saved.getEmail());
         activityService.record(ActivityType.RESUME_UPLOADED, saved, talentPoolJob,
                 "Uploaded resume into Talent Pool",
                 Map.of("email", Objects.requireNonNullElse(saved.getEmail(), ""),
                         "skills", Objects.requireNonNullElse(saved.getSkills(), "")));
-        return toResponse(saved);
+        return saved;
+    }
+
+    /** Resume text as stored for search: capped in length, without the NULs Postgres text can't hold. */
+    private static String searchableText(String rawText) {
+        String text = rawText.replace("\u0000", "");
+        return text.length() > CandidateResume.MAX_TEXT_LENGTH ? text.substring(0, CandidateResume.MAX_TEXT_LENGTH) : text;
     }
 
     @Transactional
@@ -134,10 +333,12 @@ public class CandidateService {
                 .longitude(request.getLongitude())
                 .lastAssignmentDays(request.getLastAssignmentDays())
                 .stage(request.getStage())
-                .stageOrder(0)
+                .stageOrder(keyAt(job.getId(), request.getStage(), null, null))
                 .job(job)
                 .build();
         Candidate saved = candidateRepository.save(candidate);
+        candidateFeatureIndex.invalidate(saved.getId());
+        dashboardCounters.candidateStageChanged(null, saved.getStage());
         log.info("Candidate created: id={}, email={}", saved.getId(), saved.getEmail());
         activityService.record(ActivityType.CANDIDATE_CREATED, saved, job,
                 "Added candidate %s %s".formatted(saved.getFirstName(), saved.getLastName()),
@@ -161,12 +362,18 @@ public class CandidateService {
         candidate.setLatitude(request.getLatitude());
         candidate.setLongitude(request.getLongitude());
         candidate.setLastAssignmentDays(request.getLastAssignmentDays());
+        Long previousJobId = candidate.getJob().getId();
         candidate.setStage(request.getStage());
         if (request.getJobId() != null && !request.getJobId().equals(candidate.getJob().getId())) {
             Job newJob = jobService.findJobOrThrow(request.getJobId());
             candidate.setJob(newJob);
         }
+        if (previousStage != candidate.getStage() || !previousJobId.equals(candidate.getJob().getId())) {
+            candidate.setStageOrder(keyAt(candidate.getJob().getId(), candidate.getStage(), id, null));
+        }
         Candidate saved = candidateRepository.save(candidate);
+        candidateFeatureIndex.invalidate(saved.getId());
+        dashboardCounters.candidateStageChanged(previousStage, saved.getStage());
         log.info("Candidate updated: id={}", id);
 
         if (previousStage != saved.getStage()) {
@@ -184,21 +391,144 @@ public class CandidateService {
     @Transactional
     public CandidateResponse moveStage(Long id, StageMoveRequest request) {
         Candidate candidate = findCandidateOrThrow(id);
-        PipelineStage previous = candidate.getStage();
-        candidate.setStage(request.getNewStage());
-        if (request.getNewOrder() != null) {
-            candidate.setStageOrder(request.getNewOrder());
-        }
+        applyMove(candidate, request.getNewStage(), request.getNewOrder());
         Candidate saved = candidateRepository.save(candidate);
         log.info("Candidate stage moved: id={}, newStage={}", id, request.getNewStage());
-        if (previous != saved.getStage()) {
-            activityService.record(ActivityType.STAGE_CHANGED, saved, saved.getJob(),
-                    "Moved from %s to %s".formatted(previous, saved.getStage()),
-                    Map.of("from", previous.name(), "to", saved.getStage().name()));
-        }
         return toResponse(saved);
     }
 
+    /**
+     * Applies a batch of board moves in one transaction and returns every
+     * column (job and stage) a moved candidate left or entered, in board
+     * order. The candidates and their columns are read with two queries and
+     * the new keys worked out in memory, so the updates go out as JDBC
+     * batches at commit and the stage-change activities as one insert. Any
+     * unknown or repeated candidate fails the whole batch before anything
+     * is changed.
+     */
+    @Transactional
+    public List<CandidateResponse> moveStages(BulkStageMoveRequest request) {
+        List<BulkStageMoveRequest.Move> moves = request.getMoves();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (BulkStageMoveRequest.Move move : moves) {
+            if (!ids.add(move.getCandidateId())) {
+                throw new IllegalArgumentException("Candidate " + move.getCandidateId() + " is moved more than once");
+            }
+        }
+        Map<Long, Candidate> candidates = new HashMap<>();
+        for (Candidate candidate : candidateRepository.findAllById(ids)) {
+            candidates.put(candidate.getId(), candidate);
+        }
+        if (candidates.size() != ids.size()) {
+            List<String> missing = ids.stream()
+                    .filter(id -> !candidates.containsKey(id))
+                    .map(String::valueOf)
+                    .toList();
+            throw new ResourceNotFoundException("Candidate not found: " + String.join(", ", missing));
+        }
+
+        Map<BoardColumn, List<Candidate>> columns = loadColumns(moves, candidates);
+        for (BulkStageMoveRequest.Move move : moves) {
+            Candidate candidate = candidates.get(move.getCandidateId());
+            PipelineStage previous = candidate.getStage();
+            if (move.getNewOrder() != null || previous != move.getNewStage()) {
+                columns.get(BoardColumn.of(candidate)).remove(candidate);
+                List<Candidate> target = columns.get(new BoardColumn(candidate.getJob().getId(), move.getNewStage()));
+                int index = move.getNewOrder() == null ? target.size()
+                        : Math.min(Math.max(move.getNewOrder(), 0), target.size());
+                candidate.setStage(move.getNewStage());
+                candidate.setStageOrder(keyAt(target, index));
+                target.add(index, candidate);
+            }
+            recordMove(candidate, previous, move.getNewStage());
+        }
+        log.info("Candidate stages moved in bulk: count={}", moves.size());
+
+        return columns.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(BoardColumn::jobId)
+                        .thenComparing(BoardColumn::stage)))
+                .flatMap(column -> column.getValue().stream())
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /** One job's candidates in one stage. */
+    private record BoardColumn(Long jobId, PipelineStage stage) {
+        static BoardColumn of(Candidate candidate) {
+            return new BoardColumn(candidate.getJob().getId(), candidate.getStage());
+        }
+    }
+
+    /** Every column a move leaves or enters, each in board order, read with one query. */
+    private Map<BoardColumn, List<Candidate>> loadColumns(List<BulkStageMoveRequest.Move> moves,
+                                                          Map<Long, Candidate> candidates) {
+        Map<BoardColumn, List<Candidate>> columns = new HashMap<>();
+        Set<Long> jobIds = new HashSet<>();
+        Set<PipelineStage> stages = EnumSet.noneOf(PipelineStage.class);
+        for (BulkStageMoveRequest.Move move : moves) {
+            Candidate candidate = candidates.get(move.getCandidateId());
+            jobIds.add(candidate.getJob().getId());
+            stages.add(candidate.getStage());
+            stages.add(move.getNewStage());
+            columns.put(BoardColumn.of(candidate), new ArrayList<>());
+            columns.put(new BoardColumn(candidate.getJob().getId(), move.getNewStage()), new ArrayList<>());
+        }
+        for (Candidate candidate : candidateRepository.findColumns(jobIds, stages)) {
+            List<Candidate> column = columns.get(BoardColumn.of(candidate));
+            if (column != null) {
+                column.add(candidates.getOrDefault(candidate.getId(), candidate));
+            }
+        }
+        columns.values().forEach(column -> column.sort(BOARD_ORDER));
+        return columns;
+    }
+
+    /**
+     * A key for a card inserted at {@code index} of an in-memory column.
+     * Renumbers the column (flushing the moves so far) in the rare case
+     * that no key is left between the neighbours.
+     */
+    private long keyAt(List<Candidate> column, int index) {
+        Long key = StageOrderKeys.between(keyOf(column, index - 1), keyOf(column, index));
+        if (key == null) {
+            Candidate neighbour = column.get(Math.min(index, column.size() - 1));
+            candidateOrderRepository.rebalance(neighbour.getJob().getId(), neighbour.getStage());
+            log.info("Board column renumbered inline: jobId={}, stage={}", neighbour.getJob().getId(), neighbour.getStage());
+            column.sort(BOARD_ORDER);
+            key = StageOrderKeys.between(keyOf(column, index - 1), keyOf(column, index));
+        }
+        return key;
+    }
+
+    private static Long keyOf(List<Candidate> column, int index) {
+        return index >= 0 && index < column.size() ? column.get(index).getStageOrder() : null;
+    }
+
+    /**
+     * Moves to {@code newOrder} (a position) in the {@code newStage} column;
+     * without a position, keeps the key within the same stage and appends
+     * when the stage changes. Only the moved candidate's row is written,
+     * unless the column has run out of gaps at that spot.
+     */
+    private void applyMove(Candidate candidate, PipelineStage newStage, Integer newOrder) {
+        PipelineStage previous = candidate.getStage();
+        candidate.setStage(newStage);
+        if (newOrder != null || previous != newStage) {
+            candidate.setStageOrder(keyAt(candidate.getJob().getId(), newStage, candidate.getId(),
+                    newOrder));
+        }
+        recordMove(candidate, previous, newStage);
+    }
+
+    private void recordMove(Candidate candidate, PipelineStage previous, PipelineStage newStage) {
+        dashboardCounters.candidateStageChanged(previous, newStage);
+        if (previous != newStage) {
+            activityService.record(ActivityType.STAGE_CHANGED, candidate, candidate.getJob(),
+                    "Moved from %s to %s".formatted(previous, newStage),
+                    Map.of("from", previous.name(), "to", newStage.name()));
+        }
+    }
+
     @Transactional
     public void deleteCandidate(Long id) {
         Candidate candidate = findCandidateOrThrow(id);
@@ -206,9 +536,29 @@ public class CandidateService {
                 "Deleted candidate %s %s".formatted(candidate.getFirstName(), candidate.getLastName()),
                 Map.of("candidateId", String.valueOf(candidate.getId())));
         candidateRepository.delete(candidate);
+        candidateFeatureIndex.invalidate(candidate.getId());
+        parsedResumeCache.forget(Collections.singletonList(candidate.getResumeUrl()));
+        dashboardCounters.candidateStageChanged(candidate.getStage(), null);
         log.info("Candidate deleted: id={}", id);
     }
 
+    /**
+     * A board key for position {@code position} of a column (null: the
+     * bottom), ignoring {@code candidateId}'s own row. Renumbers the column
+     * first in the rare case that no key is left between the neighbours.
+     */
+    private long keyAt(Long jobId, PipelineStage stage, Long candidateId, Integer position) {
+        CandidateOrderRepository.Neighbours around = candidateOrderRepository.neighbours(jobId, stage, candidateId, position);
+        Long key = StageOrderKeys.between(around.before(), around.after());
+        if (key == null) {
+            candidateOrderRepository.rebalance(jobId, stage);
+            log.info("Board column renumbered inline: jobId={}, stage={}", jobId, stage);
+            around = candidateOrderRepository.neighbours(jobId, stage, candidateId, position);
+            key = StageOrderKeys.between(around.before(), around.after());
+        }
+        return key;
+    }
+
     private Candidate findCandidateOrThrow(Long id) {
         return Entities.findOrThrow(candidateRepository, id, "Candidate");
     }
@@ -0,0 +1,125 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.entity.TaskStatus;
+import com.clarksprojects.ats.repository.DashboardCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.CANDIDATE_STAGE;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.JOB_EMPLOYER;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.JOB_STATUS;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.TASK_STATUS;
+
+/**
+ * Keeps the dashboard rollup in step with writes. Services report what changed
+ * (a stage move is -1 on the old stage and +1 on the new); the deltas of one
+ * transaction are merged and applied in a single upsert just before it
+ * commits, so counter rows are locked only briefly and a rollback leaves
+ * them untouched. Outside a transaction a delta is applied immediately.
+ *
+ * <p>Anything that bypasses the services (SQL fixes, cascades the database
+ * does on its own) makes the counters drift; {@link #reconcile} recounts them
+ * from the base tables on a schedule. Its SQL is Postgres-only, so
+ * {@code app.dashboard.reconcile-enabled=false} turns it off (as in tests).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounters {
+
+    private final DashboardCounterRepository counterRepository;
+
+    @Value("${app.dashboard.reconcile-enabled:true}")
+    private boolean reconcileEnabled;
+
+    /** A candidate left stage {@code from} and/or entered stage {@code to}; {@code null} for create/delete. */
+    public void candidateStageChanged(PipelineStage from, PipelineStage to) {
+        if (from == to) return;
+        if (from != null) adjust(CANDIDATE_STAGE + from.name(), -1);
+        if (to != null) adjust(CANDIDATE_STAGE + to.name(), 1);
+    }
+
+    /** A job's employer and/or status changed; all {@code null} on one side for create/delete. */
+    public void jobChanged(String fromEmployer, JobStatus fromStatus, String toEmployer, JobStatus toStatus) {
+        if (!Objects.equals(fromEmployer, toEmployer)) {
+            if (fromEmployer != null) adjust(JOB_EMPLOYER + fromEmployer, -1);
+            if (toEmployer != null) adjust(JOB_EMPLOYER + toEmployer, 1);
+        }
+        if (fromStatus != toStatus) {
+            if (fromStatus != null) adjust(JOB_STATUS + fromStatus.name(), -1);
+            if (toStatus != null) adjust(JOB_STATUS + toStatus.name(), 1);
+        }
+    }
+
+    /** A task's status changed; {@code null} for create/delete. */
+    public void taskStatusChanged(TaskStatus from, TaskStatus to) {
+        if (from == to) return;
+        if (from != null) adjust(TASK_STATUS + from.name(), -1);
+        if (to != null) adjust(TASK_STATUS + to.name(), 1);
+    }
+
+    /** Current value of every counter, by name. */
+    public Map<String, Long> snapshot() {
+        return counterRepository.findAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval:PT15M}",
+               initialDelayString = "${app.dashboard.reconcile-interval:PT15M}")
+    @Transactional
+    public void reconcile() {
+        if (!reconcileEnabled) return;
+        Map<String, Long> before = counterRepository.findAll();
+        counterRepository.recount();
+        Map<String, Long> after = counterRepository.findAll();
+        long drifted = after.entrySet().stream()
+                .filter(e -> !e.getValue().equals(before.getOrDefault(e.getKey(), 0L)))
+                .count();
+        if (drifted > 0) {
+            log.warn("Dashboard counters reconciled: {} of {} counters had drifted", drifted, after.size());
+        }
+    }
+
+    private void adjust(String name, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counterRepository.increment(Map.of(name, delta));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Long> pending = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = bindPending();
+        }
+        pending.merge(name, delta, Long::sum);
+    }
+
+    private Map<String, Long> bindPending() {
+        // Sorted, so every transaction locks counter rows in the same order.
+        Map<String, Long> pending = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                pending.values().removeIf(delta -> delta == 0);
+                counterRepository.increment(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DashboardCounters.this);
+            }
+        });
+        return pending;
+    }
+}
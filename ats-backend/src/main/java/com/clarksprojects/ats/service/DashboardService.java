@@ -6,20 +6,24 @@ import com.clarksprojects.ats.dto.TaskResponse;
 import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.entity.TaskStatus;
-import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.repository.DashboardQueryRepository;
+import com.clarksprojects.ats.repository.DashboardQueryRepository.TimeWindowCounts;
 import com.clarksprojects.ats.repository.FollowUpTaskRepository;
-import com.clarksprojects.ats.repository.JobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.CANDIDATE_STAGE;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.JOB_EMPLOYER;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.JOB_STATUS;
+import static com.clarksprojects.ats.repository.DashboardCounterRepository.TASK_STATUS;
 
 @Service
 @RequiredArgsConstructor
@@ -29,26 +33,41 @@ public class DashboardService {
     private static final int RECENT_ACTIVITY_LIMIT = 10;
     private static final int UPCOMING_TASKS_LIMIT = 5;
 
-    private final JobRepository jobRepository;
-    private final CandidateRepository candidateRepository;
+    private final DashboardCounters dashboardCounters;
+    private final DashboardQueryRepository dashboardQueryRepository;
     private final FollowUpTaskRepository taskRepository;
     private final ActivityService activityService;
 
+    /**
+     * Counts come from the {@link DashboardCounters} rollup plus one query for
+     * the time-dependent metrics; the two top-N lists fetch their associations
+     * in the same query. Four round trips whatever the table sizes.
+     */
     @Transactional(readOnly = true)
     public DashboardStats getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> counters = dashboardCounters.snapshot();
+        TimeWindowCounts timeWindow = dashboardQueryRepository.timeWindowCounts(
+                now.toLocalDate().withDayOfMonth(1).atStartOfDay(), now);
+
         Map<String, Long> byStage = new LinkedHashMap<>();
+        long totalCandidates = 0;
         for (PipelineStage stage : PipelineStage.values()) {
-            byStage.put(stage.name(), candidateRepository.countByStage(stage));
+            long count = counters.getOrDefault(CANDIDATE_STAGE + stage.name(), 0L);
+            byStage.put(stage.name(), count);
+            totalCandidates += count;
+        }
+        Map<String, Long> byEmployer = new HashMap<>();
+        long totalJobs = 0;
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            if (!counter.getKey().startsWith(JOB_EMPLOYER)) continue;
+            String employer = counter.getKey().substring(JOB_EMPLOYER.length());
+            if (employer.equals(JobService.TALENT_POOL_EMPLOYER)) continue;
+            totalJobs += counter.getValue();
+            if (!employer.isEmpty() && counter.getValue() > 0) {
+                byEmployer.put(employer, counter.getValue());
+            }
         }
-        Map<String, Long> byEmployer = jobRepository
-                .countJobsGroupedByEmployer(JobService.TALENT_POOL_EMPLOYER)
-                .stream()
-                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
-
-        long openTasks = taskRepository.countByStatus(TaskStatus.OPEN);
-        long overdueTasks = taskRepository.countByStatusAndDueAtBefore(TaskStatus.OPEN, LocalDateTime.now());
-        long hiredThisMonth = candidateRepository.countHiredSince(
-                LocalDate.now().withDayOfMonth(1).atStartOfDay());
 
         List<ActivityResponse> recent = activityService.recent(RECENT_ACTIVITY_LIMIT);
         List<TaskResponse> upcoming = taskRepository
@@ -59,12 +78,12 @@ public class DashboardService {
                 .toList();
 
         return new DashboardStats(
-                jobRepository.countByEmployerNot(JobService.TALENT_POOL_EMPLOYER),
-                jobRepository.countByStatus(JobStatus.OPEN),
-                candidateRepository.count(),
-                openTasks,
-                overdueTasks,
-                hiredThisMonth,
+                totalJobs,
+                counters.getOrDefault(JOB_STATUS + JobStatus.OPEN.name(), 0L),
+                totalCandidates,
+                counters.getOrDefault(TASK_STATUS + TaskStatus.OPEN.name(), 0L),
+                timeWindow.overdueTasks(),
+                timeWindow.hiredSince(),
                 byStage,
                 byEmployer,
                 recent,
@@ -0,0 +1,54 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.DashboardStats;
+import com.clarksprojects.ats.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last {@link DashboardStats} for a few seconds, so a room full of
+ * recruiters polling the dashboard costs one stats computation per TTL rather
+ * than one per poll. Every recorded activity (i.e. every business write)
+ * invalidates it, so the author of a change sees it on their next poll.
+ *
+ * <p>The stats are the same for every user today; a per-user view would key
+ * the cache by user id.
+ */
+@Component
+public class DashboardStatsCache {
+
+    private static final String ALL_USERS = "*";
+
+    private final TtlCache<String, DashboardStats> cache;
+
+    public DashboardStatsCache(@Value("${app.dashboard.cache-ttl:PT5S}") Duration ttl) {
+        this.cache = new TtlCache<>(ttl);
+    }
+
+    public DashboardStats get(Supplier<DashboardStats> loader) {
+        return cache.get(ALL_USERS, key -> loader.get());
+    }
+
+    /**
+     * Drops the cached stats. Inside a transaction this takes effect after
+     * commit; invalidating earlier would let a concurrent poll re-cache the
+     * pre-commit numbers.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        } else {
+            cache.invalidateAll();
+        }
+    }
+}
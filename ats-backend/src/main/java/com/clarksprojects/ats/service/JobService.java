@@ -2,13 +2,13 @@ package com.clarksprojects.ats.service;
 
 import com.clarksprojects.ats.dto.JobRequest;
 import com.clarksprojects.ats.dto.JobResponse;
+import com.clarksprojects.ats.dto.JobTopCandidates;
 import com.clarksprojects.ats.dto.TopCandidateMatch;
 import com.clarksprojects.ats.entity.ActivityType;
 import com.clarksprojects.ats.entity.Candidate;
 import com.clarksprojects.ats.entity.EmploymentType;
 import com.clarksprojects.ats.entity.Job;
 import com.clarksprojects.ats.entity.JobStatus;
-import com.clarksprojects.ats.repository.CandidateRepository;
 import com.clarksprojects.ats.repository.JobRepository;
 import com.clarksprojects.ats.util.Entities;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -30,9 +29,13 @@ public class JobService {
     static final String TALENT_POOL_EMPLOYER = "SYSTEM";
     static final String TALENT_POOL_TITLE = "Talent Pool";
     static final String TALENT_POOL_DEPARTMENT = "Talent Pool";
+    static final int MAX_TOP_CANDIDATES = 50;
 
     private final JobRepository jobRepository;
-    private final CandidateRepository candidateRepository;
+    private final CandidateMatchingService candidateMatchingService;
+    private final CandidateFeatureIndex candidateFeatureIndex;
+    private final DashboardCounters dashboardCounters;
+    private final ParsedResumeCache parsedResumeCache;
 
     // Field-injected to avoid a circular constructor cycle through
     // ActivityService → (eventually) CandidateService → JobService.
@@ -58,14 +61,18 @@ public class JobService {
     @Transactional
     public Job findOrCreateTalentPoolJob() {
         return jobRepository.findByEmployerAndTitle(TALENT_POOL_EMPLOYER, TALENT_POOL_TITLE)
-                .orElseGet(() -> jobRepository.save(Job.builder()
-                        .employer(TALENT_POOL_EMPLOYER)
-                        .title(TALENT_POOL_TITLE)
-                        .department(TALENT_POOL_DEPARTMENT)
-                        .location("N/A")
-                        .status(JobStatus.ON_HOLD)
-                        .employmentType(EmploymentType.FULL_TIME)
-                        .build()));
+                .orElseGet(() -> {
+                    Job created = jobRepository.save(Job.builder()
+                            .employer(TALENT_POOL_EMPLOYER)
+                            .title(TALENT_POOL_TITLE)
+                            .department(TALENT_POOL_DEPARTMENT)
+                            .location("N/A")
+                            .status(JobStatus.ON_HOLD)
+                            .employmentType(EmploymentType.FULL_TIME)
+                            .build());
+                    dashboardCounters.jobChanged(null, null, created.getEmployer(), created.getStatus());
+                    return created;
+                });
     }
 
     private boolean isTalentPoolJob(Job job) {
@@ -101,6 +108,7 @@ public class JobService {
                 .employmentType(request.getEmploymentType())
                 .build();
         Job saved = jobRepository.save(job);
+        dashboardCounters.jobChanged(null, null, saved.getEmployer(), saved.getStatus());
         log.info("Job created: id={}, title={}", saved.getId(), saved.getTitle());
         recordActivity(ActivityType.JOB_CREATED, saved,
                 "Created job: " + saved.getTitle() + " @ " + saved.getEmployer(),
@@ -112,6 +120,7 @@ public class JobService {
     public JobResponse updateJob(Long id, JobRequest request) {
         Job job = findJobOrThrow(id);
         JobStatus previousStatus = job.getStatus();
+        String previousEmployer = job.getEmployer();
         job.setEmployer(request.getEmployer());
         job.setTitle(request.getTitle());
         job.setDepartment(request.getDepartment());
@@ -124,6 +133,7 @@ public class JobService {
         job.setStatus(request.getStatus());
         job.setEmploymentType(request.getEmploymentType());
         Job saved = jobRepository.save(job);
+        dashboardCounters.jobChanged(previousEmployer, previousStatus, saved.getEmployer(), saved.getStatus());
         log.info("Job updated: id={}", id);
         recordActivity(ActivityType.JOB_UPDATED, saved,
                 previousStatus != saved.getStatus()
@@ -142,6 +152,11 @@ public class JobService {
                 "Deleted job: " + job.getTitle() + " @ " + job.getEmployer(),
                 Map.of("jobId", String.valueOf(job.getId())));
         jobRepository.delete(job);
+        // Deleting a job cascades to its candidates.
+        candidateFeatureIndex.invalidate(job.getCandidates().stream().map(Candidate::getId).toList());
+        parsedResumeCache.forget(job.getCandidates().stream().map(Candidate::getResumeUrl).toList());
+        dashboardCounters.jobChanged(job.getEmployer(), job.getStatus(), null, null);
+        job.getCandidates().forEach(c -> dashboardCounters.candidateStageChanged(c.getStage(), null));
         log.info("Job deleted: id={}", id);
     }
 
@@ -151,76 +166,30 @@ public class JobService {
         }
     }
 
-    private static final int MAX_DAYS = 730;
-    private static final double MAX_DISTANCE_MILES = 50.0;
-
     @Transactional(readOnly = true)
     public List<TopCandidateMatch> getTopCandidates(Long jobId) {
-        Job job = findJobOrThrow(jobId);
-        List<String> required = parseSkills(job.getRequiredSkills());
-        if (required.isEmpty()) return List.of();
-
-        record Scored(TopCandidateMatch match, double composite) {}
-
-        List<Candidate> all = candidateRepository.findAll();
-        return all.stream()
-                .map(c -> {
-                    List<String> cSkills = parseSkills(c.getSkills());
-                    List<String> matched = required.stream()
-                            .filter(s -> cSkills.stream().anyMatch(cs -> cs.equalsIgnoreCase(s)))
-                            .toList();
-                    int skillsPct = (int) Math.round((double) matched.size() / required.size() * 100);
-
-                    int days = c.getLastAssignmentDays() != null ? c.getLastAssignmentDays() : 0;
-                    double daysNorm = Math.min(days, MAX_DAYS) / (double) MAX_DAYS * 100.0;
-
-                    double distMiles = -1.0;
-                    double distNorm = 50.0;
-                    if (job.getLatitude() != null && job.getLongitude() != null
-                            && c.getLatitude() != null && c.getLongitude() != null) {
-                        distMiles = haversineDistanceMiles(
-                                job.getLatitude(), job.getLongitude(),
-                                c.getLatitude(), c.getLongitude());
-                        distNorm = Math.max(0.0, 100.0 - (distMiles / MAX_DISTANCE_MILES) * 100.0);
-                    }
-
-                    double composite = 0.5 * skillsPct + 0.25 * daysNorm + 0.25 * distNorm;
-                    TopCandidateMatch match = new TopCandidateMatch(
-                            c.getId(),
-                            c.getFirstName(),
-                            c.getLastName(),
-                            c.getEmail(),
-                            skillsPct,
-                            days,
-                            distMiles,
-                            matched,
-                            cSkills
-                    );
-                    return new Scored(match, composite);
-                })
-                .filter(s -> s.match().skillsMatchPercent() > 0)
-                .sorted(Comparator.comparingDouble(Scored::composite).reversed())
-                .limit(5)
-                .map(Scored::match)
-                .toList();
-    }
-
-    private double haversineDistanceMiles(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 3958.8;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return candidateMatchingService.topCandidates(findJobOrThrow(jobId));
     }
 
-    private List<String> parseSkills(String skills) {
-        if (skills == null || skills.isBlank()) return List.of();
-        return Arrays.stream(skills.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
+    /**
+     * Top {@code limit} matches for every OPEN job, scored together in one pass
+     * over the candidates instead of one {@link #getTopCandidates} scan per job.
+     */
+    @Transactional(readOnly = true)
+    public List<JobTopCandidates> getTopCandidatesForOpenJobs(int limit) {
+        if (limit < 1 || limit > MAX_TOP_CANDIDATES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_CANDIDATES);
+        }
+        List<Job> openJobs = jobRepository.findByStatusOrderByCreatedAtDesc(JobStatus.OPEN).stream()
+                .filter(j -> !isTalentPoolJob(j))
                 .toList();
+        List<List<TopCandidateMatch>> matches = candidateMatchingService.topCandidates(openJobs, limit);
+        List<JobTopCandidates> result = new ArrayList<>(openJobs.size());
+        for (int i = 0; i < openJobs.size(); i++) {
+            Job job = openJobs.get(i);
+            result.add(new JobTopCandidates(job.getId(), job.getTitle(), job.getEmployer(), matches.get(i)));
+        }
+        return result;
     }
 
     Job findJobOrThrow(Long id) {
@@ -0,0 +1,79 @@
+package com.clarksprojects.ats.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/** {@link BlobStore} keeping each blob as a file named by its key under {@code app.upload.resume-dir}. */
+@Component
+public class LocalDiskBlobStore implements BlobStore {
+
+    private static final Pattern SAFE_KEY = Pattern.compile("^[0-9a-zA-Z][0-9a-zA-Z.-]{0,99}$");
+
+    private final Path root;
+
+    public LocalDiskBlobStore(@Value("${app.upload.resume-dir}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean put(String key, Path source) throws IOException {
+        Path target = pathOf(key);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(source);
+            return false;
+        }
+        Files.createDirectories(root);
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Spooled on another file system; a concurrent writer of the same key writes the same bytes.
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Blob> find(String key) throws IOException {
+        Path file = pathOf(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return Optional.of(new Blob(key, attributes.size(), attributes.lastModifiedTime().toInstant(), file));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(pathOf(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    private Path pathOf(String key) {
+        if (!SAFE_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        // SAFE_KEY already rules out separators and traversal; assert containment anyway.
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,162 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.ParsedResume;
+import com.clarksprojects.ats.entity.ParsedResumeEntry;
+import com.clarksprojects.ats.repository.ParsedResumeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Parse results of resume files by content hash, so a file that was parsed
+ * before is a lookup rather than another run through PDFBox or POI. The
+ * most recently used {@code app.talent-pool.parse-cache-size} results are
+ * kept in memory in front of the {@code parsed_resume} table (V16).
+ *
+ * <p>Rows are written with {@link ResumeParserService#PARSER_VERSION}, and
+ * rows from any other version are treated as missing; bumping the version
+ * therefore invalidates every cached result, and the stale rows are purged
+ * periodically. The cache is best effort: a database error is logged and
+ * the file is parsed as if nothing was cached.
+ *
+ * <p>The rows hold the personal details of whoever the resume belongs to,
+ * so they don't outlive their use: deleting the last candidate created from
+ * a resume deletes its row ({@link #forget}), and rows older than
+ * {@code app.talent-pool.parse-cache-max-age} are purged with the stale
+ * ones. The purge can be turned off with
+ * {@code app.talent-pool.parse-cache-purge-enabled=false}, as the tests do.
+ *
+ * <p>Cached results carry no skills ({@code null}); see
+ * {@link ParsedResumeEntry}.
+ */
+@Component
+@Slf4j
+public class ParsedResumeCache {
+
+    private final ParsedResumeRepository parsedResumeRepository;
+    private final Duration maxAge;
+    private final boolean purgeEnabled;
+    /** Access-ordered, so the eldest entry is the least recently used; guarded by itself. */
+    private final Map<String, ParsedResume> recent;
+
+    @Autowired
+    public ParsedResumeCache(ParsedResumeRepository parsedResumeRepository,
+                             @Value("${app.talent-pool.parse-cache-size:256}") int maxEntries,
+                             @Value("${app.talent-pool.parse-cache-max-age:P30D}") Duration maxAge,
+                             @Value("${app.talent-pool.parse-cache-purge-enabled:true}") boolean purgeEnabled) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxEntries);
+        }
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException("Max age must not be negative: " + maxAge);
+        }
+        this.parsedResumeRepository = parsedResumeRepository;
+        this.maxAge = maxAge;
+        this.purgeEnabled = purgeEnabled;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedResume> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    ParsedResumeCache(ParsedResumeRepository parsedResumeRepository, int maxEntries, Duration maxAge) {
+        this(parsedResumeRepository, maxEntries, maxAge, true);
+    }
+
+    public Optional<ParsedResume> find(String contentHash) {
+        synchronized (recent) {
+            ParsedResume hit = recent.get(contentHash);
+            if (hit != null) {
+                return Optional.of(hit);
+            }
+        }
+        try {
+            Optional<ParsedResume> stored = parsedResumeRepository.findById(contentHash)
+                    .filter(entry -> entry.getParserVersion() == ResumeParserService.PARSER_VERSION)
+                    .map(ParsedResumeCache::toParsedResume);
+            stored.ifPresent(parsed -> remember(contentHash, parsed));
+            return stored;
+        } catch (DataAccessException e) {
+            log.warn("Could not read cached parse of {}", contentHash, e);
+            return Optional.empty();
+        }
+    }
+
+    /** Caches {@code parsed} (its skills are dropped), replacing any result of an older parser version. */
+    public void put(String contentHash, ParsedResume parsed) {
+        ParsedResumeEntry entry = ParsedResumeEntry.builder()
+                .contentHash(contentHash)
+                .parserVersion(ResumeParserService.PARSER_VERSION)
+                .firstName(parsed.firstName())
+                .lastName(parsed.lastName())
+                .email(parsed.email())
+                .phone(parsed.phone())
+                // Postgres text can't hold NUL, which PDF text extraction sometimes yields.
+                .rawText(parsed.rawText().replace("\u0000", ""))
+                .build();
+        remember(contentHash, toParsedResume(entry));
+        try {
+            parsedResumeRepository.save(entry);
+        } catch (DataAccessException e) {
+            log.warn("Could not cache parse of {}", contentHash, e);
+        }
+    }
+
+    /**
+     * Deletes the cached parses of {@code resumeUrls} that no candidate
+     * refers to any more. Called after deleting candidates, in the same
+     * transaction; a deleted candidate's details are then gone from here too.
+     */
+    public void forget(Collection<String> resumeUrls) {
+        List<String> hashes = resumeUrls.stream()
+                .filter(url -> url != null && url.startsWith(ResumeStorage.URL_PREFIX))
+                .map(url -> ResumeStorage.contentHashOf(url.substring(ResumeStorage.URL_PREFIX.length())))
+                .flatMap(Optional::stream)
+                .distinct()
+                .toList();
+        if (hashes.isEmpty()) return;
+        synchronized (recent) {
+            hashes.forEach(recent::remove);
+        }
+        parsedResumeRepository.deleteUnreferenced(hashes, ResumeStorage.URL_PREFIX);
+    }
+
+    @Scheduled(initialDelayString = "PT3M", fixedDelayString = "${app.talent-pool.parse-cache-purge-interval:PT24H}")
+    @Transactional
+    public void purgeStale() {
+        if (!purgeEnabled) return;
+        int purged = parsedResumeRepository.deleteOtherVersions(ResumeParserService.PARSER_VERSION);
+        if (purged > 0) {
+            log.info("Purged {} cached resume parses from older parser versions", purged);
+        }
+        int expired = parsedResumeRepository.deleteParsedBefore(LocalDateTime.now().minus(maxAge));
+        if (expired > 0) {
+            log.info("Purged {} cached resume parses older than {}", expired, maxAge);
+        }
+    }
+
+    private void remember(String contentHash, ParsedResume parsed) {
+        synchronized (recent) {
+            recent.put(contentHash, parsed);
+        }
+    }
+
+    private static ParsedResume toParsedResume(ParsedResumeEntry entry) {
+        return new ParsedResume(entry.getFirstName(), entry.getLastName(), entry.getEmail(), entry.getPhone(),
+                null, entry.getRawText());
+    }
+}
@@ -0,0 +1,462 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.BulkUploadStatus;
+import com.clarksprojects.ats.dto.BulkUploadStatus.FileResult;
+import com.clarksprojects.ats.dto.BulkUploadStatus.FileState;
+import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.ParsedResume;
+import com.clarksprojects.ats.dto.StoredResume;
+import com.clarksprojects.ats.exception.ResourceNotFoundException;
+import com.clarksprojects.ats.exception.UnsupportedFileTypeException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Bulk resume upload into the Talent Pool. {@link #start} spools many
+ * files to temporary files (expanding ZIP archives) and returns at once; a background
+ * virtual thread then works through them {@value #BATCH_SIZE} at a time:
+ * the batch is parsed and stored in parallel, at most
+ * {@code app.talent-pool.bulk-parallelism} parses at once (parsing PDFs and
+ * DOCX files is CPU-bound), and its candidates are created in one
+ * transaction via {@link CandidateService#createFromParsedResumes}. A file
+ * whose content was uploaded before, earlier in the same upload or
+ * otherwise, is recognised by its hash and skipped without being parsed.
+ *
+ * <p>Progress is polled with {@link #status}. It is kept in memory on the
+ * instance that took the upload, for {@code app.talent-pool.bulk-retention}
+ * after the upload finishes. Both the worker and the progress need that
+ * instance to outlive the request, so where it doesn't (Lambda) set
+ * {@code app.talent-pool.bulk-enabled=false}, which turns bulk upload off.
+ */
+@Service
+@Slf4j
+public class ResumeIngestionService {
+
+    static final int MAX_FILES = 500;
+    static final int BATCH_SIZE = 25;
+    /** Resumes wait in temporary files until their batch comes up; an expanded upload may not exceed this. */
+    static final long MAX_TOTAL_BYTES = 256L * 1024 * 1024;
+
+    private final ResumeParserService resumeParserService;
+    private final ResumeStorage resumeStorage;
+    private final CandidateService candidateService;
+    private final Executor executor;
+    private final Semaphore parsing;
+    private final Duration retention;
+    private final Map<String, BulkUpload> uploads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResumeIngestionService(ResumeParserService resumeParserService,
+                                  ResumeStorage resumeStorage,
+                                  CandidateService candidateService,
+                                  @Value("${app.talent-pool.bulk-enabled:true}") boolean enabled,
+                                  @Value("${app.talent-pool.bulk-parallelism:0}") int parallelism,
+                                  @Value("${app.talent-pool.bulk-retention:PT1H}") Duration retention) {
+        this(resumeParserService, resumeStorage, candidateService,
+                enabled ? Executors.newVirtualThreadPerTaskExecutor() : null,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), retention);
+    }
+
+    /**
+     * For tests: a direct executor makes {@link #start} run the whole upload
+     * before returning; a null one means bulk upload is disabled.
+     */
+    ResumeIngestionService(ResumeParserService resumeParserService,
+                           ResumeStorage resumeStorage,
+                           CandidateService candidateService,
+                           Executor executor,
+                           int parallelism,
+                           Duration retention) {
+        this.resumeParserService = resumeParserService;
+        this.resumeStorage = resumeStorage;
+        this.candidateService = candidateService;
+        this.executor = executor;
+        this.parsing = new Semaphore(parallelism);
+        this.retention = retention;
+    }
+
+    /**
+     * Queues {@code files} for ingestion and returns the new upload's
+     * status, every file still pending. Activities are recorded as the
+     * calling user. Not found when bulk upload is disabled.
+     */
+    public BulkUploadStatus start(List<MultipartFile> files) throws IOException {
+        if (executor == null) {
+            throw new ResourceNotFoundException("Bulk upload is disabled");
+        }
+        List<Upload> resumes = expand(spool(files));
+        if (resumes.isEmpty()) {
+            throw new IllegalArgumentException("No resumes to upload");
+        }
+        evictFinished();
+
+        BulkUpload upload = new BulkUpload(UUID.randomUUID().toString(), resumes);
+        uploads.put(upload.id, upload);
+        log.info("Bulk upload started: id={}, files={}", upload.id, resumes.size());
+        executor.execute(DelegatingSecurityContextRunnable.create(
+                () -> run(upload, new ArrayList<>(resumes)), SecurityContextHolder.getContext()));
+        return upload.status();
+    }
+
+    public BulkUploadStatus status(String id) {
+        evictFinished();
+        BulkUpload upload = uploads.get(id);
+        if (upload == null) {
+            throw new ResourceNotFoundException("Bulk upload not found with id: " + id);
+        }
+        return upload.status();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void run(BulkUpload upload, List<Upload> resumes) {
+        try {
+            for (int from = 0; from < resumes.size(); from += BATCH_SIZE) {
+                int to = Math.min(resumes.size(), from + BATCH_SIZE);
+                List<CompletableFuture<StoredResume>> stored = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    int index = i;
+                    Upload resume = resumes.set(i, null);
+                    stored.add(CompletableFuture.supplyAsync(() -> parseAndStore(upload, index, resume), executor));
+                }
+                List<Integer> indexes = new ArrayList<>(stored.size());
+                List<StoredResume> batch = new ArrayList<>(stored.size());
+                for (int i = 0; i < stored.size(); i++) {
+                    StoredResume resume = stored.get(i).join();
+                    if (resume != null) {
+                        indexes.add(from + i);
+                        batch.add(resume);
+                    }
+                }
+                create(upload, indexes, batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Bulk upload aborted: id={}", upload.id, e);
+            upload.failPending("Upload aborted");
+            deleteAll(resumes);
+        } finally {
+            upload.finish();
+            log.info("Bulk upload finished: id={}, created={}, duplicates={}, failed={}", upload.id,
+                    upload.count(FileState.CREATED), upload.count(FileState.DUPLICATE), upload.count(FileState.FAILED));
+        }
+    }
+
+    /**
+     * Null when the file could not be used or is a duplicate, which is
+     * recorded on the upload. The spooled file is moved into storage or
+     * deleted either way.
+     */
+    private StoredResume parseAndStore(BulkUpload upload, int index, Upload resume) {
+        try {
+            if (!ResumeStorage.hasAllowedExtension(resume.name())) {
+                upload.failed(index, "Unsupported file extension");
+                return null;
+            }
+            if (Files.size(resume.file()) > ResumeStorage.MAX_FILE_BYTES) {
+                upload.failed(index, "File is larger than " + ResumeStorage.MAX_FILE_BYTES / (1024 * 1024) + " MB");
+                return null;
+            }
+            String filename = resumeStorage.filenameFor(resume.name(), resume.file());
+            String resumeUrl = ResumeStorage.URL_PREFIX + filename;
+            String sameAs = upload.claim(filename, resume.name());
+            if (sameAs != null) {
+                upload.duplicate(index, null, "Same file as " + sameAs);
+                return null;
+            }
+            Optional<CandidateResponse> existing = candidateService.findByResumeUrl(resumeUrl);
+            if (existing.isPresent()) {
+                upload.duplicate(index, existing.get().getId(), null);
+                return null;
+            }
+            ParsedResume parsed = parse(resume.file());
+            boolean stored = resumeStorage.store(filename, resume.file());
+            return new StoredResume(parsed, resumeUrl, stored);
+        } catch (UnsupportedFileTypeException e) {
+            upload.failed(index, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Bulk upload {}: could not read {}", upload.id, resume.name(), e);
+            upload.failed(index, "Could not read file");
+        } finally {
+            delete(resume.file());
+        }
+        return null;
+    }
+
+    private ParsedResume parse(Path file) throws IOException {
+        parsing.acquireUninterruptibly();
+        try {
+            return resumeParserService.parse(file);
+        } finally {
+            parsing.release();
+        }
+    }
+
+    /**
+     * Creates a batch's candidates in one transaction; if that fails they
+     * are retried one at a time, so one bad resume doesn't fail the rest.
+     */
+    private void create(BulkUpload upload, List<Integer> indexes, List<StoredResume> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<CandidateResponse> created = candidateService.createFromParsedResumes(batch);
+            for (int i = 0; i < created.size(); i++) {
+                upload.created(indexes.get(i), created.get(i).getId());
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Bulk upload {}: batch of {} failed, creating candidates one by one", upload.id, batch.size(), e);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            StoredResume resume = batch.get(i);
+            try {
+                upload.created(indexes.get(i), candidateService.createFromParsedResumes(List.of(resume)).get(0).getId());
+            } catch (RuntimeException e) {
+                log.warn("Bulk upload {}: could not create candidate from {}", upload.id, resume.resumeUrl(), e);
+                upload.failed(indexes.get(i), "Could not create candidate");
+                discard(resume);
+            }
+        }
+    }
+
+    /** Deletes the file of a resume no candidate was created from, unless it was stored before this upload. */
+    private void discard(StoredResume resume) {
+        if (!resume.newlyStored()) {
+            return;
+        }
+        try {
+            resumeStorage.delete(resume.resumeUrl().substring(ResumeStorage.URL_PREFIX.length()));
+        } catch (IOException e) {
+            log.warn("Could not delete orphaned resume {}", resume.resumeUrl(), e);
+        }
+    }
+
+    private void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        uploads.values().removeIf(upload -> upload.finishedBefore(cutoff));
+    }
+
+    /** Writes each part to a temporary file, which the upload then owns. */
+    private static List<Upload> spool(List<MultipartFile> files) throws IOException {
+        List<Upload> spooled = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                Path target = Files.createTempFile("resume-", ".upload");
+                spooled.add(new Upload(file.getOriginalFilename(), target));
+                file.transferTo(target);
+            }
+            return spooled;
+        } catch (IOException | RuntimeException e) {
+            deleteAll(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces ZIP archives by their entries, enforcing {@link #MAX_FILES}
+     * and {@link #MAX_TOTAL_BYTES}. Every file is deleted if that fails.
+     */
+    private static List<Upload> expand(List<Upload> files) throws IOException {
+        List<Upload> resumes = new ArrayList<>(files.size());
+        try {
+            long totalBytes = 0;
+            for (Upload file : files) {
+                if (isZip(file.name())) {
+                    totalBytes = extract(file, resumes, totalBytes);
+                    delete(file.file());
+                } else {
+                    resumes.add(file);
+                    totalBytes = checkLimits(resumes.size(), totalBytes + Files.size(file.file()));
+                }
+            }
+            return resumes;
+        } catch (IOException | RuntimeException e) {
+            deleteAll(files);
+            deleteAll(resumes);
+            throw e;
+        }
+    }
+
+    private static long checkLimits(int fileCount, long totalBytes) {
+        if (fileCount > MAX_FILES) {
+            throw new IllegalArgumentException("At most " + MAX_FILES + " resumes per upload");
+        }
+        if (totalBytes > MAX_TOTAL_BYTES) {
+            throw new IllegalArgumentException("Upload is larger than " + MAX_TOTAL_BYTES / (1024 * 1024) + " MB");
+        }
+        return totalBytes;
+    }
+
+    private static boolean isZip(String name) {
+        return name != null && name.toLowerCase(Locale.ROOT).endsWith(".zip");
+    }
+
+    /** Spools an archive's entries to temporary files, appending them to {@code resumes}. */
+    private static long extract(Upload archive, List<Upload> resumes, long totalBytes) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archive.file())))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                if (entry.isDirectory() || name.isEmpty() || name.startsWith(".")
+                        || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                checkLimits(resumes.size() + 1, totalBytes);
+                Path target = Files.createTempFile("resume-", ".upload");
+                resumes.add(new Upload(name, target));
+                // Entry sizes in the archive can't be trusted; copy at most one byte past the limit.
+                totalBytes = checkLimits(resumes.size(), totalBytes + copy(zip, target, ResumeStorage.MAX_FILE_BYTES + 1L));
+            }
+        }
+        return totalBytes;
+    }
+
+    private static long copy(InputStream in, Path target, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            for (int n; copied < limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - copied))) > 0; ) {
+                out.write(buffer, 0, n);
+                copied += n;
+            }
+        }
+        return copied;
+    }
+
+    private static void deleteAll(List<Upload> files) {
+        for (Upload file : files) {
+            if (file != null) {
+                delete(file.file());
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}", file, e);
+        }
+    }
+
+    /** One uploaded resume: its original name and the temporary file holding it. */
+    private record Upload(String name, Path file) {
+    }
+
+    /** Mutable progress of one upload; updated from the parse threads, read by pollers. */
+    private static final class BulkUpload {
+
+        private final String id;
+        private final Instant startedAt = Instant.now();
+        private final String[] names;
+        private final FileState[] states;
+        private final Long[] candidateIds;
+        private final String[] errors;
+        /** Stored filename (content hash) to the name of the first file in this upload with that content. */
+        private final Map<String, String> claimed = new ConcurrentHashMap<>();
+        private Instant finishedAt;
+
+        BulkUpload(String id, List<Upload> resumes) {
+            this.id = id;
+            this.names = resumes.stream().map(Upload::name).toArray(String[]::new);
+            this.states = new FileState[names.length];
+            this.candidateIds = new Long[names.length];
+            this.errors = new String[names.length];
+            Arrays.fill(states, FileState.PENDING);
+        }
+
+        synchronized void created(int index, Long candidateId) {
+            states[index] = FileState.CREATED;
+            candidateIds[index] = candidateId;
+        }
+
+        /** Null if {@code name} is the first file with this content; otherwise the name of that file. */
+        String claim(String filename, String name) {
+            return claimed.putIfAbsent(filename, name);
+        }
+
+        synchronized void duplicate(int index, Long candidateId, String error) {
+            states[index] = FileState.DUPLICATE;
+            candidateIds[index] = candidateId;
+            errors[index] = error;
+        }
+
+        synchronized void failed(int index, String error) {
+            states[index] = FileState.FAILED;
+            errors[index] = error;
+        }
+
+        synchronized void failPending(String error) {
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] == FileState.PENDING) {
+                    failed(i, error);
+                }
+            }
+        }
+
+        synchronized void finish() {
+            finishedAt = Instant.now();
+        }
+
+        synchronized boolean finishedBefore(Instant cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized int count(FileState state) {
+            int count = 0;
+            for (FileState s : states) {
+                if (s == state) count++;
+            }
+            return count;
+        }
+
+        synchronized BulkUploadStatus status() {
+            List<FileResult> files = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                files.add(new FileResult(names[i], states[i], candidateIds[i], errors[i]));
+            }
+            int created = count(FileState.CREATED);
+            int failed = count(FileState.FAILED);
+            int duplicates = count(FileState.DUPLICATE);
+            return new BulkUploadStatus(id,
+                    finishedAt == null ? BulkUploadStatus.State.RUNNING : BulkUploadStatus.State.COMPLETED,
+                    startedAt, finishedAt, names.length, created + failed + duplicates, created, failed, duplicates,
+                    files);
+        }
+    }
+}
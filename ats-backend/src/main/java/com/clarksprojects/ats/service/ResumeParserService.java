@@ -2,33 +2,53 @@ package com.clarksprojects.ats.service;
 
 import com.clarksprojects.ats.dto.ParsedResume;
 import com.clarksprojects.ats.exception.UnsupportedFileTypeException;
+import lombok.RequiredArgsConstructor;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.tika.Tika;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
+@RequiredArgsConstructor
 public class ResumeParserService {
 
     private static final Tika TIKA = new Tika();
 
-    private static final Set<String> ALLOWED_MIME_TYPES = Set.of(
-            "application/pdf",
-            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
-            "text/plain"
-    );
+    /**
+     * Version of the text and field extraction below. Bump it whenever a
+     * change would parse a file differently, so results cached by
+     * {@link ParsedResumeCache} under the old version are not reused.
+     */
+    static final int PARSER_VERSION = 1;
+
+    private static final String PDF = "application/pdf";
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private final SkillExtractor skillExtractor;
+    private final ParsedResumeCache parsedResumeCache;
+
+    private static final Set<String> ALLOWED_MIME_TYPES = Set.of(PDF, DOCX, "text/plain");
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "[a-zA-Z0-9_%+\\-]++(?:\\.[a-zA-Z0-9_%+\\-]++)*+@(?:[a-zA-Z0-9\\-]++\\.)++[a-zA-Z]{2,6}"
@@ -38,7 +58,12 @@ public class ResumeParserService {
             "(?:\\+?1[.\\-\\s]?)?\\(?\\d{3}\\)?[.\\-\\s]?\\d{3}[.\\-\\s]?\\d{4}"
     );
 
-    private static final List<String> TECH_SKILLS = List.of(
+    /**
+     * Built-in skills recognised in resumes, extended by the dictionary in
+     * {@link SkillExtractor}. Also seeds {@link SkillDictionary}, so common
+     * skills get the low (dense) bit ids.
+     */
+    static final List<String> TECH_SKILLS = List.of(
             "Agile", "Ansible", "Angular", "AWS", "Azure", "Bash", "Bootstrap",
             "C++", "C#", "CI/CD", "CSS", "Cypress",
             "Deep Learning", "Django", "Docker",
@@ -60,43 +85,87 @@ public class ResumeParserService {
             "GitHub Actions", "REST API", "gRPC", "PyTorch"
     );
 
+    /** Spools the upload to a temporary file and parses that; see {@link #parse(Path)}. */
     public ParsedResume parse(MultipartFile file) throws IOException {
-        byte[] bytes = file.getBytes();
-        String detectedMime = TIKA.detect(bytes);
+        Path spooled = Files.createTempFile("resume-", ".upload");
+        try {
+            file.transferTo(spooled);
+            return parse(spooled);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Parses a resume file. The type is detected from its leading bytes, not
+     * its name, and PDF and DOCX files are read through random access rather
+     * than loaded whole, so memory use doesn't grow with the file size. Their
+     * results are cached by content hash; a file parsed before only has its
+     * skills extracted again, against the current skill dictionary.
+     */
+    public ParsedResume parse(Path file) throws IOException {
+        String contentHash = ResumeStorage.sha256(file);
+        Optional<ParsedResume> cached = parsedResumeCache.find(contentHash);
+        if (cached.isPresent()) {
+            ParsedResume hit = cached.get();
+            return new ParsedResume(hit.firstName(), hit.lastName(), hit.email(), hit.phone(),
+                    extractSkills(hit.rawText()), hit.rawText());
+        }
+
+        String detectedMime;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            detectedMime = TIKA.detect(in);
+        }
 
         if (!ALLOWED_MIME_TYPES.contains(detectedMime)) {
             throw new UnsupportedFileTypeException(
                     "Unsupported file type. Please upload a PDF, DOCX, or plain text file.");
         }
 
-        String text = extractText(bytes, detectedMime);
+        String text = extractText(file, detectedMime);
         String email = extractFirst(EMAIL_PATTERN, text);
         String phone = extractFirst(PHONE_PATTERN, text);
         String[] nameParts = extractName(text, email);
         String skills = extractSkills(text);
 
-        return new ParsedResume(nameParts[0], nameParts[1], email, phone, skills, text);
+        ParsedResume parsed = new ParsedResume(nameParts[0], nameParts[1], email, phone, skills, text);
+        // Plain text is cheaper to parse again than to store.
+        if (!"text/plain".equals(detectedMime)) {
+            parsedResumeCache.put(contentHash, parsed);
+        }
+        return parsed;
     }
 
-    private String extractText(byte[] bytes, String mimeType) throws IOException {
+    private String extractText(Path file, String mimeType) throws IOException {
         return switch (mimeType) {
-            case "application/pdf" -> extractFromPdf(bytes);
-            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" ->
-                    extractFromDocx(bytes);
-            default -> new String(bytes);
+            case PDF -> extractFromPdf(file);
+            case DOCX -> extractFromDocx(file);
+            default -> new String(Files.readAllBytes(file), Charset.defaultCharset());
         };
     }
 
-    private String extractFromPdf(byte[] bytes) throws IOException {
-        try (PDDocument doc = Loader.loadPDF(bytes)) {
+    private String extractFromPdf(Path file) throws IOException {
+        // Object streams are cached in a scratch file rather than on the heap.
+        try (PDDocument doc = Loader.loadPDF(new RandomAccessReadBufferedFile(file.toFile()), null, null, null,
+                IOUtils.createTempFileOnlyStreamCache())) {
             return new PDFTextStripper().getText(doc);
         }
     }
 
-    private String extractFromDocx(byte[] bytes) throws IOException {
-        try (XWPFDocument doc = new XWPFDocument(new ByteArrayInputStream(bytes));
-             XWPFWordExtractor extractor = new XWPFWordExtractor(doc)) {
+    private String extractFromDocx(Path file) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException("Not a valid DOCX file", e);
+        }
+        // A read-only package is released with revert(); close() would try to save it.
+        try {
+            XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(pkg));
+            extractor.setCloseFilesystem(false);
             return extractor.getText();
+        } finally {
+            pkg.revert();
         }
     }
 
@@ -130,15 +199,7 @@ public class ResumeParserService {
     }
 
     private String extractSkills(String text) {
-        String lowerText = text.toLowerCase();
-        List<String> found = new ArrayList<>();
-        for (String skill : TECH_SKILLS) {
-            if (lowerText.contains(skill.toLowerCase())) {
-                found.add(skill);
-            }
-        }
-        found.sort(String::compareToIgnoreCase);
-        return String.join(", ", found);
+        return String.join(", ", skillExtractor.extract(text));
     }
 
     private String capitalize(String s) {
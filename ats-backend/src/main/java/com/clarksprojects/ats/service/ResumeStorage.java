@@ -0,0 +1,140 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.service.BlobStore.Blob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed resume files, served from
+ * {@code /api/talent-pool/resumes/{filename}}. A resume is stored once per
+ * distinct content, as the blob keyed by its SHA-256; its filename is that
+ * hash plus the original extension, so the same file uploaded again gets the
+ * same URL. Files stored before content addressing keep their random UUID
+ * names and are still served.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResumeStorage {
+
+    public static final String URL_PREFIX = "/api/talent-pool/resumes/";
+
+    /** Largest single resume accepted, matching the single-file upload limit. */
+    public static final int MAX_FILE_BYTES = 10 * 1024 * 1024;
+
+    private static final Pattern HASHED_FILENAME = Pattern.compile("^([0-9a-f]{64})\\.[a-zA-Z0-9]{1,10}$");
+
+    private static final Pattern LEGACY_FILENAME = Pattern.compile(
+            "^[0-9a-fA-F]{8}-([0-9a-fA-F]{4}-){3}[0-9a-fA-F]{12}\\.[a-zA-Z0-9]{1,10}$"
+    );
+
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(
+            ".pdf", ".doc", ".docx", ".txt", ".rtf"
+    );
+
+    private final BlobStore blobStore;
+
+    /** Whether a file with this original name may be stored at all. */
+    public static boolean hasAllowedExtension(String originalName) {
+        return ALLOWED_EXTENSIONS.contains(extensionOf(originalName));
+    }
+
+    /**
+     * The filename {@code file} is (or would be) stored under: its SHA-256
+     * plus the extension of {@code originalName}.
+     */
+    public String filenameFor(String originalName, Path file) throws IOException {
+        String extension = extensionOf(originalName);
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new IllegalArgumentException("Unsupported file extension: " + extension);
+        }
+        return sha256(file) + extension;
+    }
+
+    /**
+     * Moves {@code source} into storage under {@code filename} (from
+     * {@link #filenameFor}). Returns false, deleting {@code source}, when
+     * the same content was stored already.
+     */
+    public boolean store(String filename, Path source) throws IOException {
+        String hash = contentHashOf(filename).orElseThrow(
+                () -> new IllegalArgumentException("Not a content-addressed filename: " + filename));
+        return blobStore.put(hash, source);
+    }
+
+    /** Empty when {@code filename} is not a stored-resume name or no such file exists. */
+    public Optional<Blob> find(String filename) throws IOException {
+        Optional<String> key = keyOf(filename);
+        return key.isPresent() ? blobStore.find(key.get()) : Optional.empty();
+    }
+
+    public InputStream open(Blob blob) throws IOException {
+        return blobStore.open(blob.key());
+    }
+
+    /** Removes a stored file, e.g. after the candidate it belonged to could not be created. */
+    public void delete(String filename) throws IOException {
+        Optional<String> key = keyOf(filename);
+        if (key.isPresent()) {
+            blobStore.delete(key.get());
+        }
+    }
+
+    /**
+     * Whether {@code filename} is a name {@link #filenameFor} could have
+     * produced, or a legacy UUID name.
+     */
+    public static boolean isValidFilename(String filename) {
+        return keyOf(filename).isPresent();
+    }
+
+    /** Content hash of a stored filename, which is also a strong validator for it; empty for legacy names. */
+    public static Optional<String> contentHashOf(String filename) {
+        Matcher hashed = HASHED_FILENAME.matcher(filename);
+        return hashed.matches() ? Optional.of(hashed.group(1)) : Optional.empty();
+    }
+
+    private static Optional<String> keyOf(String filename) {
+        Optional<String> hash = contentHashOf(filename);
+        if (hash.isPresent()) return hash;
+        return LEGACY_FILENAME.matcher(filename).matches() ? Optional.of(filename) : Optional.empty();
+    }
+
+    static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extensionOf(String originalName) {
+        return (originalName != null && originalName.contains("."))
+                ? originalName.substring(originalName.lastIndexOf('.')).toLowerCase(Locale.ROOT)
+                : "";
+    }
+}
@@ -0,0 +1,89 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.util.Skills;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns normalised skill keys (see {@link Skills#key}) to small, stable
+ * integer ids so a skill set can be held as a {@code long[]} bitset and
+ * overlap becomes a popcount of AND-ed words.
+ *
+ * <p>Seeded from {@link ResumeParserService#TECH_SKILLS}; user-entered skills
+ * are interned the first time a candidate carrying them is indexed. Ids are
+ * never reused or removed for the lifetime of the process.
+ */
+@Component
+public class SkillDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    public SkillDictionary() {
+        for (String skill : ResumeParserService.TECH_SKILLS) {
+            intern(Skills.key(skill));
+        }
+    }
+
+    /** Id for {@code key}, assigning the next free one if it is new. */
+    public int intern(String key) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+        synchronized (ids) {
+            return ids.computeIfAbsent(key, k -> ids.size());
+        }
+    }
+
+    /** Id for {@code key}, or -1 if it has never been interned. Never grows the dictionary. */
+    public int idOf(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /** Bitset of {@code keys}, interning any that are new. */
+    public long[] internAll(Collection<String> keys) {
+        long[] bits = new long[0];
+        for (String key : keys) {
+            bits = set(bits, intern(key));
+        }
+        return bits;
+    }
+
+    /** Bitset of the already-known {@code keys}; unknown keys are skipped. */
+    public long[] lookupAll(Collection<String> keys) {
+        long[] bits = new long[0];
+        for (String key : keys) {
+            int id = idOf(key);
+            if (id >= 0) {
+                bits = set(bits, id);
+            }
+        }
+        return bits;
+    }
+
+    /** Number of skills present in both bitsets. Bitsets may differ in length. */
+    public static int overlap(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static long[] set(long[] bits, int id) {
+        int word = id >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        bits[word] |= 1L << id;
+        return bits;
+    }
+}
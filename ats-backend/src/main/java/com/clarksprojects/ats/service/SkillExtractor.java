@@ -0,0 +1,146 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.util.SkillMatcher;
+import com.clarksprojects.ats.util.SkillMatcher.Term;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts skills from resume text with a {@link SkillMatcher} compiled from
+ * {@link ResumeParserService#TECH_SKILLS} plus the dictionary at
+ * {@code app.skills.dictionary}. Each dictionary line names a skill,
+ * optionally followed by a colon and comma-separated aliases reported as
+ * that skill. A term in double quotes only matches with exactly that
+ * capitalisation; lines starting with {@code #} are comments:
+ *
+ * <pre>
+ * Kubernetes: k8s, kube
+ * "Go": Golang
+ * </pre>
+ *
+ * <p>The dictionary is re-read every {@code app.skills.reload-interval} when
+ * it has changed; a dictionary that fails to load leaves the previous
+ * matcher in place.
+ */
+@Component
+@Slf4j
+public class SkillExtractor {
+
+    private final Resource dictionary;
+    private volatile SkillMatcher matcher;
+    private volatile long loadedModified = Long.MIN_VALUE;
+
+    @Autowired
+    public SkillExtractor(@Value("${app.skills.dictionary:classpath:skills.txt}") Resource dictionary) {
+        this.dictionary = dictionary;
+        this.matcher = compile(List.of());
+        reloadIfChanged();
+    }
+
+    /** For tests: only the built-in skills, without a dictionary. */
+    SkillExtractor() {
+        this.dictionary = null;
+        this.matcher = compile(List.of());
+    }
+
+    /** Distinct skills mentioned in {@code text}, sorted case-insensitively. */
+    public List<String> extract(CharSequence text) {
+        return matcher.find(text);
+    }
+
+    /** Recompiles the matcher if the dictionary changed since it was last loaded. */
+    @Scheduled(initialDelayString = "${app.skills.reload-interval:PT1M}",
+            fixedDelayString = "${app.skills.reload-interval:PT1M}")
+    public void reloadIfChanged() {
+        if (dictionary == null) {
+            return;
+        }
+        try {
+            if (!dictionary.exists()) {
+                log.warn("Skill dictionary {} not found; using built-in skills only", dictionary);
+                return;
+            }
+            long modified = lastModified();
+            if (modified == loadedModified) {
+                return;
+            }
+            SkillMatcher reloaded = compile(read(dictionary));
+            matcher = reloaded;
+            loadedModified = modified;
+            log.info("Skill dictionary loaded: {} terms from {}", reloaded.termCount(), dictionary);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load skill dictionary {}; keeping the previous one", dictionary, e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return dictionary.lastModified();
+        } catch (IOException e) {
+            // Not backed by a file (e.g. inside a jar): it can't change while we run.
+            return 0;
+        }
+    }
+
+    private static SkillMatcher compile(List<Term> dictionaryTerms) {
+        List<Term> terms = new ArrayList<>();
+        for (String skill : ResumeParserService.TECH_SKILLS) {
+            terms.add(new Term(skill, skill, false));
+        }
+        terms.addAll(dictionaryTerms);
+        return SkillMatcher.compile(terms);
+    }
+
+    static List<Term> read(Resource dictionary) throws IOException {
+        List<Term> terms = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                String entry = line.strip();
+                if (entry.isEmpty() || entry.startsWith("#")) {
+                    continue;
+                }
+                int colon = entry.indexOf(':');
+                String skillTerm = (colon >= 0 ? entry.substring(0, colon) : entry).strip();
+                if (skillTerm.isEmpty()) {
+                    throw new IllegalArgumentException("Line " + number + ": missing skill name");
+                }
+                String skill = unquote(skillTerm);
+                terms.add(term(skillTerm, skill));
+                if (colon >= 0) {
+                    for (String alias : entry.substring(colon + 1).split(",")) {
+                        if (!alias.isBlank()) {
+                            terms.add(term(alias.strip(), skill));
+                        }
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static Term term(String text, String skill) {
+        boolean quoted = text.length() > 1 && text.startsWith("\"") && text.endsWith("\"");
+        return new Term(unquote(text), skill, quoted);
+    }
+
+    private static String unquote(String text) {
+        return text.length() > 1 && text.startsWith("\"") && text.endsWith("\"")
+                ? text.substring(1, text.length() - 1)
+                : text;
+    }
+}
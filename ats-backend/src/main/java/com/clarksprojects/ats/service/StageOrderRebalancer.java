@@ -0,0 +1,36 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.repository.CandidateOrderRepository;
+import com.clarksprojects.ats.repository.CandidateOrderRepository.Column;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Renumbers board columns whose {@code stage_order} gaps are running out
+ * (see {@link com.clarksprojects.ats.util.StageOrderKeys}), so a drag almost
+ * never has to renumber a column itself. Each column is renumbered in its
+ * own transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StageOrderRebalancer {
+
+    private final CandidateOrderRepository candidateOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "PT2M", fixedDelayString = "${app.board.rebalance-interval:PT1H}")
+    public void rebalance() {
+        List<Column> crowded = transactionTemplate.execute(status -> candidateOrderRepository.crowdedColumns());
+        for (Column column : crowded) {
+            int rows = transactionTemplate.execute(status ->
+                    candidateOrderRepository.rebalance(column.jobId(), column.stage()));
+            log.info("Board column renumbered: jobId={}, stage={}, candidates={}", column.jobId(), column.stage(), rows);
+        }
+    }
+}
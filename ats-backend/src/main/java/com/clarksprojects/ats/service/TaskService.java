@@ -27,6 +27,7 @@ public class TaskService {
     private final UserRepository userRepository;
     private final CurrentUserService currentUserService;
     private final ActivityService activityService;
+    private final DashboardCounters dashboardCounters;
 
     @Transactional(readOnly = true)
     public List<TaskResponse> listAll(TaskStatus status, Long assigneeId, Long candidateId) {
@@ -74,6 +75,7 @@ public class TaskService {
                 .dueAt(request.getDueAt())
                 .build();
         FollowUpTask saved = taskRepository.save(task);
+        dashboardCounters.taskStatusChanged(null, saved.getStatus());
 
         activityService.record(
                 ActivityType.TASK_CREATED,
@@ -102,6 +104,7 @@ public class TaskService {
     @Transactional
     public TaskResponse updateStatus(Long id, TaskStatus status) {
         FollowUpTask task = findOrThrow(id);
+        TaskStatus previous = task.getStatus();
         task.setStatus(status);
         if (status == TaskStatus.DONE || status == TaskStatus.CANCELLED) {
             task.setCompletedAt(LocalDateTime.now());
@@ -109,6 +112,7 @@ public class TaskService {
             task.setCompletedAt(null);
         }
         FollowUpTask saved = taskRepository.save(task);
+        dashboardCounters.taskStatusChanged(previous, saved.getStatus());
 
         ActivityType type = switch (status) {
             case DONE -> ActivityType.TASK_COMPLETED;
@@ -128,6 +132,7 @@ public class TaskService {
     public void delete(Long id) {
         FollowUpTask task = findOrThrow(id);
         taskRepository.delete(task);
+        dashboardCounters.taskStatusChanged(task.getStatus(), null);
     }
 
     private FollowUpTask findOrThrow(Long id) {
@@ -7,6 +7,7 @@ import com.clarksprojects.ats.entity.Role;
 import com.clarksprojects.ats.entity.User;
 import com.clarksprojects.ats.repository.RefreshTokenRepository;
 import com.clarksprojects.ats.repository.UserRepository;
+import com.clarksprojects.ats.security.UserPrincipalCache;
 import com.clarksprojects.ats.util.Entities;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public List<UserInfoResponse> listAll() {
@@ -63,13 +65,26 @@ public class UserService {
         return UserInfoResponse.from(userRepository.save(user));
     }
 
+    /**
+     * A change of role or a disable also bumps the user's token version, so
+     * access tokens issued before stop working at once instead of at
+     * expiry; disabling revokes their refresh tokens too.
+     */
     @Transactional
     public UserInfoResponse update(Long id, UpdateUserRequest request) {
         User user = findOrThrow(id);
+        boolean disabling = user.isEnabled() && !request.getEnabled();
+        if (disabling || user.getRole() != request.getRole()) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+        if (disabling) {
+            refreshTokenRepository.revokeAllForUser(user, LocalDateTime.now());
+        }
         user.setEmail(request.getEmail());
         user.setFullName(request.getFullName());
         user.setRole(request.getRole());
         user.setEnabled(request.getEnabled());
+        principalCache.evict(user.getUsername());
         log.info("User updated: id={}", id);
         return UserInfoResponse.from(userRepository.save(user));
     }
@@ -79,6 +94,7 @@ public class UserService {
         User user = findOrThrow(id);
         refreshTokenRepository.revokeAllForUser(user, LocalDateTime.now());
         userRepository.delete(user);
+        principalCache.evict(user.getUsername());
         log.info("User deleted: id={}", id);
     }
 
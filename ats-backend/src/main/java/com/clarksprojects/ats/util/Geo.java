@@ -0,0 +1,112 @@
+package com.clarksprojects.ats.util;
+
+/**
+ * Great-circle helpers for the candidate/job coordinates. Distances are in
+ * statute miles, matching what the UI shows.
+ *
+ * <p>Also defines the fixed {@value #CELL_DEGREES}-degree grid behind
+ * {@code candidate.geo_cell}: {@link #cellOf} must stay in step with the
+ * backfill expression in {@code V8__candidate_geo_cell.sql}.
+ */
+public final class Geo {
+
+    public static final double EARTH_RADIUS_MILES = 3958.8;
+
+    /** Grid cell edge; ~35 miles north–south, so a 50-mile radius touches a handful of cells. */
+    public static final double CELL_DEGREES = 0.5;
+    static final int LAT_CELLS = (int) (180 / CELL_DEGREES);
+    static final int LON_CELLS = (int) (360 / CELL_DEGREES);
+
+    /** Above this many cells a radius query is cheaper as a plain bounding-box scan. */
+    static final int MAX_QUERY_CELLS = 400;
+
+    private static final double MILES_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_MILES / 180.0;
+
+    private Geo() {
+        // utility class
+    }
+
+    public static double haversineMiles(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_MILES * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Smallest lat/lon rectangle containing every point within {@code radiusMiles}
+     * of the centre. It over-approximates the circle, so callers still apply
+     * {@link #haversineMiles} to the survivors. Near the poles, or when the box
+     * would cross the antimeridian, longitude is left unbounded.
+     */
+    public static BoundingBox boundingBox(double lat, double lon, double radiusMiles) {
+        double dLat = radiusMiles / MILES_PER_DEGREE_LAT;
+        double minLat = Math.max(-90.0, lat - dLat);
+        double maxLat = Math.min(90.0, lat + dLat);
+
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        if (cosLat <= 1e-9) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        double dLon = radiusMiles / (MILES_PER_DEGREE_LAT * cosLat);
+        double minLon = lon - dLon;
+        double maxLon = lon + dLon;
+        if (dLon >= 180.0 || minLon < -180.0 || maxLon > 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new BoundingBox(minLat, maxLat, minLon, maxLon);
+    }
+
+    /** Grid cell containing the point; row-major, latitude band × {@link #LON_CELLS} + longitude column. */
+    public static int cellOf(double lat, double lon) {
+        return latBand(lat) * LON_CELLS + lonColumn(lon);
+    }
+
+    /** {@link #cellOf}, or {@code null} when either coordinate is missing. */
+    public static Integer cellOf(Double lat, Double lon) {
+        return lat != null && lon != null ? cellOf(lat.doubleValue(), lon.doubleValue()) : null;
+    }
+
+    /**
+     * Every grid cell intersecting the circle's bounding box, wrapping across the
+     * antimeridian. Returns {@code null} when that would exceed
+     * {@link #MAX_QUERY_CELLS} (huge radius or polar centre); callers then fall
+     * back to the bounding box alone.
+     */
+    public static int[] cellsWithin(double lat, double lon, double radiusMiles) {
+        double dLat = radiusMiles / MILES_PER_DEGREE_LAT;
+        int minBand = latBand(Math.max(-90.0, lat - dLat));
+        int maxBand = latBand(Math.min(90.0, lat + dLat));
+        double cosLat = Math.cos(Math.toRadians(Math.min(90.0, Math.max(Math.abs(lat - dLat), Math.abs(lat + dLat)))));
+        if (cosLat <= 1e-9) return null;
+        double dLon = radiusMiles / (MILES_PER_DEGREE_LAT * cosLat);
+        int columns = dLon >= 180.0 ? LON_CELLS
+                : Math.min(LON_CELLS, (int) Math.floor((lon + dLon + 180.0) / CELL_DEGREES)
+                        - (int) Math.floor((lon - dLon + 180.0) / CELL_DEGREES) + 1);
+        long total = (long) (maxBand - minBand + 1) * columns;
+        if (total > MAX_QUERY_CELLS) return null;
+
+        int firstColumn = columns == LON_CELLS ? 0
+                : Math.floorMod((int) Math.floor((lon - dLon + 180.0) / CELL_DEGREES), LON_CELLS);
+        int[] cells = new int[(int) total];
+        int n = 0;
+        for (int band = minBand; band <= maxBand; band++) {
+            for (int c = 0; c < columns; c++) {
+                cells[n++] = band * LON_CELLS + (firstColumn + c) % LON_CELLS;
+            }
+        }
+        return cells;
+    }
+
+    private static int latBand(double lat) {
+        return Math.min(LAT_CELLS - 1, Math.max(0, (int) Math.floor((lat + 90.0) / CELL_DEGREES)));
+    }
+
+    private static int lonColumn(double lon) {
+        return Math.min(LON_CELLS - 1, Math.max(0, (int) Math.floor((lon + 180.0) / CELL_DEGREES)));
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {}
+}
@@ -0,0 +1,43 @@
+package com.clarksprojects.ats.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+/** Turns search snippets with plain-text match markers into safe HTML. */
+public final class Highlights {
+
+    private Highlights() {
+        // utility class
+    }
+
+    /**
+     * HTML-escapes {@code snippet} and replaces each {@code start} /
+     * {@code stop} marker with {@code <mark>} / {@code </mark>}. Markers
+     * are matched in pairs, so the result is always well-formed; a null
+     * snippet stays null.
+     */
+    public static String toHtml(String snippet, String start, String stop) {
+        if (snippet == null) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(snippet.length() + 32);
+        int from = 0;
+        while (true) {
+            int open = snippet.indexOf(start, from);
+            int close = open < 0 ? -1 : snippet.indexOf(stop, open + start.length());
+            if (close < 0) {
+                html.append(escape(snippet.substring(from)));
+                return html.toString();
+            }
+            html.append(escape(snippet.substring(from, open)))
+                    .append("<mark>")
+                    .append(escape(snippet.substring(open + start.length(), close)))
+                    .append("</mark>");
+            from = close + stop.length();
+        }
+    }
+
+    /** Escapes only what HTML requires; other characters (e.g. "…") pass through as UTF-8. */
+    private static String escape(String text) {
+        return HtmlUtils.htmlEscape(text, "UTF-8");
+    }
+}
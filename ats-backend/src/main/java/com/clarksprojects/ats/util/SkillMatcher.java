@@ -0,0 +1,219 @@
+package com.clarksprojects.ats.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every skill mentioned in a text in one pass, using an Aho-Corasick
+ * automaton over all skill terms (names and aliases). Matching is
+ * case-insensitive unless a term says otherwise, treats any run of
+ * whitespace as one space, and only accepts whole words: "Java" does not
+ * match inside "JavaScript", nor "Go" inside "Google". A term that starts or
+ * ends with a non-alphanumeric character (e.g. "C++", ".NET") is not
+ * boundary-checked on that side.
+ *
+ * <p>Instances are immutable and safe to share between threads; compile a
+ * new one to change the terms.
+ *
+ * <pre>{@code
+ * SkillMatcher matcher = SkillMatcher.compile(List.of(
+ *         new Term("Kubernetes", "Kubernetes", false),
+ *         new Term("k8s", "Kubernetes", false)));
+ * matcher.find("Ran k8s clusters");   // [Kubernetes]
+ * }</pre>
+ */
+public final class SkillMatcher {
+
+    /** Characters below this go through a dense transition table; the rest follow failure links. */
+    private static final int ASCII = 128;
+
+    private final String[] skills;
+    private final char[][] terms;
+    private final boolean[] caseSensitive;
+    private final int[] termSkill;
+    private final int[] ascii;
+    private final Map<Character, Integer>[] wide;
+    private final int[] fail;
+    private final int[][] outputs;
+    private final int maxTermLength;
+
+    /**
+     * A text to look for and the skill it reports. A case-sensitive term
+     * must appear exactly as written, whitespace aside.
+     */
+    public record Term(String text, String skill, boolean caseSensitive) {
+    }
+
+    /** Later terms with the same (normalised) text replace earlier ones. */
+    public static SkillMatcher compile(Collection<Term> terms) {
+        Map<String, Term> byText = new LinkedHashMap<>();
+        for (Term term : terms) {
+            String text = normalize(term.text());
+            if (!text.isEmpty()) {
+                byText.put(text.toLowerCase(), new Term(text, term.skill(), term.caseSensitive()));
+            }
+        }
+        return new SkillMatcher(List.copyOf(byText.values()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SkillMatcher(List<Term> terms) {
+        Map<String, Integer> skillIds = new LinkedHashMap<>();
+        this.terms = new char[terms.size()][];
+        this.caseSensitive = new boolean[terms.size()];
+        this.termSkill = new int[terms.size()];
+
+        List<Map<Character, Integer>> gotos = new ArrayList<>();
+        List<List<Integer>> own = new ArrayList<>();
+        gotos.add(new HashMap<>());
+        own.add(new ArrayList<>());
+        int longest = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            Term term = terms.get(t);
+            this.terms[t] = term.text().toCharArray();
+            this.caseSensitive[t] = term.caseSensitive();
+            this.termSkill[t] = skillIds.computeIfAbsent(term.skill(), s -> skillIds.size());
+            longest = Math.max(longest, this.terms[t].length);
+
+            int state = 0;
+            for (char c : this.terms[t]) {
+                char key = Character.toLowerCase(c);
+                Integer next = gotos.get(state).get(key);
+                if (next == null) {
+                    next = gotos.size();
+                    gotos.get(state).put(key, next);
+                    gotos.add(new HashMap<>());
+                    own.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            own.get(state).add(t);
+        }
+        this.skills = skillIds.keySet().toArray(String[]::new);
+        this.maxTermLength = Math.max(1, longest);
+
+        int states = gotos.size();
+        this.fail = new int[states];
+        this.outputs = new int[states][];
+        this.ascii = new int[states * ASCII];
+        this.wide = new Map[states];
+
+        // Breadth-first, so a state's failure target is always complete before the state itself.
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = new ArrayList<>(own.get(state));
+            if (state != 0) {
+                for (int t : outputs[fail[state]]) out.add(t);
+            }
+            outputs[state] = out.stream().mapToInt(Integer::intValue).toArray();
+
+            for (int c = 0; c < ASCII; c++) {
+                Integer next = gotos.get(state).get((char) c);
+                ascii[state * ASCII + c] = next != null ? next
+                        : state == 0 ? 0 : ascii[fail[state] * ASCII + c];
+            }
+            for (Map.Entry<Character, Integer> edge : gotos.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                fail[child] = state == 0 ? 0 : step(fail[state], c, gotos);
+                if (c >= ASCII) {
+                    if (wide[state] == null) wide[state] = new HashMap<>();
+                    wide[state].put(c, child);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /** Follows failure links from {@code state} until some state has an edge on {@code c}. */
+    private int step(int state, char c, List<Map<Character, Integer>> gotos) {
+        while (true) {
+            Integer next = gotos.get(state).get(c);
+            if (next != null) return next;
+            if (state == 0) return 0;
+            state = fail[state];
+        }
+    }
+
+    private int step(int state, char c) {
+        if (c < ASCII) return ascii[state * ASCII + c];
+        while (true) {
+            Integer next = wide[state] == null ? null : wide[state].get(c);
+            if (next != null) return next;
+            if (state == 0) return 0;
+            state = fail[state];
+        }
+    }
+
+    /** Distinct skills found in {@code text}, sorted case-insensitively. */
+    public List<String> find(CharSequence text) {
+        BitSet found = new BitSet(skills.length);
+        // Text index of each of the last maxTermLength characters fed to the automaton.
+        int[] fedAt = new int[maxTermLength];
+        long fed = 0;
+        boolean afterSpace = false;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (afterSpace) continue;
+                c = ' ';
+                afterSpace = true;
+            } else {
+                afterSpace = false;
+            }
+            fedAt[(int) (fed++ % maxTermLength)] = i;
+            state = step(state, Character.toLowerCase(c));
+            for (int t : outputs[state]) {
+                if (found.get(termSkill[t])) continue;
+                int start = fedAt[(int) ((fed - terms[t].length) % maxTermLength)];
+                if (isWholeWord(text, start, i, terms[t]) && (!caseSensitive[t] || sameCase(text, start, terms[t]))) {
+                    found.set(termSkill[t]);
+                }
+            }
+        }
+        List<String> result = new ArrayList<>(found.cardinality());
+        for (int s = found.nextSetBit(0); s >= 0; s = found.nextSetBit(s + 1)) {
+            result.add(skills[s]);
+        }
+        result.sort(String::compareToIgnoreCase);
+        return result;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end, char[] term) {
+        if (Character.isLetterOrDigit(term[0]) && start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return !Character.isLetterOrDigit(term[term.length - 1])
+                || end + 1 >= text.length() || !Character.isLetterOrDigit(text.charAt(end + 1));
+    }
+
+    private static boolean sameCase(CharSequence text, int start, char[] term) {
+        int i = start;
+        for (char c : term) {
+            if (c == ' ') {
+                while (Character.isWhitespace(text.charAt(i))) i++;
+            } else if (text.charAt(i++) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Trims and collapses whitespace runs to single spaces. */
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ");
+    }
+}
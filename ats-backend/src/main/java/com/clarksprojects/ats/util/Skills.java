@@ -0,0 +1,47 @@
+package com.clarksprojects.ats.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parsing helpers for the comma-separated skill lists stored on
+ * {@code Candidate.skills} and {@code Job.requiredSkills}. The normalised
+ * (trimmed, lower-cased) form is what the {@code candidate_skill} index holds,
+ * so writers and skill queries must both go through {@link #normalize}.
+ */
+public final class Skills {
+
+    /** Matches the width of {@code candidate_skill.skill}. */
+    public static final int MAX_SKILL_LENGTH = 100;
+
+    private Skills() {
+        // utility class
+    }
+
+    /** Splits on commas and trims, preserving the original casing and order. */
+    public static List<String> parse(String skills) {
+        if (skills == null || skills.isBlank()) return List.of();
+        return Arrays.stream(skills.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    /** Distinct, lower-cased skills in first-seen order — the index key form. */
+    public static Set<String> normalize(String skills) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String skill : parse(skills)) {
+            normalized.add(key(skill));
+        }
+        return normalized;
+    }
+
+    /** Index key for a single, already-trimmed skill. */
+    public static String key(String skill) {
+        String key = skill.toLowerCase(Locale.ROOT);
+        return key.length() > MAX_SKILL_LENGTH ? key.substring(0, MAX_SKILL_LENGTH) : key;
+    }
+}
@@ -0,0 +1,44 @@
+package com.clarksprojects.ats.util;
+
+/**
+ * Gap-based keys for a candidate's position in a board column
+ * ({@code candidate.stage_order}). Keys are spaced {@link #GAP} apart, so a
+ * card dropped between two others takes the midpoint and only its own row
+ * changes. Once a spot has been split down to adjacent keys the column has
+ * to be renumbered; {@code StageOrderRebalancer} does that in the background
+ * well before it happens.
+ *
+ * <pre>{@code
+ * Long key = StageOrderKeys.between(above, below);   // null: renumber first
+ * }</pre>
+ */
+public final class StageOrderKeys {
+
+    /** Spacing after a renumber: twenty inserts at the same spot before keys touch. */
+    public static final long GAP = 1L << 20;
+
+    /** Keys stay within ±2^53, so they survive a round trip through a JavaScript number. */
+    public static final long MAX_KEY = 1L << 53;
+
+    private StageOrderKeys() {
+        // utility class
+    }
+
+    /** Key of the card at {@code index} in a freshly renumbered column. */
+    public static long nth(int index) {
+        return (index + 1L) * GAP;
+    }
+
+    /**
+     * A key strictly between {@code before} and {@code after}, either of
+     * which is null at the top or bottom of the column. Null when no such key
+     * is left, i.e. the column needs renumbering.
+     */
+    public static Long between(Long before, Long after) {
+        if (before == null && after == null) return GAP;
+        if (before == null) return after - GAP >= -MAX_KEY ? after - GAP : null;
+        if (after == null) return before + GAP <= MAX_KEY ? before + GAP : null;
+        if (after - before < 2) return null;
+        return before + (after - before) / 2;
+    }
+}
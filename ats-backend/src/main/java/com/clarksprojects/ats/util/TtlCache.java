@@ -0,0 +1,93 @@
+package com.clarksprojects.ats.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process cache whose entries expire a fixed time after they were
+ * loaded. Loading is single-flight: concurrent misses on a key wait for the
+ * one caller that runs the loader instead of each running it. A failed load
+ * is not cached; its waiters see the same exception.
+ *
+ * <p>{@link #invalidateAll()} drops every entry, including loads still in
+ * flight, so the next read after it always loads afresh.
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TtlCache(Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    TtlCache(Duration ttl, LongSupplier nanoClock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative: " + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !isCurrent(entry)) {
+            Entry<V> loading = new Entry<>(generation.get());
+            entry = entries.compute(key, (k, existing) -> existing != null && isCurrent(existing) ? existing : loading);
+            if (entry == loading) {
+                load(key, loading, loader);
+            }
+        }
+        return await(entry);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private boolean isCurrent(Entry<V> entry) {
+        if (entry.generation != generation.get()) return false;
+        // An entry still loading has not started its TTL yet.
+        return !entry.value.isDone() || nanoClock.getAsLong() - entry.expiresAt < 0;
+    }
+
+    private void load(K key, Entry<V> entry, Function<? super K, ? extends V> loader) {
+        try {
+            V value = loader.apply(key);
+            entry.expiresAt = nanoClock.getAsLong() + ttlNanos;
+            entry.value.complete(value);
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.value.completeExceptionally(e);
+        }
+    }
+
+    private static <V> V await(Entry<V> entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        final long generation;
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        /** Written before {@code value} completes, so readers that see it done see this too. */
+        volatile long expiresAt;
+
+        Entry(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Rollup of the dashboard's counts, kept current by the services on every
+-- write (see com.clarksprojects.ats.service.DashboardCounters) so the
+-- dashboard reads one small table instead of counting the base tables.
+-- Names are "<dimension>:<value>"; the recount below must match
+-- DashboardCounterRepository's, which the scheduled reconciliation runs.
+
+CREATE TABLE IF NOT EXISTS dashboard_counter (
+    name  VARCHAR(300) PRIMARY KEY,
+    value BIGINT       NOT NULL
+);
+
+INSERT INTO dashboard_counter (name, value)
+SELECT 'candidates.stage:' || stage, COUNT(*) FROM candidate GROUP BY stage
+UNION ALL
+SELECT 'jobs.employer:' || employer, COUNT(*) FROM job GROUP BY employer
+UNION ALL
+SELECT 'jobs.status:' || status, COUNT(*) FROM job GROUP BY status
+UNION ALL
+SELECT 'tasks.status:' || status, COUNT(*) FROM task GROUP BY status
+ON CONFLICT (name) DO NOTHING;
+
+-- The remaining live dashboard query counts open tasks by due date.
+CREATE INDEX IF NOT EXISTS idx_task_status_due_at ON task (status, due_at);
@@ -0,0 +1,24 @@
+-- Activity metadata becomes structured JSON so it can be filtered in SQL.
+--
+-- The old TEXT column held "key=value;key=value". Each pair is split on its
+-- first '='; a repeated key keeps its last value. A subquery isn't allowed in
+-- ALTER COLUMN ... USING, so the data moves through a new column.
+
+ALTER TABLE activity ADD COLUMN metadata_json JSONB;
+
+UPDATE activity
+SET metadata_json = (
+    SELECT jsonb_object_agg(
+               CASE WHEN strpos(pair, '=') > 0 THEN left(pair, strpos(pair, '=') - 1) ELSE pair END,
+               CASE WHEN strpos(pair, '=') > 0 THEN substr(pair, strpos(pair, '=') + 1) ELSE '' END)
+    FROM unnest(string_to_array(metadata, ';')) AS pair
+    WHERE pair <> '')
+WHERE metadata IS NOT NULL AND metadata <> '';
+
+ALTER TABLE activity DROP COLUMN metadata;
+ALTER TABLE activity RENAME COLUMN metadata_json TO metadata;
+
+-- Containment (metadata @> '{"to":"HIRED"}') is the only operator the
+-- filter queries use, so the smaller jsonb_path_ops opclass is enough.
+CREATE INDEX idx_activity_metadata ON activity USING GIN (metadata jsonb_path_ops);
+CREATE INDEX idx_activity_type_created_at ON activity (type, created_at);
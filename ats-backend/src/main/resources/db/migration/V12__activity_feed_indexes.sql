@@ -0,0 +1,12 @@
+-- Activity timelines page newest-first by (created_at, id); each feed gets an
+-- index in that order so a page is one short index range scan at any depth.
+-- They supersede the single-column indexes from V3 (the candidate_id and
+-- job_id prefixes still serve the ON DELETE CASCADE lookups).
+
+DROP INDEX IF EXISTS idx_activity_candidate_id;
+DROP INDEX IF EXISTS idx_activity_job_id;
+DROP INDEX IF EXISTS idx_activity_created_at;
+
+CREATE INDEX idx_activity_candidate_created_at ON activity (candidate_id, created_at, id);
+CREATE INDEX idx_activity_job_created_at ON activity (job_id, created_at, id);
+CREATE INDEX idx_activity_created_at ON activity (created_at, id);
@@ -0,0 +1,59 @@
+-- Range-partition the append-only activity log by month of created_at, so
+-- recent reads and inserts touch one small partition and old months can be
+-- archived and dropped whole (see ActivityPartitionMaintenance).
+--
+-- Partitions are named activity_YYYY_MM. Rows outside every monthly range
+-- land in activity_default; the maintenance job moves them into a proper
+-- partition when it creates one. The primary key has to include the
+-- partition key; ids still come from the one sequence, so id stays unique.
+
+ALTER TABLE activity RENAME TO activity_legacy;
+ALTER INDEX activity_pkey RENAME TO activity_legacy_pkey;
+
+CREATE TABLE activity (
+    id           BIGINT       NOT NULL DEFAULT nextval('activity_id_seq'),
+    type         VARCHAR(64)  NOT NULL,
+    candidate_id BIGINT,
+    job_id       BIGINT,
+    actor_id     BIGINT,
+    summary      VARCHAR(500) NOT NULL,
+    metadata     JSONB,
+    created_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_activity_candidate FOREIGN KEY (candidate_id) REFERENCES candidate (id) ON DELETE CASCADE,
+    CONSTRAINT fk_activity_job       FOREIGN KEY (job_id)       REFERENCES job (id) ON DELETE CASCADE,
+    CONSTRAINT fk_activity_actor     FOREIGN KEY (actor_id)     REFERENCES app_user (id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE activity_id_seq OWNED BY activity.id;
+
+CREATE TABLE activity_default PARTITION OF activity DEFAULT;
+
+-- One partition per month from the oldest existing row through two months ahead.
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::date INTO month_start FROM activity_legacy;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF activity FOR VALUES FROM (%L) TO (%L)',
+                       'activity_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO activity (id, type, candidate_id, job_id, actor_id, summary, metadata, created_at)
+SELECT id, type, candidate_id, job_id, actor_id, summary, metadata, created_at FROM activity_legacy;
+
+DROP TABLE activity_legacy;
+
+-- Created on the parent, so every current and future partition gets them.
+CREATE INDEX idx_activity_candidate_created_at ON activity (candidate_id, created_at, id);
+CREATE INDEX idx_activity_job_created_at ON activity (job_id, created_at, id);
+CREATE INDEX idx_activity_created_at ON activity (created_at, id);
+CREATE INDEX idx_activity_type_created_at ON activity (type, created_at);
+CREATE INDEX idx_activity_actor_id ON activity (actor_id);
+CREATE INDEX idx_activity_metadata ON activity USING GIN (metadata jsonb_path_ops);
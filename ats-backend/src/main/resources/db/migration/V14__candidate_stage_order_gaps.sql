@@ -0,0 +1,25 @@
+-- Gap-based board order (StageOrderKeys): stage_order becomes a BIGINT key
+-- spaced 2^20 apart within each column (job, stage), so dropping a card
+-- between two others writes only that card's row. Existing columns are
+-- renumbered in their current order; missing keys go to the bottom.
+
+ALTER TABLE candidate ALTER COLUMN stage_order TYPE BIGINT;
+
+UPDATE candidate c
+SET stage_order = ranked.position * 1048576
+FROM (
+    SELECT id, ROW_NUMBER() OVER (
+               PARTITION BY job_id, stage ORDER BY stage_order NULLS LAST, id) AS position
+    FROM candidate
+) ranked
+WHERE c.id = ranked.id;
+
+ALTER TABLE candidate ALTER COLUMN stage_order SET NOT NULL;
+
+-- V9's index sorted missing keys last with COALESCE; there are none left, and
+-- CandidateSort.STAGE_ORDER now orders by the plain column.
+DROP INDEX IF EXISTS idx_candidate_job_stage_order;
+CREATE INDEX idx_candidate_job_stage_order ON candidate (job_id, stage_order, id);
+
+-- One column in board order, and the neighbour lookups of a move.
+CREATE INDEX idx_candidate_column_order ON candidate (job_id, stage, stage_order, id);
@@ -0,0 +1,5 @@
+-- Resumes are content-addressed (ResumeStorage): uploading a file that is
+-- already in the talent pool returns the candidate created from it, looked
+-- up by its resume_url.
+
+CREATE INDEX idx_candidate_resume_url ON candidate (resume_url) WHERE resume_url IS NOT NULL;
@@ -0,0 +1,15 @@
+-- Parse results of resume files, keyed by the SHA-256 of the file (see
+-- com.clarksprojects.ats.service.ParsedResumeCache), so a file that was
+-- parsed before is not run through PDFBox / POI again. Rows written by an
+-- older parser_version are ignored and eventually replaced or purged.
+
+CREATE TABLE IF NOT EXISTS parsed_resume (
+    content_hash   VARCHAR(64)  PRIMARY KEY,
+    parser_version INTEGER      NOT NULL,
+    first_name     VARCHAR(255),
+    last_name      VARCHAR(255),
+    email          VARCHAR(255),
+    phone          VARCHAR(255),
+    raw_text       TEXT         NOT NULL,
+    parsed_at      TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,36 @@
+-- Full-text search over resume text and notes, plus indexed name substring
+-- search (CandidateFullTextRepository). The tsvector columns are generated
+-- by Postgres from the text, so the application never writes them.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Resume text used to be thrown away after parsing; now it is kept per
+-- candidate (written by CandidateService when a candidate is created from a
+-- resume, capped at CandidateResume.MAX_TEXT_LENGTH characters).
+CREATE TABLE IF NOT EXISTS candidate_resume (
+    candidate_id  BIGINT PRIMARY KEY,
+    resume_text   TEXT   NOT NULL,
+    search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('english', resume_text)) STORED,
+    CONSTRAINT fk_candidate_resume_candidate FOREIGN KEY (candidate_id) REFERENCES candidate (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_candidate_resume_search ON candidate_resume USING GIN (search_vector);
+
+ALTER TABLE candidate_note
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('english', body)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_candidate_note_search ON candidate_note USING GIN (search_vector);
+
+-- Serves LOWER(first_name || ' ' || last_name) LIKE '%...%' in both the
+-- full-text and the /search name filter; the expression must match theirs.
+CREATE INDEX IF NOT EXISTS idx_candidate_full_name_trgm
+    ON candidate USING GIN (LOWER(first_name || ' ' || last_name) gin_trgm_ops);
+
+-- Backfill the text of resumes parsed since V16 from the parse cache; the
+-- stored filename is the content hash plus an extension.
+INSERT INTO candidate_resume (candidate_id, resume_text)
+SELECT c.id, LEFT(p.raw_text, 200000)
+FROM candidate c
+JOIN parsed_resume p ON p.content_hash = substring(c.resume_url FROM '/resumes/([0-9a-f]{64})\.')
+WHERE p.raw_text <> ''
+ON CONFLICT (candidate_id) DO NOTHING;
@@ -0,0 +1,20 @@
+-- Fuzzy name search and typeahead (CandidateSearchRepositoryImpl). The
+-- lower-cased full name becomes a generated column so every query filters
+-- and ranks on the same indexed value instead of repeating the expression.
+
+ALTER TABLE candidate
+    ADD COLUMN IF NOT EXISTS full_name_lower TEXT
+        GENERATED ALWAYS AS (LOWER(first_name || ' ' || last_name)) STORED;
+
+-- Superseded by the column index below.
+DROP INDEX IF EXISTS idx_candidate_full_name_trgm;
+
+-- Substring (LIKE '%...%') and similarity (%) filters.
+CREATE INDEX IF NOT EXISTS idx_candidate_full_name_lower_trgm
+    ON candidate USING GIN (full_name_lower gin_trgm_ops);
+
+-- Typeahead orders by word-similarity distance (<<->) and stops after the
+-- first few rows; only GiST can return rows in that order straight from
+-- the index, without ranking every match first.
+CREATE INDEX IF NOT EXISTS idx_candidate_full_name_lower_trgm_gist
+    ON candidate USING GIST (full_name_lower gist_trgm_ops);
@@ -0,0 +1,6 @@
+-- Access tokens carry the user's token version (JwtUtil). Bumping it when a
+-- user's role or access changes rejects every access token issued before,
+-- even where the authenticated user is cached (UserPrincipalCache).
+
+ALTER TABLE app_user
+    ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+-- Normalised skill index: one row per (candidate, lower-cased skill) so skill
+-- searches and top-candidate matching filter in SQL instead of re-splitting
+-- candidate.skills in Java. Kept in sync by the Candidate entity on every write
+-- (create, update and resume parse all go through Candidate#setSkills/@PrePersist).
+
+CREATE TABLE IF NOT EXISTS candidate_skill (
+    candidate_id BIGINT       NOT NULL,
+    skill        VARCHAR(100) NOT NULL,
+    PRIMARY KEY (candidate_id, skill),
+    CONSTRAINT fk_candidate_skill_candidate FOREIGN KEY (candidate_id) REFERENCES candidate (id) ON DELETE CASCADE
+);
+
+-- The PK serves "skills of candidate X"; this serves "candidates with skill X".
+CREATE INDEX IF NOT EXISTS idx_candidate_skill_skill ON candidate_skill (skill, candidate_id);
+
+-- Backfill from the existing comma-separated column. Same normalisation as
+-- com.clarksprojects.ats.util.Skills#normalize (trim, lower-case, max 100 chars).
+INSERT INTO candidate_skill (candidate_id, skill)
+SELECT DISTINCT c.id, LEFT(LOWER(TRIM(s.skill)), 100)
+FROM candidate c
+CROSS JOIN LATERAL unnest(string_to_array(c.skills, ',')) AS s(skill)
+WHERE c.skills IS NOT NULL
+  AND TRIM(s.skill) <> ''
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,3 @@
+-- Supports the bounding-box prefilter in top-candidate matching
+-- (CandidateRepository#findMatchRowsWithin).
+CREATE INDEX IF NOT EXISTS idx_candidate_lat_lon ON candidate (latitude, longitude);
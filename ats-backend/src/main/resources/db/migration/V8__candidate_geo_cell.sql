@@ -0,0 +1,17 @@
+-- Fixed 0.5-degree grid cell per candidate, so "within R miles" queries probe
+-- a handful of cells instead of computing a distance for every row.
+-- Cell = latitude band * 720 + longitude column; must match
+-- com.clarksprojects.ats.util.Geo#cellOf, which maintains it on write.
+
+ALTER TABLE candidate ADD COLUMN IF NOT EXISTS geo_cell INTEGER;
+
+UPDATE candidate
+SET geo_cell = LEAST(359, GREATEST(0, FLOOR((latitude + 90.0) / 0.5)::INTEGER)) * 720
+             + LEAST(719, GREATEST(0, FLOOR((longitude + 180.0) / 0.5)::INTEGER))
+WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_candidate_geo_cell ON candidate (geo_cell);
+
+-- Superseded by the cell index; V7's composite was only used by the removed
+-- SQL prefilter for top-candidate matching.
+DROP INDEX IF EXISTS idx_candidate_lat_lon;
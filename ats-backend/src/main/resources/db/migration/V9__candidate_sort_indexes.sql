@@ -0,0 +1,12 @@
+-- Keyset pagination for candidate search and the job board. Each index matches
+-- one CandidateSort ordering including its trailing id, so a page is a range
+-- scan starting at the cursor rather than a sort of every matching row.
+
+CREATE INDEX IF NOT EXISTS idx_candidate_name_sort
+    ON candidate (LOWER(last_name), LOWER(first_name), id);
+CREATE INDEX IF NOT EXISTS idx_candidate_applied_at ON candidate (applied_at, id);
+CREATE INDEX IF NOT EXISTS idx_candidate_updated_at ON candidate (updated_at, id);
+
+-- Board order within a job; must match CandidateSort.STAGE_ORDER's expression.
+CREATE INDEX IF NOT EXISTS idx_candidate_job_stage_order
+    ON candidate (job_id, COALESCE(stage_order, 2147483647), id);
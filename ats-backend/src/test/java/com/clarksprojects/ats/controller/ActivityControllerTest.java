@@ -1,20 +1,31 @@
 package com.clarksprojects.ats.controller;
 
 import com.clarksprojects.ats.config.SecurityConfig;
+import com.clarksprojects.ats.dto.ActivityPage;
 import com.clarksprojects.ats.dto.ActivityResponse;
 import com.clarksprojects.ats.entity.ActivityType;
 import com.clarksprojects.ats.service.ActivityService;
+import com.clarksprojects.ats.service.ActivityStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,18 +37,20 @@ class ActivityControllerTest {
 
     @Autowired MockMvc mockMvc;
     @MockitoBean ActivityService activityService;
+    @MockitoBean ActivityStream activityStream;
 
     private ActivityResponse stub() {
         return new ActivityResponse(1L, ActivityType.STAGE_CHANGED, 10L, "Alice", 1L, "Eng",
-                1L, "Rec", "Moved", "from=APPLIED;to=SCREENING", LocalDateTime.now());
+                1L, "Rec", "Moved", Map.of("from", "APPLIED", "to", "SCREENING"), LocalDateTime.now());
     }
 
     @Test
     void list_recent_default() throws Exception {
-        when(activityService.recent(20)).thenReturn(List.of(stub()));
+        when(activityService.page(null, null, null, null)).thenReturn(new ActivityPage(List.of(stub()), "next"));
         mockMvc.perform(get("/api/activities"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].type").value("STAGE_CHANGED"));
+                .andExpect(jsonPath("$[0].type").value("STAGE_CHANGED"))
+                .andExpect(header().string("X-Next-Cursor", "next"));
     }
 
     @Test
@@ -56,8 +69,65 @@ class ActivityControllerTest {
 
     @Test
     void list_customLimit() throws Exception {
-        when(activityService.recent(5)).thenReturn(List.of());
+        when(activityService.page(null, null, null, 5)).thenReturn(new ActivityPage(List.of(), null));
         mockMvc.perform(get("/api/activities").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void list_byCandidateWithCursor_returnsPage() throws Exception {
+        when(activityService.page(10L, null, "abc", null)).thenReturn(new ActivityPage(List.of(stub()), null));
+        mockMvc.perform(get("/api/activities").param("candidateId", "10").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void filter_parsesMetadataPairs() throws Exception {
+        when(activityService.filter(ActivityType.STAGE_CHANGED, Map.of("to", "HIRED"), 30, 50))
+                .thenReturn(List.of(stub()));
+
+        mockMvc.perform(get("/api/activities/filter")
+                        .param("type", "STAGE_CHANGED")
+                        .param("meta", "to:HIRED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].metadata.to").value("SCREENING"));
+    }
+
+    @Test
+    void filter_valueMayContainColons() throws Exception {
+        when(activityService.filter(eq(null), anyMap(), eq(7), eq(50))).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/activities/filter").param("meta", "url:https://x").param("days", "7"))
                 .andExpect(status().isOk());
+
+        verify(activityService).filter(null, Map.of("url", "https://x"), 7, 50);
+    }
+
+    @Test
+    void filter_malformedPair_returns400() throws Exception {
+        mockMvc.perform(get("/api/activities/filter").param("meta", "HIRED"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(activityService);
+    }
+
+    @Test
+    void stream_subscribesWithFilters() throws Exception {
+        when(activityStream.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(get("/api/activities/stream").param("jobId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(activityStream).subscribe(any(SseEmitter.class), eq(null), eq(1L));
+    }
+
+    @Test
+    void stream_disabled_returns404() throws Exception {
+        mockMvc.perform(get("/api/activities/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+
+        verify(activityStream, never()).subscribe(any(), any(), any());
     }
 }
@@ -1,8 +1,12 @@
 package com.clarksprojects.ats.controller;
 
 import com.clarksprojects.ats.config.SecurityConfig;
+import com.clarksprojects.ats.dto.BulkStageMoveRequest;
+import com.clarksprojects.ats.dto.CandidatePage;
 import com.clarksprojects.ats.dto.CandidateRequest;
 import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.CandidateSearchHit;
+import com.clarksprojects.ats.dto.CandidateSuggestion;
 import com.clarksprojects.ats.dto.StageMoveRequest;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.exception.ResourceNotFoundException;
@@ -15,10 +19,12 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -46,7 +52,7 @@ class CandidateControllerTest {
                 .lastName("Lastname")
                 .email(firstName.toLowerCase() + "@example.com")
                 .stage(stage)
-                .stageOrder(0)
+                .stageOrder(0L)
                 .jobId(1L)
                 .jobTitle("Software Engineer")
                 .appliedAt(LocalDateTime.now())
@@ -83,6 +89,104 @@ class CandidateControllerTest {
         verify(candidateService, never()).getCandidatesByJob(any());
     }
 
+    @Test
+    void getCandidates_withLimit_returnsPageAndNextCursorHeader() throws Exception {
+        when(candidateService.getCandidatesByJob(1L, null, null, 1)).thenReturn(new CandidatePage(
+                List.of(buildResponse(10L, "Alice", PipelineStage.APPLIED)), "abc"));
+
+        mockMvc.perform(get("/api/candidates").param("jobId", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "abc"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(candidateService, never()).getCandidatesByJob(any());
+    }
+
+    @Test
+    void searchCandidates_lastPage_omitsNextCursorHeader() throws Exception {
+        when(candidateService.searchCandidates("ali", null, null, null, null, null, "applied", "abc", 20))
+                .thenReturn(new CandidatePage(List.of(buildResponse(10L, "Alice", PipelineStage.APPLIED)), null));
+
+        mockMvc.perform(get("/api/candidates/search")
+                        .param("name", "ali").param("sort", "applied")
+                        .param("cursor", "abc").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].firstName").value("Alice"));
+    }
+
+    @Test
+    void fullTextSearch_returnsRankedHitsWithSnippets() throws Exception {
+        when(candidateService.fullTextSearch("kafka streams", 10, null)).thenReturn(List.of(
+                new CandidateSearchHit(buildResponse(10L, "Alice", PipelineStage.APPLIED), 0.8,
+                        "Built <mark>Kafka</mark> <mark>Streams</mark> jobs", null)));
+
+        mockMvc.perform(get("/api/candidates/fulltext").param("q", "kafka streams").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].candidate.firstName").value("Alice"))
+                .andExpect(jsonPath("$[0].rank").value(0.8))
+                .andExpect(jsonPath("$[0].resumeSnippet").value("Built <mark>Kafka</mark> <mark>Streams</mark> jobs"))
+                .andExpect(jsonPath("$[0].noteSnippet").isEmpty());
+    }
+
+    @Test
+    void fullTextSearch_blankQuery_returnsBadRequest() throws Exception {
+        when(candidateService.fullTextSearch(" ", null, null))
+                .thenThrow(new IllegalArgumentException("q must not be blank"));
+
+        mockMvc.perform(get("/api/candidates/fulltext").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void typeahead_returnsSuggestions() throws Exception {
+        when(candidateService.typeahead("smi", null))
+                .thenReturn(List.of(new CandidateSuggestion(10L, "Alice", "Smith", "alice@example.com")));
+
+        mockMvc.perform(get("/api/candidates/typeahead").param("q", "smi"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].lastName").value("Smith"));
+    }
+
+    @Test
+    void exportCandidates_sortByRelevance_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/candidates/export").param("name", "smith").param("sort", "relevance"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(candidateService);
+    }
+
+    @Test
+    void searchCandidates_invalidCursor_returnsBadRequest() throws Exception {
+        when(candidateService.searchCandidates(null, null, null, null, null, null, null, "bad", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/candidates/search").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportCandidates_streamsEveryPageAsNdjson() throws Exception {
+        int pageSize = CandidateController.EXPORT_PAGE_SIZE;
+        when(candidateService.searchCandidates(null, "java", null, null, null, null, null, null, pageSize))
+                .thenReturn(new CandidatePage(List.of(buildResponse(10L, "Alice", PipelineStage.APPLIED)), "next"));
+        when(candidateService.searchCandidates(null, "java", null, null, null, null, null, "next", pageSize))
+                .thenReturn(new CandidatePage(List.of(buildResponse(11L, "Bob", PipelineStage.SCREENING)), null));
+
+        MvcResult started = mockMvc.perform(get("/api/candidates/export").param("skills", "java"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("firstName").asText()).isEqualTo("Alice");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(11L);
+    }
+
     @Test
     void getCandidate_existingId_returnsOk() throws Exception {
         when(candidateService.getCandidate(10L)).thenReturn(buildResponse(10L, "Alice", PipelineStage.APPLIED));
@@ -176,7 +280,7 @@ class CandidateControllerTest {
         StageMoveRequest request = new StageMoveRequest(PipelineStage.OFFER, 1);
 
         CandidateResponse response = buildResponse(10L, "Alice", PipelineStage.OFFER);
-        response.setStageOrder(1);
+        response.setStageOrder(1L);
 
         when(candidateService.moveStage(eq(10L), any(StageMoveRequest.class))).thenReturn(response);
 
@@ -199,6 +303,31 @@ class CandidateControllerTest {
                 .andExpect(jsonPath("$.newStage").exists());
     }
 
+    @Test
+    void moveStages_validRequest_returnsTouchedColumns() throws Exception {
+        BulkStageMoveRequest request = new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(10L, PipelineStage.OFFER, 0)));
+        when(candidateService.moveStages(any(BulkStageMoveRequest.class)))
+                .thenReturn(List.of(buildResponse(10L, "Alice", PipelineStage.OFFER)));
+
+        mockMvc.perform(patch("/api/candidates/stage")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].stage").value("OFFER"));
+    }
+
+    @Test
+    void moveStages_noMoves_returnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/candidates/stage")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"moves\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.moves").exists());
+        verifyNoInteractions(candidateService);
+    }
+
     @Test
     void deleteCandidate_existingId_returnsNoContent() throws Exception {
         doNothing().when(candidateService).deleteCandidate(10L);
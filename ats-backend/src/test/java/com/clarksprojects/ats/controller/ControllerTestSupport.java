@@ -4,6 +4,7 @@ import com.clarksprojects.ats.security.CookieUtil;
 import com.clarksprojects.ats.security.CurrentUserService;
 import com.clarksprojects.ats.security.JwtRequestFilter;
 import com.clarksprojects.ats.security.JwtUtil;
+import com.clarksprojects.ats.security.UserPrincipalCache;
 import com.clarksprojects.ats.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,7 +30,8 @@ public class ControllerTestSupport {
         return new JwtRequestFilter(
                 Mockito.mock(CustomUserDetailsService.class),
                 Mockito.mock(JwtUtil.class),
-                Mockito.mock(CookieUtil.class)) {
+                Mockito.mock(CookieUtil.class),
+                Mockito.mock(UserPrincipalCache.class)) {
             @Override
             protected void doFilterInternal(HttpServletRequest request,
                                             HttpServletResponse response,
@@ -54,6 +56,11 @@ public class ControllerTestSupport {
         return Mockito.mock(CookieUtil.class);
     }
 
+    @Bean
+    public UserPrincipalCache userPrincipalCache() {
+        return Mockito.mock(UserPrincipalCache.class);
+    }
+
     @Bean
     public CurrentUserService currentUserService() {
         return Mockito.mock(CurrentUserService.class);
@@ -4,6 +4,7 @@ import com.clarksprojects.ats.config.SecurityConfig;
 import com.clarksprojects.ats.dto.DashboardStats;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.service.DashboardService;
+import com.clarksprojects.ats.service.DashboardStatsCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -21,7 +22,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DashboardController.class)
-@Import({SecurityConfig.class, ControllerTestSupport.class})
+@Import({SecurityConfig.class, ControllerTestSupport.class, DashboardStatsCache.class})
 class DashboardControllerTest {
 
     @Autowired
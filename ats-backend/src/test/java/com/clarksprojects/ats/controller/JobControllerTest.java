@@ -3,6 +3,7 @@ package com.clarksprojects.ats.controller;
 import com.clarksprojects.ats.config.SecurityConfig;
 import com.clarksprojects.ats.dto.JobRequest;
 import com.clarksprojects.ats.dto.JobResponse;
+import com.clarksprojects.ats.dto.JobTopCandidates;
 import com.clarksprojects.ats.entity.EmploymentType;
 import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.exception.ResourceNotFoundException;
@@ -239,4 +240,26 @@ class JobControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    void getTopCandidatesForOpenJobs_defaultsLimitToFive() throws Exception {
+        when(jobService.getTopCandidatesForOpenJobs(5)).thenReturn(List.of(
+                new JobTopCandidates(1L, "Engineer", "Acme Technologies", List.of())
+        ));
+
+        mockMvc.perform(get("/api/jobs/top-candidates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].jobId").value(1))
+                .andExpect(jsonPath("$[0].matches.length()").value(0));
+    }
+
+    @Test
+    void getTopCandidatesForOpenJobs_invalidLimit_returnsBadRequest() throws Exception {
+        when(jobService.getTopCandidatesForOpenJobs(500))
+                .thenThrow(new IllegalArgumentException("limit must be between 1 and 50"));
+
+        mockMvc.perform(get("/api/jobs/top-candidates").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
 }
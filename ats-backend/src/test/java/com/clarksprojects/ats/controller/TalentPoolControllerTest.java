@@ -1,12 +1,17 @@
 package com.clarksprojects.ats.controller;
 
 import com.clarksprojects.ats.config.SecurityConfig;
+import com.clarksprojects.ats.dto.BulkUploadStatus;
 import com.clarksprojects.ats.dto.CandidateResponse;
 import com.clarksprojects.ats.dto.ParsedResume;
 import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.exception.ResourceNotFoundException;
 import com.clarksprojects.ats.exception.UnsupportedFileTypeException;
 import com.clarksprojects.ats.service.CandidateService;
+import com.clarksprojects.ats.service.LocalDiskBlobStore;
+import com.clarksprojects.ats.service.ResumeIngestionService;
 import com.clarksprojects.ats.service.ResumeParserService;
+import com.clarksprojects.ats.service.ResumeStorage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -16,18 +21,29 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TalentPoolController.class)
-@Import({SecurityConfig.class, ControllerTestSupport.class})
+@Import({SecurityConfig.class, ControllerTestSupport.class, ResumeStorage.class, LocalDiskBlobStore.class})
 @TestPropertySource(properties = "app.upload.resume-dir=${java.io.tmpdir}/ats-test-uploads")
 @org.springframework.security.test.context.support.WithMockUser(roles = "RECRUITER")
 class TalentPoolControllerTest {
@@ -35,12 +51,18 @@ class TalentPoolControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ResumeStorage resumeStorage;
+
     @MockitoBean
     private CandidateService candidateService;
 
     @MockitoBean
     private ResumeParserService resumeParserService;
 
+    @MockitoBean
+    private ResumeIngestionService resumeIngestionService;
+
     @Test
     void upload_returnsCreatedCandidateFromParsedResume() throws Exception {
         ParsedResume parsed = new ParsedResume("Jane", "Doe", "jane@example.com", "555-0100", "Java, Docker", "raw text");
@@ -52,7 +74,7 @@ class TalentPoolControllerTest {
                 .phone("555-0100")
                 .skills("Java, Docker")
                 .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
+                .stageOrder(0L)
                 .jobId(7L)
                 .jobTitle("Talent Pool")
                 .talentPool(true)
@@ -60,7 +82,7 @@ class TalentPoolControllerTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(resumeParserService.parse(any())).thenReturn(parsed);
+        when(resumeParserService.parse(any(Path.class))).thenReturn(parsed);
         when(candidateService.createFromParsedResume(any(ParsedResume.class), anyString())).thenReturn(response);
 
         MockMultipartFile file = new MockMultipartFile(
@@ -74,9 +96,24 @@ class TalentPoolControllerTest {
                 .andExpect(jsonPath("$.jobTitle").value("Talent Pool"));
     }
 
+    @Test
+    void upload_returnsExistingCandidateForAlreadyUploadedFile() throws Exception {
+        CandidateResponse existing = CandidateResponse.builder().id(42L).firstName("Jane").build();
+        when(candidateService.findByResumeUrl(anyString())).thenReturn(Optional.of(existing));
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "resume.txt", "text/plain", "Jane Doe\njane@example.com".getBytes());
+
+        mockMvc.perform(multipart("/api/talent-pool/upload").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(42));
+        verify(resumeParserService, never()).parse(any(Path.class));
+        verify(candidateService, never()).createFromParsedResume(any(ParsedResume.class), anyString());
+    }
+
     @Test
     void upload_returns400ForUnsupportedFileType() throws Exception {
-        when(resumeParserService.parse(any()))
+        when(resumeParserService.parse(any(Path.class)))
                 .thenThrow(new UnsupportedFileTypeException("Unsupported file type. Please upload a PDF, DOCX, or plain text file."));
 
         MockMultipartFile file = new MockMultipartFile(
@@ -103,7 +140,7 @@ class TalentPoolControllerTest {
     @Test
     void upload_returns400ForUnsupportedExtension() throws Exception {
         // Service throws IllegalArgumentException for disallowed extensions
-        when(resumeParserService.parse(any()))
+        when(resumeParserService.parse(any(Path.class)))
                 .thenReturn(new com.clarksprojects.ats.dto.ParsedResume(
                         "Jane", "Doe", "jane@example.com", null, null, "text"));
         // candidateService would be called, but storeFile checks extension first
@@ -114,4 +151,105 @@ class TalentPoolControllerTest {
         mockMvc.perform(multipart("/api/talent-pool/upload").file(file))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void bulkUpload_returnsAcceptedWithProgressLocation() throws Exception {
+        BulkUploadStatus started = new BulkUploadStatus("abc", BulkUploadStatus.State.RUNNING, Instant.now(), null,
+                2, 0, 0, 0, 0, List.of(
+                new BulkUploadStatus.FileResult("jane.txt", BulkUploadStatus.FileState.PENDING, null, null),
+                new BulkUploadStatus.FileResult("john.pdf", BulkUploadStatus.FileState.PENDING, null, null)));
+        when(resumeIngestionService.start(anyList())).thenReturn(started);
+
+        mockMvc.perform(multipart("/api/talent-pool/bulk-upload")
+                        .file(new MockMultipartFile("files", "jane.txt", "text/plain", "Jane".getBytes()))
+                        .file(new MockMultipartFile("files", "john.pdf", "application/pdf", "John".getBytes())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/talent-pool/bulk-upload/abc"))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.files[1].name").value("john.pdf"));
+    }
+
+    @Test
+    void getBulkUpload_returns404ForUnknownUpload() throws Exception {
+        when(resumeIngestionService.status("gone"))
+                .thenThrow(new ResourceNotFoundException("Bulk upload not found with id: gone"));
+
+        mockMvc.perform(get("/api/talent-pool/bulk-upload/gone"))
+                .andExpect(status().isNotFound());
+    }
+
+    /** Stores {@code content} as a resume and returns its filename. */
+    private String storedResume(String content) throws Exception {
+        Path file = Files.createTempFile("resume-", ".upload");
+        Files.writeString(file, content);
+        String filename = resumeStorage.filenameFor("resume.txt", file);
+        resumeStorage.store(filename, file);
+        return filename;
+    }
+
+    @Test
+    void serveResume_sendsContentAddressedFileWithValidators() throws Exception {
+        String filename = storedResume("Jane Doe\njane@example.com\n");
+        String etag = "\"" + ResumeStorage.contentHashOf(filename).orElseThrow() + "\"";
+
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Cache-Control", "private, max-age=31536000, immutable"))
+                .andExpect(header().longValue("Content-Length", 26))
+                .andExpect(content().string("Jane Doe\njane@example.com\n"));
+    }
+
+    @Test
+    void serveResume_returns304WhenETagMatches() throws Exception {
+        String filename = storedResume("Jane Doe\n");
+        String etag = "\"" + ResumeStorage.contentHashOf(filename).orElseThrow() + "\"";
+
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void serveResume_returnsRequestedByteRange() throws Exception {
+        String filename = storedResume("0123456789");
+
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename).header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void serveResume_sendsWholeFileWhenIfRangeNoLongerMatches() throws Exception {
+        String filename = storedResume("0123456789");
+
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename)
+                        .header("Range", "bytes=2-5").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void serveResume_returns416ForUnsatisfiableRange() throws Exception {
+        String filename = storedResume("0123456789");
+
+        mockMvc.perform(get("/api/talent-pool/resumes/" + filename).header("Range", "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void serveResume_answersHeadWithoutBody() throws Exception {
+        String filename = storedResume("0123456789");
+
+        mockMvc.perform(head("/api/talent-pool/resumes/" + filename))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 10))
+                .andExpect(content().bytes(new byte[0]));
+    }
 }
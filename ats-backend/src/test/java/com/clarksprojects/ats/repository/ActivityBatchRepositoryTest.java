@@ -0,0 +1,70 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+import com.clarksprojects.ats.entity.ActivityType;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.repository.ActivityBatchRepository.NewActivity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ActivityBatchRepository.class, ActivityFeedRepository.class})
+class ActivityBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityBatchRepository activityBatchRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityFeedRepository activityFeedRepository;
+
+    @Test
+    void insertAll_writesEveryRowIncludingNulls() {
+        Job job = entityManager.persistFlushFind(Job.builder()
+                .employer("Acme").title("Engineer").department("Engineering").location("Remote")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        activityBatchRepository.insertAll(List.of(
+                new NewActivity(ActivityType.JOB_CREATED, null, job.getId(), null, "Created job", "{\"jobId\":\"1\"}", now),
+                new NewActivity(ActivityType.JOB_UPDATED, null, job.getId(), null, "Updated job", null, now.plusSeconds(1))));
+        entityManager.clear();
+
+        List<ActivityResponse> activities = activityFeedRepository.find(null, job.getId(), null, null);
+        assertThat(activities).extracting(ActivityResponse::summary).containsExactly("Updated job", "Created job");
+        assertThat(activities).extracting(ActivityResponse::metadata).containsExactly(null, Map.of("jobId", "1"));
+    }
+
+    @Test
+    void insertAll_splitsLargeBatchesAcrossStatements() {
+        List<NewActivity> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ActivityBatchRepository.ROWS_PER_STATEMENT + 5; i++) {
+            rows.add(new NewActivity(ActivityType.NOTE_ADDED, null, null, null, "note " + i, null, now));
+        }
+
+        activityBatchRepository.insertAll(rows);
+
+        assertThat(activityRepository.count()).isEqualTo(rows.size());
+    }
+}
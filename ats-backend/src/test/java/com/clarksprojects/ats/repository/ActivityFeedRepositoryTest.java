@@ -0,0 +1,103 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+import com.clarksprojects.ats.entity.Activity;
+import com.clarksprojects.ats.entity.ActivityType;
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ActivityFeedRepository.class)
+class ActivityFeedRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityFeedRepository activityFeedRepository;
+
+    private Statistics statistics;
+    private Candidate candidate;
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        job = entityManager.persist(Job.builder()
+                .employer("Acme").title("Engineer").department("Engineering").location("Remote")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build());
+        candidate = entityManager.persist(Candidate.builder()
+                .firstName("Pat").lastName("Lee").email("pat@example.com")
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(job)
+                .build());
+        // Five candidate events, then one job-only event; same-second
+        // timestamps are common, so id must break ties.
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(Activity.builder()
+                    .type(ActivityType.NOTE_ADDED).candidate(candidate).job(job)
+                    .summary("note " + i).metadata(Map.of("n", String.valueOf(i)))
+                    .build());
+        }
+        entityManager.persist(Activity.builder().type(ActivityType.JOB_UPDATED).job(job).summary("job").build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void find_projectsNamesInOneStatement() {
+        List<ActivityResponse> feed = activityFeedRepository.find(candidate.getId(), null, null, null);
+
+        assertThat(feed).hasSize(5);
+        assertThat(feed.get(0).candidateName()).isEqualTo("Pat Lee");
+        assertThat(feed.get(0).jobTitle()).isEqualTo("Engineer");
+        assertThat(feed.get(0).actorName()).isEqualTo("System");
+        assertThat(feed.get(0).metadata()).containsEntry("n", "5");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void find_jobEventWithoutCandidate_hasNullCandidateName() {
+        List<ActivityResponse> feed = activityFeedRepository.find(null, job.getId(), null, 1);
+
+        assertThat(feed).singleElement().satisfies(a -> {
+            assertThat(a.summary()).isEqualTo("job");
+            assertThat(a.candidateId()).isNull();
+            assertThat(a.candidateName()).isNull();
+        });
+    }
+
+    @Test
+    void find_withCursor_continuesStrictlyAfterIt() {
+        List<ActivityResponse> first = activityFeedRepository.find(candidate.getId(), null, null, 2);
+        List<ActivityResponse> second = activityFeedRepository.find(
+                candidate.getId(), null, ActivityCursor.after(first.get(1)), 2);
+        List<ActivityResponse> third = activityFeedRepository.find(
+                candidate.getId(), null, ActivityCursor.after(second.get(1)), 2);
+
+        assertThat(first).extracting(ActivityResponse::summary).containsExactly("note 5", "note 4");
+        assertThat(second).extracting(ActivityResponse::summary).containsExactly("note 3", "note 2");
+        assertThat(third).extracting(ActivityResponse::summary).containsExactly("note 1");
+    }
+}
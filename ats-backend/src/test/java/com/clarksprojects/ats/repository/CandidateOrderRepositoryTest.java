@@ -0,0 +1,91 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.repository.CandidateOrderRepository.Column;
+import com.clarksprojects.ats.repository.CandidateOrderRepository.Neighbours;
+import com.clarksprojects.ats.util.StageOrderKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CandidateOrderRepository.class)
+class CandidateOrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CandidateOrderRepository candidateOrderRepository;
+
+    private Job job;
+    private Candidate first;
+    private Candidate second;
+    private Candidate third;
+
+    @BeforeEach
+    void setUp() {
+        job = entityManager.persist(Job.builder()
+                .employer("Acme").title("Engineer").department("Engineering").location("Remote")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build());
+        first = candidate("Adams", 100L);
+        second = candidate("Baker", 101L);
+        third = candidate("Clark", 300L);
+        candidate("Other", 50L).setStage(PipelineStage.SCREENING);
+        entityManager.flush();
+    }
+
+    private Candidate candidate(String lastName, long key) {
+        return entityManager.persist(Candidate.builder()
+                .firstName("Pat").lastName(lastName).email(lastName.toLowerCase() + "@example.com")
+                .stage(PipelineStage.APPLIED).stageOrder(key).job(job)
+                .build());
+    }
+
+    @Test
+    void neighbours_byPosition_skipTheMovingCandidate() {
+        Long jobId = job.getId();
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.APPLIED, null, 0))
+                .isEqualTo(new Neighbours(null, 100L));
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.APPLIED, null, 1))
+                .isEqualTo(new Neighbours(100L, 101L));
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.APPLIED, second.getId(), 1))
+                .isEqualTo(new Neighbours(100L, 300L));
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.APPLIED, third.getId(), 9))
+                .isEqualTo(new Neighbours(101L, null));
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.APPLIED, null, null))
+                .isEqualTo(new Neighbours(300L, null));
+        assertThat(candidateOrderRepository.neighbours(jobId, PipelineStage.HIRED, null, 2))
+                .isEqualTo(new Neighbours(null, null));
+    }
+
+    @Test
+    void crowdedColumns_findsColumnsWithTightGaps() {
+        assertThat(candidateOrderRepository.crowdedColumns())
+                .containsExactly(new Column(job.getId(), PipelineStage.APPLIED));
+    }
+
+    @Test
+    void rebalance_respacesColumnInOrderAndRefreshesLoadedCandidates() {
+        int rows = candidateOrderRepository.rebalance(job.getId(), PipelineStage.APPLIED);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(List.of(first.getStageOrder(), second.getStageOrder(), third.getStageOrder()))
+                .containsExactly(StageOrderKeys.nth(0), StageOrderKeys.nth(1), StageOrderKeys.nth(2));
+        assertThat(candidateOrderRepository.crowdedColumns()).isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.entity.Tag;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CandidateRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    private Statistics statistics;
+    private Job backend;
+    private Job frontend;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Tag urgent = entityManager.persist(Tag.builder().name("urgent").color("red").build());
+        Tag referral = entityManager.persist(Tag.builder().name("referral").color("blue").build());
+        backend = entityManager.persist(job("Backend Engineer"));
+        frontend = entityManager.persist(job("Frontend Engineer"));
+        String[] lastNames = {"Adams", "Baker", "Clark", "Davis", "Evans", "Foster"};
+        for (int i = 0; i < lastNames.length; i++) {
+            entityManager.persist(Candidate.builder()
+                    .firstName("Pat").lastName(lastNames[i])
+                    .email(lastNames[i].toLowerCase() + "@example.com")
+                    .stage(PipelineStage.APPLIED).stageOrder((long) i)
+                    .job(i % 2 == 0 ? backend : frontend)
+                    .tags(new HashSet<>(i % 3 == 0 ? Set.of(urgent, referral) : Set.of(urgent)))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private static Job job(String title) {
+        return Job.builder()
+                .employer("Acme").title(title).department("Engineering").location("Remote")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build();
+    }
+
+    /** Reads what {@code CandidateService.toResponse} reads from each candidate. */
+    private static void touchJobsAndTags(List<Candidate> candidates) {
+        for (Candidate c : candidates) {
+            c.getJob().getTitle();
+            c.getTags().forEach(Tag::getName);
+        }
+    }
+
+    private static CandidateSearchCriteria byName(CandidateCursor after, Integer limit) {
+        return new CandidateSearchCriteria(null, null, null, Set.of(), null, null, null,
+                CandidateSort.NAME, after, limit);
+    }
+
+    private static CandidateSearchCriteria nameContaining(String name) {
+        return new CandidateSearchCriteria(name, null, null, Set.of(), null, null, null,
+                CandidateSort.NAME, null, null);
+    }
+
+    @Test
+    void search_loadsJobsAndTagsInOneExtraStatement() {
+        List<Candidate> candidates = candidateRepository.search(byName(null, null));
+        touchJobsAndTags(candidates);
+
+        assertThat(candidates).hasSize(6);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findByJobId_fetchesJobsAndTagsInTheSameStatement() {
+        List<Candidate> candidates = candidateRepository.findByJobIdOrderByStageOrderAsc(backend.getId());
+        touchJobsAndTags(candidates);
+
+        assertThat(candidates).extracting(Candidate::getLastName).containsExactly("Adams", "Clark", "Evans");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByJobIdAndStage_fetchesJobsAndTagsInTheSameStatement() {
+        List<Candidate> candidates = candidateRepository
+                .findByJobIdAndStageOrderByStageOrderAsc(frontend.getId(), PipelineStage.APPLIED);
+        touchJobsAndTags(candidates);
+
+        assertThat(candidates).extracting(Candidate::getLastName).containsExactly("Baker", "Davis", "Foster");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void search_withCursor_resumesAfterLastRowOfPreviousPage() {
+        List<Candidate> first = candidateRepository.search(byName(null, 4));
+        CandidateCursor cursor = CandidateCursor.after(CandidateSort.NAME, first.get(3));
+
+        List<Candidate> rest = candidateRepository.search(byName(cursor, 4));
+
+        assertThat(first).extracting(Candidate::getLastName).containsExactly("Adams", "Baker", "Clark", "Davis");
+        assertThat(rest).extracting(Candidate::getLastName).containsExactly("Evans", "Foster");
+    }
+
+    @Test
+    void search_byName_matchesAnyPartOfTheFullNameIgnoringCase() {
+        assertThat(candidateRepository.search(nameContaining("PAT D")))
+                .extracting(Candidate::getLastName).containsExactly("Davis");
+        assertThat(candidateRepository.search(nameContaining("er")))
+                .extracting(Candidate::getLastName).containsExactly("Baker", "Foster");
+    }
+
+    @Test
+    void search_byName_treatsLikeWildcardsLiterally() {
+        assertThat(candidateRepository.search(nameContaining("_"))).isEmpty();
+        assertThat(candidateRepository.search(nameContaining("%"))).isEmpty();
+    }
+
+    @Test
+    void fullNameLower_isGeneratedByTheDatabase() {
+        Candidate adams = candidateRepository.search(nameContaining("adams")).get(0);
+
+        assertThat(adams.getFullNameLower()).isEqualTo("pat adams");
+    }
+}
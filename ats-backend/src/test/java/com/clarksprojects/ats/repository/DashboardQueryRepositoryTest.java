@@ -0,0 +1,83 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.FollowUpTask;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.entity.TaskStatus;
+import com.clarksprojects.ats.repository.DashboardQueryRepository.TimeWindowCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DashboardQueryRepository.class)
+class DashboardQueryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DashboardQueryRepository dashboardQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        Job acme = entityManager.persist(job("Acme", JobStatus.OPEN));
+
+        entityManager.persist(candidate(acme, PipelineStage.APPLIED));
+        entityManager.persist(candidate(acme, PipelineStage.HIRED));
+        entityManager.persist(candidate(acme, PipelineStage.HIRED));
+
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(task(TaskStatus.OPEN, now.minusDays(1)));
+        entityManager.persist(task(TaskStatus.OPEN, now.plusDays(1)));
+        entityManager.persist(task(TaskStatus.DONE, now.minusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Job job(String employer, JobStatus status) {
+        return Job.builder()
+                .employer(employer).title("Engineer").department("Engineering").location("Remote")
+                .status(status).employmentType(EmploymentType.FULL_TIME)
+                .build();
+    }
+
+    private static Candidate candidate(Job job, PipelineStage stage) {
+        return Candidate.builder()
+                .firstName("Pat").lastName("Lee").email("pat@example.com")
+                .stage(stage).stageOrder(0L).job(job)
+                .build();
+    }
+
+    private static FollowUpTask task(TaskStatus status, LocalDateTime dueAt) {
+        return FollowUpTask.builder().subject("Follow up").status(status).dueAt(dueAt).build();
+    }
+
+    @Test
+    void timeWindowCounts_countsRecentHiresAndOverdueOpenTasks() {
+        LocalDateTime now = LocalDateTime.now();
+
+        TimeWindowCounts counts = dashboardQueryRepository.timeWindowCounts(now.minusDays(1), now);
+
+        assertThat(counts).isEqualTo(new TimeWindowCounts(2, 1));
+    }
+
+    @Test
+    void timeWindowCounts_hiresBeforeCutoffAreExcluded() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(dashboardQueryRepository.timeWindowCounts(now.plusDays(1), now).hiredSince()).isZero();
+    }
+}
@@ -0,0 +1,76 @@
+package com.clarksprojects.ats.repository;
+
+import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.ParsedResumeEntry;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.service.ResumeStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ParsedResumeRepositoryTest {
+
+    private static final String KEPT = "a".repeat(64);
+    private static final String ORPHANED = "b".repeat(64);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParsedResumeRepository parsedResumeRepository;
+
+    @BeforeEach
+    void setUp() {
+        Job job = entityManager.persist(Job.builder()
+                .employer("Acme").title("Engineer").department("Engineering").location("Remote")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build());
+        entityManager.persist(Candidate.builder()
+                .firstName("Pat").lastName("Adams").email("adams@example.com")
+                .resumeUrl(ResumeStorage.URL_PREFIX + KEPT + ".pdf")
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(job)
+                .build());
+        entityManager.persist(entry(KEPT, LocalDateTime.now()));
+        entityManager.persist(entry(ORPHANED, LocalDateTime.now().minusDays(40)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static ParsedResumeEntry entry(String hash, LocalDateTime parsedAt) {
+        return ParsedResumeEntry.builder()
+                .contentHash(hash).parserVersion(1).firstName("Pat").rawText("Pat")
+                .parsedAt(parsedAt)
+                .build();
+    }
+
+    @Test
+    void deleteUnreferenced_keepsParsesACandidateStillRefersTo() {
+        int deleted = parsedResumeRepository.deleteUnreferenced(List.of(KEPT, ORPHANED), ResumeStorage.URL_PREFIX);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(parsedResumeRepository.findAll()).extracting(ParsedResumeEntry::getContentHash)
+                .containsExactly(KEPT);
+    }
+
+    @Test
+    void deleteParsedBefore_deletesOnlyOlderRows() {
+        int deleted = parsedResumeRepository.deleteParsedBefore(LocalDateTime.now().minusDays(30));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(parsedResumeRepository.findAll()).extracting(ParsedResumeEntry::getContentHash)
+                .containsExactly(KEPT);
+    }
+}
@@ -2,6 +2,7 @@ package com.clarksprojects.ats.security;
 
 import com.clarksprojects.ats.entity.Role;
 import com.clarksprojects.ats.entity.User;
+import com.clarksprojects.ats.security.JwtUtil.AccessToken;
 import com.clarksprojects.ats.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.AfterEach;
@@ -10,11 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +32,7 @@ class JwtRequestFilterTest {
     @Mock JwtUtil jwtUtil;
     @Mock CookieUtil cookieUtil;
     @Mock FilterChain chain;
+    @Spy UserPrincipalCache principalCache = new UserPrincipalCache(Duration.ofMinutes(1), 10);
 
     @InjectMocks
     JwtRequestFilter filter;
@@ -48,9 +53,8 @@ class JwtRequestFilterTest {
         MockHttpServletResponse response = new MockHttpServletResponse();
 
         when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("valid"));
-        when(jwtUtil.extractUsername("valid")).thenReturn("alice");
+        when(jwtUtil.parseAccessToken("valid")).thenReturn(access(0));
         when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
-        when(jwtUtil.validateAccessToken("valid", user)).thenReturn(true);
 
         filter.doFilterInternal(request, response, chain);
 
@@ -65,9 +69,8 @@ class JwtRequestFilterTest {
         request.addHeader("Authorization", "Bearer header-token");
 
         when(cookieUtil.readAccessToken(request)).thenReturn(Optional.empty());
-        when(jwtUtil.extractUsername("header-token")).thenReturn("alice");
+        when(jwtUtil.parseAccessToken("header-token")).thenReturn(access(0));
         when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
-        when(jwtUtil.validateAccessToken("header-token", user)).thenReturn(true);
 
         filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
 
@@ -78,21 +81,21 @@ class JwtRequestFilterTest {
     void invalidToken_doesNotAuthenticate() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
         when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("bad"));
-        when(jwtUtil.extractUsername("bad")).thenReturn("alice");
-        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
-        when(jwtUtil.validateAccessToken("bad", user)).thenReturn(false);
+        when(jwtUtil.parseAccessToken("bad")).thenReturn(Optional.empty());
 
         filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(chain).doFilter(any(), any());
+        verifyNoInteractions(userDetailsService);
     }
 
     @Test
-    void exceptionExtractingUsername_swallowed() throws Exception {
+    void userLookupFailure_swallowed() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
         when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("rot"));
-        when(jwtUtil.extractUsername("rot")).thenThrow(new RuntimeException("malformed"));
+        when(jwtUtil.parseAccessToken("rot")).thenReturn(access(0));
+        when(userDetailsService.loadUserByUsername("alice")).thenThrow(new RuntimeException("database down"));
 
         filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
 
@@ -100,6 +103,83 @@ class JwtRequestFilterTest {
         verify(chain).doFilter(any(), any());
     }
 
+    @Test
+    void repeatedRequests_lookUpTheUserOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("valid"));
+        when(jwtUtil.parseAccessToken("valid")).thenReturn(access(0));
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        }
+
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+        verify(jwtUtil, times(3)).parseAccessToken("valid");
+    }
+
+    @Test
+    void tokenOfAnOlderVersion_doesNotAuthenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        user.setTokenVersion(1);
+        when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("stale"));
+        when(jwtUtil.parseAccessToken("stale")).thenReturn(access(0));
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void tokenNewerThanTheCachedUser_reloadsIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        User promoted = User.builder()
+                .id(1L).username("alice").password("x").email("a@b.com")
+                .fullName("Alice").role(Role.ADMIN).tokenVersion(1).build();
+        principalCache.get("alice", 0, name -> user);
+        when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("fresh"));
+        when(jwtUtil.parseAccessToken("fresh")).thenReturn(access(1));
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(promoted);
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void disabledUser_doesNotAuthenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        user.setEnabled(false);
+        when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("valid"));
+        when(jwtUtil.parseAccessToken("valid")).thenReturn(access(0));
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void deletedUser_doesNotAuthenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        when(cookieUtil.readAccessToken(request)).thenReturn(Optional.of("valid"));
+        when(jwtUtil.parseAccessToken("valid")).thenReturn(access(0));
+        when(userDetailsService.loadUserByUsername("alice")).thenThrow(new UsernameNotFoundException("alice"));
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(any(), any());
+    }
+
+    private static Optional<AccessToken> access(int version) {
+        return Optional.of(new AccessToken("alice", "RECRUITER", version));
+    }
+
     @Test
     void noTokenAtAll_callsChainOnly() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
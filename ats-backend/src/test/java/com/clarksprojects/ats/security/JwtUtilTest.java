@@ -61,6 +61,7 @@ class JwtUtilTest {
         Thread.sleep(20);
 
         assertThat(jwtUtil.validateAccessToken(token, user)).isFalse();
+        assertThat(jwtUtil.parseAccessToken(token)).isEmpty();
         try {
             jwtUtil.extractExpiration(token);
         } catch (ExpiredJwtException ignored) {
@@ -68,6 +69,28 @@ class JwtUtilTest {
         }
     }
 
+    @Test
+    void parseAccessToken_readsAllClaimsAtOnce() {
+        user.setTokenVersion(3);
+        String token = jwtUtil.generateAccessToken(user, user.getRole().name());
+
+        assertThat(jwtUtil.parseAccessToken(token))
+                .contains(new JwtUtil.AccessToken("alice", "RECRUITER", 3));
+    }
+
+    @Test
+    void parseAccessToken_rejectsRefreshGarbageAndForeignTokens() {
+        JwtUtil other = new JwtUtil();
+        ReflectionTestUtils.setField(other, "secret",
+                "another-secret-that-is-also-at-least-256-bits-long-for-hmac");
+        ReflectionTestUtils.setField(other, "accessTokenExpiration", 60_000L);
+        other.initSigningKey();
+
+        assertThat(jwtUtil.parseAccessToken(jwtUtil.generateRefreshToken(user))).isEmpty();
+        assertThat(jwtUtil.parseAccessToken("not-a-jwt")).isEmpty();
+        assertThat(jwtUtil.parseAccessToken(other.generateAccessToken(user, "RECRUITER"))).isEmpty();
+    }
+
     @Test
     void expirationGetters_returnConfiguredValues() {
         assertThat(jwtUtil.getAccessTokenExpirationMs()).isEqualTo(60_000L);
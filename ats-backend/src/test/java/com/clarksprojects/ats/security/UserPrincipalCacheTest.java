@@ -0,0 +1,125 @@
+package com.clarksprojects.ats.security;
+
+import com.clarksprojects.ats.entity.Role;
+import com.clarksprojects.ats.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final UserPrincipalCache cache = new UserPrincipalCache(Duration.ofSeconds(30), 2, now::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private User load(String username) {
+        loads.incrementAndGet();
+        return user(username, 0);
+    }
+
+    private static User user(String username, int tokenVersion) {
+        return User.builder()
+                .username(username).password("x").email(username + "@b.com")
+                .fullName(username).role(Role.RECRUITER).tokenVersion(tokenVersion).build();
+    }
+
+    @Test
+    void get_withinTtl_returnsCachedUserWhateverTheCase() {
+        User first = cache.get("alice", 0, this::load);
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+
+        assertThat(cache.get("ALICE", 0, this::load)).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_afterTtl_reloads() {
+        cache.get("alice", 0, this::load);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        cache.get("alice", 0, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_tokenNewerThanCachedUser_reloads() {
+        cache.get("alice", 0, this::load);
+
+        User reloaded = cache.get("alice", 1, name -> user(name, 1));
+
+        assertThat(reloaded.getTokenVersion()).isEqualTo(1);
+        assertThat(cache.get("alice", 1, this::load)).isSameAs(reloaded);
+    }
+
+    @Test
+    void get_tokenOlderThanCachedUser_returnsCachedUser() {
+        cache.get("alice", 2, name -> user(name, 2));
+
+        assertThat(cache.get("alice", 1, this::load).getTokenVersion()).isEqualTo(2);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void get_keepsOnlyTheMostRecentlyUsedUsers() {
+        cache.get("alice", 0, this::load);
+        cache.get("bob", 0, this::load);
+        cache.get("alice", 0, this::load);
+        cache.get("carol", 0, this::load);
+
+        cache.get("alice", 0, this::load);
+        cache.get("bob", 0, this::load);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void evict_reloadsOnNextGet() {
+        cache.get("alice", 0, this::load);
+
+        cache.evict("Alice");
+        cache.get("alice", 0, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_duringLoad_doesNotCacheTheLoadedUser() {
+        cache.get("alice", 0, name -> {
+            cache.evict(name);
+            return load(name);
+        });
+
+        cache.get("alice", 0, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_insideTransaction_waitsForCommit() {
+        cache.get("alice", 0, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict("alice");
+        cache.get("alice", 0, this::load);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get("alice", 0, this::load);
+        assertThat(loads).hasValue(2);
+    }
+}
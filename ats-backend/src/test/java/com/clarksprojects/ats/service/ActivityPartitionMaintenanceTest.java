@@ -0,0 +1,178 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.repository.ActivityPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityPartitionMaintenanceTest {
+
+    private static final Clock MAY_2026 = Clock.fixed(Instant.parse("2026-05-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private ActivityPartitionRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path archiveDir;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private ActivityPartitionMaintenance maintenance(int retentionMonths) {
+        return new ActivityPartitionMaintenance(partitionRepository, transactionTemplate, MAY_2026,
+                2, retentionMonths, archiveDir);
+    }
+
+    @Test
+    void maintain_createsMissingPartitionsAhead() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.attachedMonths()).thenReturn(List.of(YearMonth.of(2026, 4), YearMonth.of(2026, 5)));
+
+        maintenance(0).maintain();
+
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 6));
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 7));
+        verify(partitionRepository, never()).createPartition(YearMonth.of(2026, 5));
+        verify(partitionRepository, never()).detachPartition(any());
+    }
+
+    @Test
+    void maintain_lockHeldElsewhere_createsNothing() {
+        when(partitionRepository.tryLock()).thenReturn(false);
+        when(partitionRepository.attachedMonths()).thenReturn(List.of(YearMonth.of(2026, 5)));
+
+        maintenance(0).maintain();
+
+        verify(partitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    void maintain_monthCreatedElsewhereMeanwhile_isNotCreatedAgain() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.attachedMonths())
+                .thenReturn(List.of(YearMonth.of(2026, 5)))
+                .thenReturn(List.of(YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7)));
+
+        maintenance(0).maintain();
+
+        verify(partitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    void maintain_archivesMonthsPastRetentionToGzippedNdjson() throws IOException {
+        YearMonth expired = YearMonth.of(2026, 1);
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.attachedMonths()).thenReturn(List.of(
+                expired, YearMonth.of(2026, 2), YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7)));
+        when(partitionRepository.detachedMonths()).thenReturn(List.of(expired));
+        when(partitionRepository.exportPartition(eq(expired), any())).thenAnswer(inv -> {
+            Consumer<String> rows = inv.getArgument(1);
+            rows.accept("{\"id\":1}");
+            rows.accept("{\"id\":2}");
+            return 2L;
+        });
+
+        maintenance(3).maintain();
+
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).detachPartition(expired);
+        order.verify(partitionRepository).exportPartition(eq(expired), any());
+        order.verify(partitionRepository).dropPartition(expired);
+        verify(partitionRepository, never()).detachPartition(YearMonth.of(2026, 2));
+        verify(transactionManager, atLeast(3)).commit(any());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archiveDir.resolve("activity_2026_01.ndjson.gz")))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+        }
+    }
+
+    @Test
+    void maintain_failedExport_keepsDetachedPartitionAndLeavesNoFile() throws IOException {
+        YearMonth expired = YearMonth.of(2025, 12);
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.attachedMonths()).thenReturn(List.of(
+                expired, YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7)));
+        when(partitionRepository.detachedMonths()).thenReturn(List.of(expired));
+        when(partitionRepository.exportPartition(eq(expired), any())).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> maintenance(3).maintain()).isInstanceOf(IllegalStateException.class);
+
+        verify(partitionRepository).detachPartition(expired);
+        verify(partitionRepository, never()).dropPartition(any());
+        verify(transactionManager).rollback(any());
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void maintain_leftoverDetachedMonth_isExportedAndDropped() {
+        YearMonth leftover = YearMonth.of(2025, 11);
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.attachedMonths()).thenReturn(List.of(
+                YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7)));
+        when(partitionRepository.detachedMonths()).thenReturn(List.of(leftover));
+        when(partitionRepository.exportPartition(eq(leftover), any())).thenReturn(0L);
+
+        maintenance(3).maintain();
+
+        verify(partitionRepository, never()).detachPartition(any());
+        verify(partitionRepository).dropPartition(leftover);
+        assertThat(archiveDir.resolve("activity_2025_11.ndjson.gz")).exists();
+    }
+
+    @Test
+    void constructor_retentionWithUnusableArchiveDir_fails() throws IOException {
+        Path file = Files.createFile(archiveDir.resolve("not-a-dir"));
+
+        assertThatThrownBy(() -> new ActivityPartitionMaintenance(partitionRepository, transactionTemplate, MAY_2026,
+                2, 3, file.resolve("archive")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("archive-dir");
+    }
+
+    @Test
+    void partitionName_roundTripsThroughMonthOf() {
+        YearMonth month = YearMonth.of(2026, 3);
+
+        assertThat(ActivityPartitionRepository.partitionName(month)).isEqualTo("activity_2026_03");
+        assertThat(ActivityPartitionRepository.monthOf("activity_2026_03")).contains(month);
+        assertThat(ActivityPartitionRepository.monthOf("activity_default")).isEmpty();
+    }
+}
@@ -1,31 +1,54 @@
 package com.clarksprojects.ats.service;
 
+import com.clarksprojects.ats.dto.ActivityPage;
 import com.clarksprojects.ats.dto.ActivityResponse;
 import com.clarksprojects.ats.entity.*;
+import com.clarksprojects.ats.repository.ActivityBatchRepository;
+import com.clarksprojects.ats.repository.ActivityBatchRepository.NewActivity;
+import com.clarksprojects.ats.repository.ActivityCursor;
+import com.clarksprojects.ats.repository.ActivityFeedRepository;
 import com.clarksprojects.ats.repository.ActivityRepository;
 import com.clarksprojects.ats.security.CurrentUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ActivityServiceTest {
 
     @Mock ActivityRepository activityRepository;
+    @Mock ActivityBatchRepository activityBatchRepository;
+    @Mock ActivityFeedRepository activityFeedRepository;
     @Mock CurrentUserService currentUserService;
+    @Mock DashboardStatsCache dashboardStatsCache;
+    @Mock ActivityStream activityStream;
+    @Spy ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks ActivityService activityService;
 
@@ -33,9 +56,25 @@ class ActivityServiceTest {
         Job job = Job.builder().id(1L).employer("Acme").title("Engineer").department("Eng")
                 .location("R").status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME).build();
         Candidate c = Candidate.builder().id(10L).firstName("A").lastName("B").email("a@b.com")
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(job).build();
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(job).build();
         return Activity.builder().id(1L).type(ActivityType.STAGE_CHANGED).candidate(c).job(job)
-                .summary("Moved").metadata("from=APPLIED;to=SCREENING").build();
+                .summary("Moved").metadata(Map.of("from", "APPLIED", "to", "SCREENING")).build();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NewActivity> insertedRows() {
+        ArgumentCaptor<List<NewActivity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(activityBatchRepository).insertAll(captor.capture());
+        return captor.getValue();
     }
 
     @Test
@@ -43,63 +82,206 @@ class ActivityServiceTest {
         User actor = User.builder().id(1L).username("rec").password("x").email("r@x.com")
                 .fullName("Rec").role(Role.RECRUITER).build();
         when(currentUserService.currentUser()).thenReturn(Optional.of(actor));
-        when(activityRepository.save(any(Activity.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Activity saved = activityService.record(ActivityType.NOTE_ADDED, null, null, "added note",
+        activityService.record(ActivityType.NOTE_ADDED, null, null, "added note",
                 Map.of("noteId", "1", "preview", "Strong fit"));
 
-        ArgumentCaptor<Activity> captor = ArgumentCaptor.forClass(Activity.class);
-        org.mockito.Mockito.verify(activityRepository).save(captor.capture());
-        Activity persisted = captor.getValue();
-        assertThat(persisted.getActor()).isEqualTo(actor);
-        assertThat(persisted.getType()).isEqualTo(ActivityType.NOTE_ADDED);
-        assertThat(persisted.getMetadata()).contains("noteId=1").contains("preview=Strong fit");
-        assertThat(saved).isSameAs(persisted);
+        NewActivity persisted = insertedRows().get(0);
+        assertThat(persisted.actorId()).isEqualTo(1L);
+        assertThat(persisted.type()).isEqualTo(ActivityType.NOTE_ADDED);
+        assertThat(persisted.metadataJson()).contains("\"noteId\":\"1\"").contains("\"preview\":\"Strong fit\"");
+        assertThat(persisted.createdAt()).isNotNull();
+        verify(dashboardStatsCache).invalidate();
     }
 
     @Test
     void record_nullMetadata_storesNull() {
         when(currentUserService.currentUser()).thenReturn(Optional.empty());
-        when(activityRepository.save(any(Activity.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Activity saved = activityService.record(ActivityType.JOB_CREATED, null, null, "created", null);
+        activityService.record(ActivityType.JOB_CREATED, null, null, "created", null);
+
+        NewActivity persisted = insertedRows().get(0);
+        assertThat(persisted.metadataJson()).isNull();
+        assertThat(persisted.actorId()).isNull();
+    }
+
+    @Test
+    void record_insideTransaction_writesAllEventsInOneInsertBeforeCommit() {
+        when(currentUserService.currentUser()).thenReturn(Optional.empty());
+        Candidate candidate = activity().getCandidate();
+        TransactionSynchronizationManager.initSynchronization();
+
+        activityService.record(ActivityType.TAG_ADDED, candidate, candidate.getJob(), "tag a", null);
+        activityService.record(ActivityType.TAG_ADDED, candidate, candidate.getJob(), "tag b", null);
+        activityService.record(ActivityType.TAG_REMOVED, candidate, candidate.getJob(), "tag c", null);
+        verifyNoInteractions(activityBatchRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        assertThat(insertedRows())
+                .extracting(NewActivity::summary, NewActivity::candidateId, NewActivity::jobId)
+                .containsExactly(
+                        tuple("tag a", 10L, 1L),
+                        tuple("tag b", 10L, 1L),
+                        tuple("tag c", 10L, 1L));
+        verify(currentUserService, times(1)).currentUser();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_withSubscribers_publishesOnlyAfterCommit() {
+        when(currentUserService.currentUser()).thenReturn(Optional.empty());
+        when(activityStream.hasSubscribers()).thenReturn(true);
+        Candidate candidate = activity().getCandidate();
+        TransactionSynchronizationManager.initSynchronization();
+
+        activityService.record(ActivityType.TAG_ADDED, candidate, candidate.getJob(), "tag a",
+                Map.of("tag", "java"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+        verify(activityStream, never()).publish(any());
 
-        assertThat(saved.getMetadata()).isNull();
-        assertThat(saved.getActor()).isNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<List<ActivityResponse>> captor = ArgumentCaptor.forClass(List.class);
+        verify(activityStream).publish(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(ActivityResponse::summary, ActivityResponse::candidateName,
+                        ActivityResponse::jobTitle, ActivityResponse::actorName, ActivityResponse::metadata)
+                .containsExactly(tuple("tag a", "A B", "Engineer", "System", Map.of("tag", "java")));
+    }
+
+    @Test
+    void record_withoutSubscribers_publishesNothing() {
+        when(currentUserService.currentUser()).thenReturn(Optional.empty());
+
+        activityService.record(ActivityType.JOB_CREATED, null, null, "created", null);
+
+        verify(activityStream, never()).publish(any());
+    }
+
+    private static ActivityResponse response(long id, LocalDateTime createdAt) {
+        return new ActivityResponse(id, ActivityType.NOTE_ADDED, 10L, "A B", 1L, "Engineer",
+                null, "System", "note", null, createdAt);
     }
 
     @Test
-    void forCandidate_mapsToResponses() {
-        when(activityRepository.findByCandidateIdOrderByCreatedAtDesc(10L))
-                .thenReturn(List.of(activity()));
+    void forCandidate_readsWholeTimeline() {
+        when(activityFeedRepository.find(10L, null, null, null)).thenReturn(List.of(ActivityResponse.from(activity())));
         List<ActivityResponse> out = activityService.forCandidate(10L);
         assertThat(out).hasSize(1);
         assertThat(out.get(0).type()).isEqualTo(ActivityType.STAGE_CHANGED);
     }
 
     @Test
-    void forJob_mapsToResponses() {
-        when(activityRepository.findByJobIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(activity()));
+    void forJob_readsWholeTimeline() {
+        when(activityFeedRepository.find(null, 1L, null, null)).thenReturn(List.of(ActivityResponse.from(activity())));
         assertThat(activityService.forJob(1L)).hasSize(1);
     }
 
     @Test
-    void recent_usesPageableLimit() {
-        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        when(activityRepository.findAllByOrderByCreatedAtDesc(any())).thenReturn(List.of());
+    void page_fullPage_returnsCursorAfterLastRow() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(activityFeedRepository.find(10L, null, null, 3)).thenReturn(List.of(
+                response(9L, t), response(8L, t.minusMinutes(1)), response(7L, t.minusMinutes(2))));
 
-        activityService.recent(5);
+        ActivityPage page = activityService.page(10L, null, null, 2);
 
-        org.mockito.Mockito.verify(activityRepository).findAllByOrderByCreatedAtDesc(captor.capture());
-        assertThat(captor.getValue()).isEqualTo(PageRequest.of(0, 5));
+        assertThat(page.items()).extracting(ActivityResponse::id).containsExactly(9L, 8L);
+        assertThat(ActivityCursor.decode(page.nextCursor())).isEqualTo(new ActivityCursor(t.minusMinutes(1), 8L));
+    }
+
+    @Test
+    void page_withCursor_resumesAfterIt() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 1, 12, 0);
+        ActivityCursor cursor = new ActivityCursor(t, 9L);
+        when(activityFeedRepository.find(null, null, cursor, 21)).thenReturn(List.of(response(8L, t)));
+
+        ActivityPage page = activityService.page(null, null, cursor.encode(), null);
+
+        assertThat(page.items()).extracting(ActivityResponse::id).containsExactly(8L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_invalidCursor_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> activityService.page(null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void page_limitOutOfRange_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> activityService.page(null, null, null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void record_metadataWithSeparators_roundTripsIntact() throws Exception {
+        when(currentUserService.currentUser()).thenReturn(Optional.empty());
+
+        activityService.record(ActivityType.NOTE_ADDED, null, null, "note", Map.of("preview", "a=b; c=d"));
+
+        Map<?, ?> metadata = objectMapper.readValue(insertedRows().get(0).metadataJson(), Map.class);
+        assertThat(metadata).isEqualTo(Map.of("preview", "a=b; c=d"));
+    }
+
+    @Test
+    void filter_looksUpIdsByMetadataThenLoadsThem() {
+        when(activityRepository.findIdsByMetadata(eq("{\"to\":\"HIRED\"}"), eq("STAGE_CHANGED"),
+                any(LocalDateTime.class), eq(50))).thenReturn(List.of(1L));
+        when(activityRepository.findByIdInOrderByCreatedAtDescIdDesc(List.of(1L))).thenReturn(List.of(activity()));
+
+        List<ActivityResponse> out = activityService.filter(ActivityType.STAGE_CHANGED, Map.of("to", "HIRED"), 30, 50);
+
+        assertThat(out).extracting(ActivityResponse::id).containsExactly(1L);
+        assertThat(out.get(0).metadata()).containsEntry("to", "SCREENING");
+    }
+
+    @Test
+    void filter_noMatches_skipsSecondQuery() {
+        when(activityRepository.findIdsByMetadata(any(), any(), any(), eq(50))).thenReturn(List.of());
+
+        assertThat(activityService.filter(null, Map.of("to", "HIRED"), 30, 50)).isEmpty();
+        verify(activityRepository, never()).findByIdInOrderByCreatedAtDescIdDesc(any());
+    }
+
+    @Test
+    void filter_withoutMetadata_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> activityService.filter(ActivityType.STAGE_CHANGED, Map.of(), 30, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filter_daysOutOfRange_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> activityService.filter(null, Map.of("to", "HIRED"), 0, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void recent_usesLimitWithinHotWindow() {
+        List<ActivityResponse> five = LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> response(id, LocalDateTime.now())).toList();
+        when(activityFeedRepository.find(isNull(), isNull(), isNull(), any(LocalDateTime.class), eq(5)))
+                .thenReturn(five);
+
+        assertThat(activityService.recent(5)).hasSize(5);
+        verify(activityFeedRepository, never()).find(null, null, null, 5);
+    }
+
+    @Test
+    void recent_quietWindow_fallsBackToWholeLog() {
+        when(activityFeedRepository.find(isNull(), isNull(), isNull(), any(LocalDateTime.class), eq(5)))
+                .thenReturn(List.of());
+        when(activityFeedRepository.find(null, null, null, 5)).thenReturn(List.of(response(1L, LocalDateTime.now())));
+
+        assertThat(activityService.recent(5)).hasSize(1);
     }
 
     @Test
     void recent_zeroOrNegativeClampedTo1() {
-        when(activityRepository.findAllByOrderByCreatedAtDesc(any())).thenReturn(List.of());
-        activityService.recent(0);
-        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        org.mockito.Mockito.verify(activityRepository).findAllByOrderByCreatedAtDesc(captor.capture());
-        assertThat(captor.getValue().getPageSize()).isEqualTo(1);
+        when(activityFeedRepository.find(isNull(), isNull(), isNull(), any(LocalDateTime.class), eq(1)))
+                .thenReturn(List.of(response(1L, LocalDateTime.now())));
+
+        assertThat(activityService.recent(0)).hasSize(1);
     }
 }
@@ -0,0 +1,109 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.ActivityResponse;
+import com.clarksprojects.ats.entity.ActivityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityStreamTest {
+
+    private final ActivityStream stream = new ActivityStream(2, Runnable::run);
+
+    /** Records the frames it would have written. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) throw new IOException("Broken pipe");
+            frames.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+
+    private static ActivityResponse activity(String summary, Long candidateId, Long jobId) {
+        return new ActivityResponse(null, ActivityType.NOTE_ADDED, candidateId, null, jobId, null,
+                null, "System", summary, null, LocalDateTime.now());
+    }
+
+    @Test
+    void publish_deliversOnlyMatchingActivities() {
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter job1 = new RecordingEmitter();
+        RecordingEmitter candidate10 = new RecordingEmitter();
+        stream.subscribe(all, null, null);
+        stream.subscribe(job1, null, 1L);
+        stream.subscribe(candidate10, 10L, null);
+
+        stream.publish(List.of(activity("on job 1", 11L, 1L), activity("on candidate 10", 10L, 2L)));
+
+        assertThat(all.frames).hasSize(2);
+        assertThat(job1.frames).singleElement().asString()
+                .contains("event:" + ActivityStream.ACTIVITY_EVENT).contains("on job 1");
+        assertThat(candidate10.frames).singleElement().asString().contains("on candidate 10");
+    }
+
+    @Test
+    void slowSubscriber_dropsOldestAndIsToldHowMany() {
+        Queue<Runnable> sends = new ArrayDeque<>();
+        ActivityStream queued = new ActivityStream(2, sends::add);
+        RecordingEmitter emitter = new RecordingEmitter();
+        queued.subscribe(emitter, null, null);
+
+        queued.publish(List.of(activity("a", 1L, 1L), activity("b", 1L, 1L),
+                activity("c", 1L, 1L), activity("d", 1L, 1L)));
+        assertThat(sends).hasSize(1);
+        sends.poll().run();
+
+        assertThat(emitter.frames).hasSize(3);
+        assertThat(emitter.frames.get(0)).contains("event:" + ActivityStream.RESYNC_EVENT).contains("data:2");
+        assertThat(emitter.frames.get(1)).contains("summary=c");
+        assertThat(emitter.frames.get(2)).contains("summary=d");
+    }
+
+    @Test
+    void heartbeat_sendsCommentFrame() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter, 10L, null);
+
+        stream.heartbeat();
+
+        assertThat(emitter.frames).singleElement().asString().startsWith(":heartbeat");
+    }
+
+    @Test
+    void failedSend_unsubscribes() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        stream.subscribe(emitter, null, null);
+
+        stream.heartbeat();
+
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(stream.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    void disabled_refusesSubscribers() {
+        ActivityStream disabled = new ActivityStream(false, 2, Duration.ofSeconds(15));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThatThrownBy(() -> disabled.subscribe(new RecordingEmitter(), null, null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(disabled.hasSubscribers()).isFalse();
+    }
+}
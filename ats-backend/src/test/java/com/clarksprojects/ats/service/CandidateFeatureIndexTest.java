@@ -0,0 +1,116 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.repository.CandidateMatchRow;
+import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.util.Geo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateFeatureIndexTest {
+
+    @Mock
+    private CandidateRepository candidateRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CandidateFeatureIndex index() {
+        return new CandidateFeatureIndex(candidateRepository, new SkillDictionary(), Duration.ofMinutes(5), now::get);
+    }
+
+    private static CandidateMatchRow row(long id, String skills, Double lat, Double lon) {
+        return new CandidateMatchRow(id, "Candidate", "Number" + id, "c" + id + "@example.com",
+                skills, null, lat, lon);
+    }
+
+    private static List<Long> ids(CandidateFeatureIndex.Snapshot snapshot) {
+        return Arrays.stream(snapshot.rows()).map(CandidateMatchRow::id).toList();
+    }
+
+    @Test
+    void snapshot_withoutChanges_isBuiltOnce() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(row(1L, "Java", null, null)));
+        CandidateFeatureIndex index = index();
+
+        CandidateFeatureIndex.Snapshot first = index.snapshot();
+
+        assertThat(index.snapshot()).isSameAs(first);
+        verify(candidateRepository, times(1)).findAllMatchRows();
+    }
+
+    @Test
+    void invalidate_rereadsOnlyChangedRowsAndKeepsIdOrder() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(
+                row(1L, "Java", null, null), row(3L, "Go", 37.0, -122.0), row(5L, "Rust", null, null)));
+        CandidateFeatureIndex index = index();
+        CandidateFeatureIndex.Snapshot before = index.snapshot();
+        // 3 moved, 4 was created, 5 was deleted.
+        when(candidateRepository.findMatchRowsByIdIn(List.of(3L, 4L, 5L))).thenReturn(List.of(
+                row(3L, "Go, Kotlin", null, null), row(4L, "Python", 40.0, -74.0)));
+
+        index.invalidate(List.of(5L, 3L, 4L));
+        CandidateFeatureIndex.Snapshot after = index.snapshot();
+
+        assertThat(ids(after)).containsExactly(1L, 3L, 4L);
+        assertThat(after.skills()[0]).isSameAs(before.skills()[0]);
+        assertThat(after.skills()[1]).isNotEqualTo(before.skills()[1]);
+        assertThat(after.unlocated()).containsExactly(0, 1);
+        assertThat(after.positionsNear(new int[] {Geo.cellOf(40.0, -74.0)}))
+                .containsExactly(0, 1, 2);
+        verify(candidateRepository, times(1)).findAllMatchRows();
+    }
+
+    @Test
+    void invalidate_insideTransaction_waitsForCompletion() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(row(1L, "Java", null, null)));
+        CandidateFeatureIndex index = index();
+        CandidateFeatureIndex.Snapshot first = index.snapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.invalidate(1L);
+        assertThat(index.snapshot()).isSameAs(first);
+        verify(candidateRepository, never()).findMatchRowsByIdIn(List.of(1L));
+
+        when(candidateRepository.findMatchRowsByIdIn(List.of(1L))).thenReturn(List.of(row(1L, "Go", null, null)));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(index.snapshot()).isNotSameAs(first);
+    }
+
+    @Test
+    void snapshot_olderThanTtl_isRebuiltFromTheTable() {
+        when(candidateRepository.findAllMatchRows())
+                .thenReturn(List.of(row(1L, "Java", null, null)))
+                .thenReturn(List.of(row(1L, "Java", null, null), row(2L, "Go", null, null)));
+        CandidateFeatureIndex index = index();
+        index.snapshot();
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertThat(ids(index.snapshot())).containsExactly(1L, 2L);
+        verify(candidateRepository, times(2)).findAllMatchRows();
+    }
+}
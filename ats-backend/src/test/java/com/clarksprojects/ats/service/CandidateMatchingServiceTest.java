@@ -0,0 +1,198 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.TopCandidateMatch;
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.repository.CandidateMatchRow;
+import com.clarksprojects.ats.repository.CandidateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateMatchingServiceTest {
+
+    @Mock
+    private CandidateRepository candidateRepository;
+
+    private CandidateFeatureIndex featureIndex;
+    private CandidateMatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        SkillDictionary dictionary = new SkillDictionary();
+        featureIndex = new CandidateFeatureIndex(candidateRepository, dictionary, Duration.ofMinutes(5));
+        matchingService = new CandidateMatchingService(featureIndex, dictionary);
+    }
+
+    private static Job job(String requiredSkills, Double lat, Double lon) {
+        return Job.builder()
+                .id(1L)
+                .employer("Acme")
+                .title("Dev")
+                .requiredSkills(requiredSkills)
+                .latitude(lat)
+                .longitude(lon)
+                .status(JobStatus.OPEN)
+                .employmentType(EmploymentType.FULL_TIME)
+                .candidates(new ArrayList<>())
+                .build();
+    }
+
+    private static CandidateMatchRow row(long id, String skills) {
+        return new CandidateMatchRow(id, "Candidate", "Number" + id, "c" + id + "@example.com",
+                skills, null, null, null);
+    }
+
+    @Test
+    void topCandidates_jobHasNoRequiredSkills_returnsEmptyWithoutLoadingIndex() {
+        List<TopCandidateMatch> result = matchingService.topCandidates(job(null, null, null));
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(candidateRepository);
+    }
+
+    @Test
+    void topCandidates_candidateWithMatchingSkills_isIncluded() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(row(10L, "Java, spring, Docker")));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Java, Spring", null, null));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).candidateId()).isEqualTo(10L);
+        assertThat(result.get(0).skillsMatchPercent()).isEqualTo(100);
+        assertThat(result.get(0).matchedSkills()).containsExactly("Java", "Spring");
+        assertThat(result.get(0).candidateSkills()).containsExactly("Java", "spring", "Docker");
+        assertThat(result.get(0).distanceMiles()).isEqualTo(-1.0);
+    }
+
+    @Test
+    void topCandidates_userEnteredSkillNotInSeedList_isMatched() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(row(10L, "COBOL, Mainframe")));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Cobol, Java", null, null));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).skillsMatchPercent()).isEqualTo(50);
+        assertThat(result.get(0).matchedSkills()).containsExactly("Cobol");
+    }
+
+    @Test
+    void topCandidates_candidateWithNoOverlappingOrNullSkills_isFiltered() {
+        when(candidateRepository.findAllMatchRows())
+                .thenReturn(List.of(row(20L, "Python, Django"), row(21L, null)));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Java, Spring", null, null));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void topCandidates_withGeoCoordsOnBothJobAndCandidate_includesDistanceInResult() {
+        Job job = job("Java", 37.3382, -121.8863);  // San Jose, CA
+        CandidateMatchRow sf = new CandidateMatchRow(10L, "Alice", "Smith", "alice@example.com",
+                "Java", null, 37.7749, -122.4194);  // San Francisco, CA
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(sf));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job);
+
+        assertThat(result).hasSize(1);
+        // Distance SJ → SF is ~48 miles — should be populated
+        assertThat(result.get(0).distanceMiles()).isGreaterThan(40.0).isLessThan(60.0);
+    }
+
+    @Test
+    void topCandidates_candidateOutsideBoundingBox_isSkippedButUnlocatedCandidateIsKept() {
+        Job job = job("Java", 37.3382, -121.8863);  // San Jose, CA
+        CandidateMatchRow la = new CandidateMatchRow(10L, "Far", "Away", "far@example.com",
+                "Java", null, 34.0522, -118.2437);  // Los Angeles, CA
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(la, row(11L, "Java")));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job);
+
+        assertThat(result).extracting(TopCandidateMatch::candidateId).containsExactly(11L);
+        assertThat(result.get(0).distanceMiles()).isEqualTo(-1.0);
+    }
+
+    @Test
+    void topCandidates_moreThanLimit_keepsBestRankedFirst() {
+        List<CandidateMatchRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            // Higher ids carry more assignment days → higher composite score.
+            rows.add(new CandidateMatchRow((long) i, "Candidate", "Number" + i, "c" + i + "@example.com",
+                    "Java, Spring", i * 50, null, null));
+        }
+        when(candidateRepository.findAllMatchRows()).thenReturn(rows);
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Java", null, null));
+
+        assertThat(result).extracting(TopCandidateMatch::candidateId)
+                .containsExactly(8L, 7L, 6L, 5L, 4L);
+    }
+
+    @Test
+    void topCandidates_equalScores_breakTiesByLowerId() {
+        when(candidateRepository.findAllMatchRows())
+                .thenReturn(List.of(row(1L, "Java"), row(2L, "Java"), row(3L, "Java")));
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Java", null, null), 2);
+
+        assertThat(result).extracting(TopCandidateMatch::candidateId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void topCandidates_reusesSnapshotUntilInvalidated() {
+        when(candidateRepository.findAllMatchRows()).thenReturn(List.of(row(1L, "Java")));
+        when(candidateRepository.findMatchRowsByIdIn(List.of(2L))).thenReturn(List.of(row(2L, "Java")));
+
+        assertThat(matchingService.topCandidates(job("Java", null, null))).hasSize(1);
+        assertThat(matchingService.topCandidates(job("Java", null, null))).hasSize(1);
+        featureIndex.invalidate(2L);
+        assertThat(matchingService.topCandidates(job("Java", null, null))).hasSize(2);
+
+        verify(candidateRepository, times(1)).findAllMatchRows();
+    }
+
+    @Test
+    void topCandidates_multipleJobs_loadsIndexOnceAndRanksEachJob() {
+        when(candidateRepository.findAllMatchRows())
+                .thenReturn(List.of(row(1L, "Java"), row(2L, "Python"), row(3L, "Java, Python")));
+
+        List<List<TopCandidateMatch>> result = matchingService.topCandidates(
+                List.of(job("Java", null, null), job(null, null, null), job("Python", null, null)), 5);
+
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).extracting(TopCandidateMatch::candidateId).containsExactly(1L, 3L);
+        assertThat(result.get(1)).isEmpty();
+        assertThat(result.get(2)).extracting(TopCandidateMatch::candidateId).containsExactly(2L, 3L);
+        verify(candidateRepository, times(1)).findAllMatchRows();
+    }
+
+    @Test
+    void topCandidates_moreCandidatesThanOneSlice_mergesSlicesLikeASingleScan() {
+        int n = CandidateMatchingService.SLICE_SIZE * 3 + 17;
+        List<CandidateMatchRow> rows = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            // Days cycle 0..729, so the best scores repeat across slices and ties span slice boundaries.
+            rows.add(new CandidateMatchRow((long) i, "C", "N" + i, "c" + i + "@example.com",
+                    "Java", i % 730, null, null));
+        }
+        when(candidateRepository.findAllMatchRows()).thenReturn(rows);
+
+        List<TopCandidateMatch> result = matchingService.topCandidates(job("Java", null, null), 4);
+
+        // i % 730 == 729 first occurs at ids 729, 1459, 2189, 2919 — the lowest ids win the tie.
+        assertThat(result).extracting(TopCandidateMatch::candidateId)
+                .containsExactly(729L, 1459L, 2189L, 2919L);
+    }
+}
@@ -0,0 +1,180 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.entity.EmploymentType;
+import com.clarksprojects.ats.entity.Job;
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.repository.CandidateMatchRow;
+import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.util.Geo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the original per-request stream scoring (split skill strings,
+ * nested {@code anyMatch}, full sort) with the bitset scan in
+ * {@link CandidateMatchingService#scan}, and times scoring every open job in
+ * one fork-join pass. Not a unit test; run manually:
+ *
+ * <pre>{@code
+ * mvn -q test-compile
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.clarksprojects.ats.service.CandidateScoringBenchmark
+ * }</pre>
+ *
+ * {@link #main} enables the GC profiler, so the report shows {@code bitsetScan}
+ * allocating ~0 B/op next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateScoringBenchmark {
+
+    private static final int OPEN_JOBS = 20;
+
+    private static final String[] SKILL_POOL = ResumeParserService.TECH_SKILLS.toArray(String[]::new);
+
+    @Param({"100000"})
+    public int candidates;
+
+    private List<CandidateMatchRow> rows;
+    private Job job;
+    private List<String> required;
+
+    private CandidateFeatureIndex.Snapshot snapshot;
+    private CandidateMatchingService.Query[] query;
+    private final CandidateMatchingService.TopK[] top = {new CandidateMatchingService.TopK(CandidateMatchingService.DEFAULT_LIMIT)};
+
+    private CandidateMatchingService matchingService;
+    private List<Job> openJobs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            StringBuilder skills = new StringBuilder();
+            int count = 3 + random.nextInt(8);
+            for (int s = 0; s < count; s++) {
+                if (s > 0) skills.append(", ");
+                skills.append(SKILL_POOL[random.nextInt(SKILL_POOL.length)]);
+            }
+            boolean located = random.nextInt(10) < 8;
+            rows.add(new CandidateMatchRow((long) i + 1, "First" + i, "Last" + i, "c" + i + "@example.com",
+                    skills.toString(), random.nextInt(1000),
+                    located ? 36.0 + random.nextDouble() * 3 : null,
+                    located ? -123.0 + random.nextDouble() * 3 : null));
+        }
+        job = Job.builder()
+                .id(1L).employer("Acme").title("Dev")
+                .requiredSkills("Java, Spring Boot, PostgreSQL, Docker, AWS")
+                .latitude(37.3382).longitude(-121.8863)
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                .build();
+        required = parse(job.getRequiredSkills());
+
+        CandidateRepository repository = mock(CandidateRepository.class);
+        when(repository.findAllMatchRows()).thenReturn(rows);
+        SkillDictionary dictionary = new SkillDictionary();
+        CandidateFeatureIndex featureIndex = new CandidateFeatureIndex(repository, dictionary, Duration.ofMinutes(5));
+        snapshot = featureIndex.snapshot();
+
+        Map<String, String> requiredByKey = new LinkedHashMap<>();
+        required.forEach(s -> requiredByKey.put(s.toLowerCase(), s));
+        query = new CandidateMatchingService.Query[] {
+                new CandidateMatchingService.Query(0, requiredByKey, job.getLatitude(), job.getLongitude())};
+        query[0].bits = dictionary.lookupAll(requiredByKey.keySet());
+
+        matchingService = new CandidateMatchingService(featureIndex, dictionary);
+        openJobs = new ArrayList<>();
+        for (int j = 0; j < OPEN_JOBS; j++) {
+            openJobs.add(Job.builder()
+                    .id((long) j).employer("Acme").title("Job " + j)
+                    .requiredSkills(SKILL_POOL[j % SKILL_POOL.length] + ", " + SKILL_POOL[(j * 7 + 3) % SKILL_POOL.length])
+                    .latitude(36.0 + j * 0.1).longitude(-122.0)
+                    .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Object legacyStreams() {
+        record Scored(long id, int skillsPct, double composite) {}
+        return rows.stream()
+                .map(c -> {
+                    List<String> cSkills = parse(c.skills());
+                    List<String> matched = required.stream()
+                            .filter(s -> cSkills.stream().anyMatch(cs -> cs.equalsIgnoreCase(s)))
+                            .toList();
+                    int skillsPct = (int) Math.round((double) matched.size() / required.size() * 100);
+                    int days = c.lastAssignmentDays() != null ? c.lastAssignmentDays() : 0;
+                    double daysNorm = Math.min(days, 730) / 730.0 * 100.0;
+                    double distNorm = 50.0;
+                    if (c.latitude() != null && c.longitude() != null) {
+                        double distMiles = Geo.haversineMiles(job.getLatitude(), job.getLongitude(),
+                                c.latitude(), c.longitude());
+                        distNorm = Math.max(0.0, 100.0 - (distMiles / 50.0) * 100.0);
+                    }
+                    return new Scored(c.id(), skillsPct, 0.5 * skillsPct + 0.25 * daysNorm + 0.25 * distNorm);
+                })
+                .filter(s -> s.skillsPct() > 0)
+                .sorted(Comparator.comparingDouble(Scored::composite).reversed())
+                .limit(CandidateMatchingService.DEFAULT_LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public int bitsetScan() {
+        top[0].count = 0;
+        CandidateMatchingService.scan(snapshot, query, top, 0, snapshot.size());
+        return top[0].count;
+    }
+
+    /** {@value #OPEN_JOBS} jobs in one fork-join pass, end to end including DTOs. */
+    @Benchmark
+    public Object allOpenJobsOnePass() {
+        return matchingService.topCandidates(openJobs, CandidateMatchingService.DEFAULT_LIMIT);
+    }
+
+    private static List<String> parse(String skills) {
+        if (skills == null || skills.isBlank()) return List.of();
+        return Arrays.stream(skills.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CandidateScoringBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -1,32 +1,51 @@
 package com.clarksprojects.ats.service;
 
+import com.clarksprojects.ats.dto.BulkStageMoveRequest;
+import com.clarksprojects.ats.dto.CandidatePage;
 import com.clarksprojects.ats.dto.CandidateRequest;
 import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.CandidateSearchHit;
+import com.clarksprojects.ats.dto.CandidateSuggestion;
 import com.clarksprojects.ats.dto.ParsedResume;
 import com.clarksprojects.ats.dto.StageMoveRequest;
+import com.clarksprojects.ats.dto.StoredResume;
 import com.clarksprojects.ats.entity.ActivityType;
 import com.clarksprojects.ats.entity.Candidate;
+import com.clarksprojects.ats.entity.CandidateResume;
 import com.clarksprojects.ats.entity.EmploymentType;
 import com.clarksprojects.ats.entity.Job;
 import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.exception.ResourceNotFoundException;
+import com.clarksprojects.ats.repository.CandidateCursor;
+import com.clarksprojects.ats.repository.CandidateFullTextRepository;
+import com.clarksprojects.ats.repository.CandidateOrderRepository;
+import com.clarksprojects.ats.repository.CandidateOrderRepository.Neighbours;
 import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.repository.CandidateResumeRepository;
+import com.clarksprojects.ats.repository.CandidateSearchCriteria;
+import com.clarksprojects.ats.repository.CandidateSort;
+import com.clarksprojects.ats.util.StageOrderKeys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -44,6 +63,24 @@ class CandidateServiceTest {
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private CandidateFeatureIndex candidateFeatureIndex;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private CandidateOrderRepository candidateOrderRepository;
+
+    @Mock
+    private CandidateResumeRepository candidateResumeRepository;
+
+    @Mock
+    private CandidateFullTextRepository candidateFullTextRepository;
+
+    @Mock
+    private ParsedResumeCache parsedResumeCache;
+
     @InjectMocks
     private CandidateService candidateService;
 
@@ -69,7 +106,7 @@ class CandidateServiceTest {
                 .email("alice@example.com")
                 .phone("555-0111")
                 .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
+                .stageOrder(0L)
                 .job(sampleJob)
                 .build();
     }
@@ -134,11 +171,13 @@ class CandidateServiceTest {
                 .email("bob@example.com")
                 .phone("555-0222")
                 .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
+                .stageOrder(0L)
                 .job(sampleJob)
                 .build();
 
         when(jobService.findJobOrThrow(1L)).thenReturn(sampleJob);
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.APPLIED, null, null))
+                .thenReturn(new Neighbours(StageOrderKeys.GAP, null));
         when(candidateRepository.save(any(Candidate.class))).thenReturn(saved);
 
         CandidateResponse result = candidateService.createCandidate(request);
@@ -146,7 +185,9 @@ class CandidateServiceTest {
         assertThat(result.getId()).isEqualTo(11L);
         assertThat(result.getFirstName()).isEqualTo("Bob");
         assertThat(result.getJobId()).isEqualTo(1L);
-        verify(candidateRepository).save(any(Candidate.class));
+        ArgumentCaptor<Candidate> created = ArgumentCaptor.forClass(Candidate.class);
+        verify(candidateRepository).save(created.capture());
+        assertThat(created.getValue().getStageOrder()).isEqualTo(2 * StageOrderKeys.GAP);
         verify(activityService).record(eq(ActivityType.CANDIDATE_CREATED), eq(saved), eq(sampleJob),
                 anyString(), anyMap());
     }
@@ -182,6 +223,8 @@ class CandidateServiceTest {
                 .build();
 
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.SCREENING, 10L, null))
+                .thenReturn(new Neighbours(null, null));
         when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CandidateResponse result = candidateService.updateCandidate(10L, request);
@@ -189,6 +232,7 @@ class CandidateServiceTest {
         assertThat(result.getLastName()).isEqualTo("Updated");
         assertThat(result.getEmail()).isEqualTo("alice.updated@example.com");
         assertThat(result.getStage()).isEqualTo(PipelineStage.SCREENING);
+        assertThat(result.getStageOrder()).isEqualTo(StageOrderKeys.GAP);
         verify(activityService).record(eq(ActivityType.STAGE_CHANGED), any(Candidate.class),
                 eq(sampleJob), anyString(), anyMap());
     }
@@ -210,6 +254,8 @@ class CandidateServiceTest {
 
         verify(activityService).record(eq(ActivityType.CANDIDATE_UPDATED), any(Candidate.class),
                 eq(sampleJob), anyString(), anyMap());
+        verify(candidateFeatureIndex).invalidate(10L);
+        verifyNoInteractions(candidateOrderRepository);
     }
 
     @Test
@@ -231,6 +277,8 @@ class CandidateServiceTest {
 
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
         when(jobService.findJobOrThrow(2L)).thenReturn(newJob);
+        when(candidateOrderRepository.neighbours(2L, PipelineStage.APPLIED, 10L, null))
+                .thenReturn(new Neighbours(null, null));
         when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CandidateResponse result = candidateService.updateCandidate(10L, request);
@@ -244,27 +292,58 @@ class CandidateServiceTest {
         StageMoveRequest request = new StageMoveRequest(PipelineStage.INTERVIEW, 2);
 
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.INTERVIEW, 10L, 2))
+                .thenReturn(new Neighbours(100L, 200L));
         when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CandidateResponse result = candidateService.moveStage(10L, request);
 
         assertThat(result.getStage()).isEqualTo(PipelineStage.INTERVIEW);
-        assertThat(result.getStageOrder()).isEqualTo(2);
+        assertThat(result.getStageOrder()).isEqualTo(150L);
+        verify(candidateOrderRepository, never()).rebalance(any(), any());
         verify(activityService).record(eq(ActivityType.STAGE_CHANGED), any(Candidate.class),
                 eq(sampleJob), anyString(), anyMap());
+        verify(dashboardCounters).candidateStageChanged(PipelineStage.APPLIED, PipelineStage.INTERVIEW);
     }
 
     @Test
-    void moveStage_nullOrder_preservesExistingOrder() {
+    void moveStage_nullOrder_appendsToNewColumn() {
         StageMoveRequest request = new StageMoveRequest(PipelineStage.OFFER, null);
 
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.OFFER, 10L, null))
+                .thenReturn(new Neighbours(StageOrderKeys.GAP, null));
         when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CandidateResponse result = candidateService.moveStage(10L, request);
 
         assertThat(result.getStage()).isEqualTo(PipelineStage.OFFER);
-        assertThat(result.getStageOrder()).isEqualTo(0);
+        assertThat(result.getStageOrder()).isEqualTo(2 * StageOrderKeys.GAP);
+    }
+
+    @Test
+    void moveStage_sameStageWithoutOrder_keepsKey() {
+        when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CandidateResponse result = candidateService.moveStage(10L, new StageMoveRequest(PipelineStage.APPLIED, null));
+
+        assertThat(result.getStageOrder()).isZero();
+        verifyNoInteractions(candidateOrderRepository);
+    }
+
+    @Test
+    void moveStage_noGapLeft_renumbersColumnThenPlaces() {
+        when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.SCREENING, 10L, 1))
+                .thenReturn(new Neighbours(5L, 6L))
+                .thenReturn(new Neighbours(StageOrderKeys.GAP, 2 * StageOrderKeys.GAP));
+        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CandidateResponse result = candidateService.moveStage(10L, new StageMoveRequest(PipelineStage.SCREENING, 1));
+
+        verify(candidateOrderRepository).rebalance(1L, PipelineStage.SCREENING);
+        assertThat(result.getStageOrder()).isEqualTo(StageOrderKeys.GAP + StageOrderKeys.GAP / 2);
     }
 
     @Test
@@ -272,6 +351,8 @@ class CandidateServiceTest {
         StageMoveRequest request = new StageMoveRequest(PipelineStage.APPLIED, 1);
 
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
+        when(candidateOrderRepository.neighbours(1L, PipelineStage.APPLIED, 10L, 1))
+                .thenReturn(new Neighbours(StageOrderKeys.GAP, null));
         when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
 
         candidateService.moveStage(10L, request);
@@ -288,6 +369,105 @@ class CandidateServiceTest {
                 .hasMessageContaining("Candidate not found: 99");
     }
 
+    @Test
+    void moveStages_appliesEveryMoveAndReturnsTouchedColumnsInBoardOrder() {
+        Candidate bob = Candidate.builder().id(11L).firstName("Bob").lastName("Jones").email("bob@example.com")
+                .stage(PipelineStage.APPLIED).stageOrder(1L).job(sampleJob).build();
+        Candidate carol = Candidate.builder().id(12L).firstName("Carol").lastName("Lee").email("carol@example.com")
+                .stage(PipelineStage.SCREENING).stageOrder(0L).job(sampleJob).build();
+        Candidate dave = Candidate.builder().id(13L).firstName("Dave").lastName("Kim").email("dave@example.com")
+                .stage(PipelineStage.OFFER).stageOrder(0L).job(sampleJob).build();
+        when(candidateRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(sampleCandidate, bob));
+        when(candidateRepository.findColumns(Set.of(1L), Set.of(PipelineStage.APPLIED, PipelineStage.SCREENING)))
+                .thenReturn(List.of(carol, sampleCandidate, bob, dave));
+
+        List<CandidateResponse> result = candidateService.moveStages(new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(10L, PipelineStage.SCREENING, 1),
+                new BulkStageMoveRequest.Move(11L, PipelineStage.APPLIED, 0))));
+
+        assertThat(result).extracting(CandidateResponse::getFirstName, CandidateResponse::getStage, CandidateResponse::getStageOrder)
+                .containsExactly(
+                        tuple("Bob", PipelineStage.APPLIED, StageOrderKeys.GAP),
+                        tuple("Carol", PipelineStage.SCREENING, 0L),
+                        tuple("Alice", PipelineStage.SCREENING, StageOrderKeys.GAP));
+        verify(activityService).record(eq(ActivityType.STAGE_CHANGED), eq(sampleCandidate),
+                eq(sampleJob), anyString(), eq(Map.of("from", "APPLIED", "to", "SCREENING")));
+        verify(activityService, never()).record(any(), eq(bob), any(), anyString(), anyMap());
+        verify(dashboardCounters).candidateStageChanged(PipelineStage.APPLIED, PipelineStage.SCREENING);
+        verify(candidateRepository, never()).save(any());
+        verifyNoInteractions(candidateOrderRepository);
+    }
+
+    @Test
+    void moveStages_readsEachColumnOnceAndKeysManyMovesInMemory() {
+        List<Candidate> applied = new ArrayList<>();
+        for (long id = 20; id < 25; id++) {
+            applied.add(Candidate.builder().id(id).firstName("C" + id).lastName("L").email(id + "@e.com")
+                    .stage(PipelineStage.APPLIED).stageOrder(StageOrderKeys.nth((int) (id - 20))).job(sampleJob).build());
+        }
+        when(candidateRepository.findAllById(Set.of(24L, 23L, 22L))).thenReturn(applied.subList(2, 5));
+        when(candidateRepository.findColumns(Set.of(1L), Set.of(PipelineStage.APPLIED, PipelineStage.SCREENING)))
+                .thenReturn(applied);
+
+        List<CandidateResponse> result = candidateService.moveStages(new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(24L, PipelineStage.APPLIED, 0),
+                new BulkStageMoveRequest.Move(23L, PipelineStage.SCREENING, null),
+                new BulkStageMoveRequest.Move(22L, PipelineStage.SCREENING, 0))));
+
+        assertThat(result).extracting(CandidateResponse::getId, CandidateResponse::getStage)
+                .containsExactly(
+                        tuple(24L, PipelineStage.APPLIED), tuple(20L, PipelineStage.APPLIED), tuple(21L, PipelineStage.APPLIED),
+                        tuple(22L, PipelineStage.SCREENING), tuple(23L, PipelineStage.SCREENING));
+        assertThat(applied.get(4).getStageOrder()).isLessThan(applied.get(0).getStageOrder());
+        assertThat(applied.get(2).getStageOrder()).isLessThan(applied.get(3).getStageOrder());
+        verify(candidateRepository, times(1)).findColumns(any(), any());
+        verifyNoInteractions(candidateOrderRepository);
+    }
+
+    @Test
+    void moveStages_renumbersAColumnWithNoGapLeft() {
+        Candidate upper = Candidate.builder().id(30L).firstName("Up").lastName("L").email("u@e.com")
+                .stage(PipelineStage.SCREENING).stageOrder(5L).job(sampleJob).build();
+        Candidate lower = Candidate.builder().id(31L).firstName("Low").lastName("L").email("l@e.com")
+                .stage(PipelineStage.SCREENING).stageOrder(6L).job(sampleJob).build();
+        when(candidateRepository.findAllById(Set.of(10L))).thenReturn(List.of(sampleCandidate));
+        when(candidateRepository.findColumns(Set.of(1L), Set.of(PipelineStage.APPLIED, PipelineStage.SCREENING)))
+                .thenReturn(List.of(sampleCandidate, upper, lower));
+        when(candidateOrderRepository.rebalance(1L, PipelineStage.SCREENING)).thenAnswer(inv -> {
+            upper.setStageOrder(StageOrderKeys.nth(0));
+            lower.setStageOrder(StageOrderKeys.nth(1));
+            return 2;
+        });
+
+        List<CandidateResponse> result = candidateService.moveStages(new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(10L, PipelineStage.SCREENING, 1))));
+
+        assertThat(result).extracting(CandidateResponse::getId).containsExactly(30L, 10L, 31L);
+        assertThat(sampleCandidate.getStageOrder())
+                .isBetween(StageOrderKeys.nth(0) + 1, StageOrderKeys.nth(1) - 1);
+    }
+
+    @Test
+    void moveStages_unknownCandidate_throwsResourceNotFoundException() {
+        when(candidateRepository.findAllById(Set.of(10L, 99L))).thenReturn(List.of(sampleCandidate));
+
+        assertThatThrownBy(() -> candidateService.moveStages(new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(10L, PipelineStage.SCREENING, null),
+                new BulkStageMoveRequest.Move(99L, PipelineStage.SCREENING, null)))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Candidate not found: 99");
+        verifyNoInteractions(candidateOrderRepository, activityService, dashboardCounters);
+    }
+
+    @Test
+    void moveStages_sameCandidateTwice_throwsIllegalArgument() {
+        assertThatThrownBy(() -> candidateService.moveStages(new BulkStageMoveRequest(List.of(
+                new BulkStageMoveRequest.Move(10L, PipelineStage.SCREENING, null),
+                new BulkStageMoveRequest.Move(10L, PipelineStage.OFFER, null)))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(candidateRepository);
+    }
+
     @Test
     void deleteCandidate_existingId_deletesCandidateAndLogsActivity() {
         when(candidateRepository.findById(10L)).thenReturn(Optional.of(sampleCandidate));
@@ -297,6 +477,8 @@ class CandidateServiceTest {
         verify(candidateRepository).delete(sampleCandidate);
         verify(activityService).record(eq(ActivityType.CANDIDATE_DELETED), eq(null), eq(sampleJob),
                 anyString(), anyMap());
+        verify(candidateFeatureIndex).invalidate(10L);
+        verify(parsedResumeCache).forget(Collections.singletonList(sampleCandidate.getResumeUrl()));
     }
 
     @Test
@@ -311,43 +493,55 @@ class CandidateServiceTest {
 
     // ── searchCandidates ─────────────────────────────────────────────────────
 
+    private static CandidateSearchCriteria criteria(String name, String stage, Set<String> skills) {
+        return new CandidateSearchCriteria(name, stage, null, skills, null, null, null, CandidateSort.NAME,
+                null, CandidateService.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void searchCandidates_withoutLimitOrCursor_returnsFirstDefaultSizedPage() {
+        List<Candidate> rows = new ArrayList<>();
+        for (long id = 1; id <= CandidateService.DEFAULT_PAGE_SIZE + 1; id++) {
+            rows.add(named(id, "Name" + id));
+        }
+        when(candidateRepository.search(criteria(null, null, Set.of()))).thenReturn(rows);
+
+        CandidatePage page = candidateService.searchCandidates(null, null, null, null, null, null, null, null, null);
+
+        assertThat(page.items()).hasSize(CandidateService.DEFAULT_PAGE_SIZE);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
     @Test
     void searchCandidates_noSkillsFilter_returnsAllRepoResults() {
-        when(candidateRepository.search("Alice", null, null)).thenReturn(List.of(sampleCandidate));
+        when(candidateRepository.search(criteria("Alice", null, Set.of()))).thenReturn(List.of(sampleCandidate));
 
-        List<CandidateResponse> result = candidateService.searchCandidates("Alice", null, null, null, null);
+        List<CandidateResponse> result = candidateService.searchCandidates("Alice", null, null, null, null, null, null, null, null).items();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getFirstName()).isEqualTo("Alice");
-        verify(candidateRepository).search("Alice", null, null);
     }
 
     @Test
     void searchCandidates_blankName_passesNullToRepository() {
-        when(candidateRepository.search(null, null, null)).thenReturn(List.of(sampleCandidate));
+        when(candidateRepository.search(criteria(null, null, Set.of()))).thenReturn(List.of(sampleCandidate));
 
-        List<CandidateResponse> result = candidateService.searchCandidates("  ", null, null, null, null);
+        List<CandidateResponse> result = candidateService.searchCandidates("  ", null, null, null, null, null, null, null, null).items();
 
         assertThat(result).hasSize(1);
-        verify(candidateRepository).search(null, null, null);
     }
 
     @Test
-    void searchCandidates_withSkillsFilter_returnsOnlyMatchingCandidates() {
+    void searchCandidates_withSkillsFilter_queriesSkillIndex() {
         Candidate javaCandidate = Candidate.builder()
                 .id(10L).firstName("Alice").lastName("Smith")
                 .email("alice@example.com").skills("Java, Spring")
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(sampleJob).build();
-
-        Candidate pythonCandidate = Candidate.builder()
-                .id(11L).firstName("Bob").lastName("Jones")
-                .email("bob@example.com").skills("Python, Django")
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(sampleJob).build();
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(sampleJob).build();
 
-        when(candidateRepository.search(null, null, null))
-                .thenReturn(List.of(javaCandidate, pythonCandidate));
+        when(candidateRepository.search(criteria(null, null, Set.of("java"))))
+                .thenReturn(List.of(javaCandidate));
 
-        List<CandidateResponse> result = candidateService.searchCandidates(null, "java", null, null, null);
+        List<CandidateResponse> result = candidateService.searchCandidates(null, "java", null, null, null, null, null, null, null).items();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(10L);
@@ -355,43 +549,179 @@ class CandidateServiceTest {
 
     @Test
     void searchCandidates_withStageFilter_passesStageNameToRepository() {
-        when(candidateRepository.search(null, "APPLIED", null)).thenReturn(List.of(sampleCandidate));
+        when(candidateRepository.search(criteria(null, "APPLIED", Set.of()))).thenReturn(List.of(sampleCandidate));
 
-        List<CandidateResponse> result = candidateService.searchCandidates(null, null, PipelineStage.APPLIED, null, null);
+        List<CandidateResponse> result = candidateService.searchCandidates(null, null, PipelineStage.APPLIED, null, null, null, null, null, null).items();
 
         assertThat(result).hasSize(1);
-        verify(candidateRepository).search(null, "APPLIED", null);
     }
 
     @Test
-    void searchCandidates_candidateHasNullSkills_filteredOutBySkillsSearch() {
-        Candidate noSkillsCandidate = Candidate.builder()
-                .id(12L).firstName("Carol").lastName("Clark")
-                .email("carol@example.com").skills(null)
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(sampleJob).build();
+    void searchCandidates_skillsFilter_normalizesTermsBeforeQuerying() {
+        when(candidateRepository.search(criteria(null, null, Set.of("java", "spring boot"))))
+                .thenReturn(List.of());
 
-        when(candidateRepository.search(null, null, null)).thenReturn(List.of(noSkillsCandidate));
-
-        List<CandidateResponse> result = candidateService.searchCandidates(null, "java", null, null, null);
+        List<CandidateResponse> result = candidateService.searchCandidates(null, " Java , ,SPRING Boot,java ", null, null, null, null, null, null, null).items();
 
         assertThat(result).isEmpty();
+        verify(candidateRepository).search(criteria(null, null, Set.of("java", "spring boot")));
     }
 
     @Test
-    void searchCandidates_sortByApplied_descending() {
-        Candidate older = Candidate.builder()
-                .id(20L).firstName("Older").lastName("Person")
-                .email("o@e.com").stage(PipelineStage.APPLIED).stageOrder(0).job(sampleJob)
-                .appliedAt(java.time.LocalDateTime.of(2025, 1, 1, 0, 0)).build();
+    void searchCandidates_blankSkills_searchesWithoutSkillFilter() {
+        when(candidateRepository.search(criteria(null, null, Set.of()))).thenReturn(List.of(sampleCandidate));
+
+        List<CandidateResponse> result = candidateService.searchCandidates(null, " , ", null, null, null, null, null, null, null).items();
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void searchCandidates_nearJob_passesJobLocationAndDefaultRadius() {
+        sampleJob.setLatitude(37.7749);
+        sampleJob.setLongitude(-122.4194);
+        when(jobService.findJobOrThrow(1L)).thenReturn(sampleJob);
+        CandidateSearchCriteria expected = new CandidateSearchCriteria(null, null, null, Set.of(),
+                37.7749, -122.4194, CandidateMatchingService.MAX_DISTANCE_MILES, CandidateSort.NAME,
+                null, CandidateService.DEFAULT_PAGE_SIZE + 1);
+        when(candidateRepository.search(expected)).thenReturn(List.of(sampleCandidate));
+
+        List<CandidateResponse> result = candidateService.searchCandidates(null, null, null, null, 1L, null, null, null, null).items();
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void searchCandidates_nearJobWithoutLocation_throwsIllegalArgument() {
+        when(jobService.findJobOrThrow(1L)).thenReturn(sampleJob);
+
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, 1L, 25.0, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("has no location");
+        verify(candidateRepository, never()).search(any());
+    }
+
+    @Test
+    void searchCandidates_radiusWithoutNearJob_throwsIllegalArgument() {
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, null, 25.0, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchCandidates_radiusOutOfRange_throwsIllegalArgument() {
+        sampleJob.setLatitude(37.7749);
+        sampleJob.setLongitude(-122.4194);
+        when(jobService.findJobOrThrow(1L)).thenReturn(sampleJob);
+
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, 1L, 0.0, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchCandidates_sortByApplied_ordersInRepositoryAndKeepsItsOrder() {
         Candidate newer = Candidate.builder()
                 .id(21L).firstName("Newer").lastName("Person")
-                .email("n@e.com").stage(PipelineStage.APPLIED).stageOrder(0).job(sampleJob)
+                .email("n@e.com").stage(PipelineStage.APPLIED).stageOrder(0L).job(sampleJob)
                 .appliedAt(java.time.LocalDateTime.of(2026, 1, 1, 0, 0)).build();
-        when(candidateRepository.search(null, null, null)).thenReturn(List.of(older, newer));
+        Candidate older = Candidate.builder()
+                .id(20L).firstName("Older").lastName("Person")
+                .email("o@e.com").stage(PipelineStage.APPLIED).stageOrder(0L).job(sampleJob)
+                .appliedAt(java.time.LocalDateTime.of(2025, 1, 1, 0, 0)).build();
+        when(candidateRepository.search(new CandidateSearchCriteria(null, null, null, Set.of(), null, null, null,
+                CandidateSort.APPLIED_DESC, null, CandidateService.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(newer, older));
+
+        CandidatePage page = candidateService.searchCandidates(null, null, null, null, null, null, "applied", null, null);
+
+        assertThat(page.items()).extracting(CandidateResponse::getId).containsExactly(21L, 20L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchCandidates_sortByRelevance_returnsOnePageWithoutCursor() {
+        when(candidateRepository.search(new CandidateSearchCriteria("smtih", null, null, Set.of(), null, null, null,
+                CandidateSort.RELEVANCE, null, 2))).thenReturn(List.of(named(1L, "Smith"), named(2L, "Smithe")));
+
+        CandidatePage page = candidateService.searchCandidates("smtih", null, null, null, null, null, "relevance", null, 2);
+
+        assertThat(page.items()).extracting(CandidateResponse::getId).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchCandidates_sortByRelevance_needsNameAndRejectsCursor() {
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, null, null, "relevance", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("requires name");
+        assertThatThrownBy(() -> candidateService.searchCandidates("smith", null, null, null, null, null, "relevance", "abc", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cursor");
+        verify(candidateRepository, never()).search(any());
+    }
+
+    private Candidate named(long id, String lastName) {
+        return Candidate.builder()
+                .id(id).firstName("First").lastName(lastName)
+                .email(id + "@e.com").stage(PipelineStage.APPLIED).stageOrder(0L).job(sampleJob).build();
+    }
+
+    @Test
+    void searchCandidates_withLimit_fetchesOneExtraRowAndReturnsCursorAfterLastItem() {
+        when(candidateRepository.search(new CandidateSearchCriteria(null, null, null, Set.of(), null, null, null,
+                CandidateSort.NAME, null, 3))).thenReturn(List.of(named(1L, "Adams"), named(2L, "Baker"), named(3L, "Clark")));
+
+        CandidatePage page = candidateService.searchCandidates(null, null, null, null, null, null, null, null, 2);
+
+        assertThat(page.items()).extracting(CandidateResponse::getId).containsExactly(1L, 2L);
+        CandidateCursor cursor = CandidateCursor.decode(page.nextCursor(), CandidateSort.NAME);
+        assertThat(cursor.keys()).containsExactly("baker", "first");
+        assertThat(cursor.id()).isEqualTo(2L);
+    }
+
+    @Test
+    void searchCandidates_withCursor_resumesAfterItAndEndsWhenNoExtraRow() {
+        CandidateCursor after = new CandidateCursor(CandidateSort.NAME, List.of("baker", "first"), 2L);
+        when(candidateRepository.search(new CandidateSearchCriteria(null, null, null, Set.of(), null, null, null,
+                CandidateSort.NAME, after, 3))).thenReturn(List.of(named(3L, "Clark")));
+
+        CandidatePage page = candidateService.searchCandidates(null, null, null, null, null, null, null, after.encode(), 2);
+
+        assertThat(page.items()).extracting(CandidateResponse::getId).containsExactly(3L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchCandidates_cursorFromDifferentSort_throwsIllegalArgument() {
+        String cursor = new CandidateCursor(CandidateSort.NAME, List.of("baker", "first"), 2L).encode();
+
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, null, null, "updated", cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(candidateRepository, never()).search(any());
+    }
+
+    @Test
+    void searchCandidates_garbageCursor_throwsIllegalArgument() {
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, null, null, null, "not a cursor!", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void searchCandidates_limitOutOfRange_throwsIllegalArgument() {
+        assertThatThrownBy(() -> candidateService.searchCandidates(null, null, null, null, null, null, null, null,
+                CandidateService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 
-        List<CandidateResponse> result = candidateService.searchCandidates(null, null, null, null, "applied");
+    @Test
+    void getCandidatesByJob_paged_usesBoardOrderWithinJob() {
+        when(candidateRepository.search(new CandidateSearchCriteria(null, "SCREENING", 1L, Set.of(), null, null, null,
+                CandidateSort.STAGE_ORDER, null, CandidateService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(sampleCandidate));
+
+        CandidatePage page = candidateService.getCandidatesByJob(1L, PipelineStage.SCREENING, "", null);
 
-        assertThat(result).extracting(CandidateResponse::getId).containsExactly(21L, 20L);
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
     }
 
     // ── createFromParsedResume ────────────────────────────────────────────────
@@ -418,11 +748,13 @@ class CandidateServiceTest {
                 .email("jane@example.com").phone("555-0100")
                 .skills("Java, Docker")
                 .resumeUrl("/resumes/abc-123.pdf")
-                .stage(PipelineStage.APPLIED).stageOrder(0)
+                .stage(PipelineStage.APPLIED).stageOrder(0L)
                 .job(talentPoolJob)
                 .build();
 
         when(jobService.findOrCreateTalentPoolJob()).thenReturn(talentPoolJob);
+        when(candidateOrderRepository.neighbours(99L, PipelineStage.APPLIED, null, null))
+                .thenReturn(new Neighbours(null, null));
         when(candidateRepository.save(any(Candidate.class))).thenReturn(saved);
 
         CandidateResponse result = candidateService.createFromParsedResume(parsed, "/resumes/abc-123.pdf");
@@ -433,7 +765,97 @@ class CandidateServiceTest {
         assertThat(result.isTalentPool()).isTrue();
         assertThat(result.getJobTitle()).isEqualTo("Talent Pool");
         verify(candidateRepository).save(any(Candidate.class));
+        ArgumentCaptor<CandidateResume> resume = ArgumentCaptor.forClass(CandidateResume.class);
+        verify(candidateResumeRepository).save(resume.capture());
+        assertThat(resume.getValue().getCandidateId()).isEqualTo(50L);
+        assertThat(resume.getValue().getResumeText()).isEqualTo("raw resume text");
         verify(activityService).record(eq(ActivityType.RESUME_UPLOADED), eq(saved), eq(talentPoolJob),
-                anyString(), any(Map.class));
+                anyString(), anyMap());
+    }
+
+    @Test
+    void createFromParsedResumes_looksUpTheColumnOnceAndKeepsUploadOrder() {
+        Job talentPoolJob = Job.builder()
+                .id(99L)
+                .employer(JobService.TALENT_POOL_EMPLOYER)
+                .title(JobService.TALENT_POOL_TITLE)
+                .candidates(new ArrayList<>())
+                .build();
+        List<StoredResume> resumes = List.of(
+                new StoredResume(new ParsedResume("Jane", "Doe", "jane@example.com", null, "Java", "text"), "/a.pdf", true),
+                new StoredResume(new ParsedResume(null, null, null, null, null, "text"), "/b.pdf", true));
+
+        when(jobService.findOrCreateTalentPoolJob()).thenReturn(talentPoolJob);
+        when(candidateOrderRepository.neighbours(99L, PipelineStage.APPLIED, null, null))
+                .thenReturn(new Neighbours(StageOrderKeys.nth(3), null));
+        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<CandidateResponse> result = candidateService.createFromParsedResumes(resumes);
+
+        assertThat(result).extracting(CandidateResponse::getResumeUrl).containsExactly("/a.pdf", "/b.pdf");
+        assertThat(result).extracting(CandidateResponse::getStageOrder)
+                .containsExactly(StageOrderKeys.nth(4), StageOrderKeys.nth(5));
+        assertThat(result.get(1).getFirstName()).isEmpty();
+        verify(candidateOrderRepository, times(1)).neighbours(99L, PipelineStage.APPLIED, null, null);
+        verify(candidateFeatureIndex, times(1)).invalidate(anyList());
+        verify(activityService, times(2)).record(eq(ActivityType.RESUME_UPLOADED), any(Candidate.class),
+                eq(talentPoolJob), anyString(), anyMap());
+    }
+
+    // ── fullTextSearch ────────────────────────────────────────────────────────
+
+    @Test
+    void fullTextSearch_keepsRankOrderAndHighlightsSnippets() {
+        Candidate bob = Candidate.builder().id(11L).firstName("Bob").lastName("Jones").email("bob@example.com")
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(sampleJob).build();
+        when(candidateFullTextRepository.search("kafka", 20, 0)).thenReturn(List.of(
+                new CandidateFullTextRepository.Hit(11L, 0.9),
+                new CandidateFullTextRepository.Hit(99L, 0.5),
+                new CandidateFullTextRepository.Hit(10L, 0.2)));
+        when(candidateRepository.findByIdIn(List.of(11L, 99L, 10L))).thenReturn(List.of(sampleCandidate, bob));
+        when(candidateFullTextRepository.resumeSnippets("kafka", List.of(11L, 99L, 10L)))
+                .thenReturn(Map.of(11L, "Ran ⟦Kafka⟧ <clusters>"));
+        when(candidateFullTextRepository.noteSnippets("kafka", List.of(11L, 99L, 10L)))
+                .thenReturn(Map.of(10L, "Knows ⟦Kafka⟧"));
+
+        List<CandidateSearchHit> hits = candidateService.fullTextSearch("  kafka ", null, null);
+
+        assertThat(hits).extracting(hit -> hit.candidate().getId()).containsExactly(11L, 10L);
+        assertThat(hits.get(0).rank()).isEqualTo(0.9);
+        assertThat(hits.get(0).resumeSnippet()).isEqualTo("Ran <mark>Kafka</mark> &lt;clusters&gt;");
+        assertThat(hits.get(0).noteSnippet()).isNull();
+        assertThat(hits.get(1).noteSnippet()).isEqualTo("Knows <mark>Kafka</mark>");
+    }
+
+    @Test
+    void fullTextSearch_rejectsBlankQueryAndBadPaging() {
+        assertThatThrownBy(() -> candidateService.fullTextSearch(" ", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> candidateService.fullTextSearch("java", CandidateService.MAX_FULLTEXT_LIMIT + 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> candidateService.fullTextSearch("java", null, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(candidateFullTextRepository);
+    }
+
+    // ── typeahead ─────────────────────────────────────────────────────────────
+
+    @Test
+    void typeahead_lowerCasesTheQueryAndDefaultsTheLimit() {
+        List<CandidateSuggestion> suggestions = List.of(new CandidateSuggestion(1L, "Jane", "Smith", "jane@example.com"));
+        when(candidateRepository.suggest("jane smi", CandidateService.DEFAULT_TYPEAHEAD_LIMIT)).thenReturn(suggestions);
+
+        assertThat(candidateService.typeahead("  Jane Smi ", null)).isEqualTo(suggestions);
+    }
+
+    @Test
+    void typeahead_rejectsShortQueriesAndBadLimits() {
+        assertThatThrownBy(() -> candidateService.typeahead(" j ", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> candidateService.typeahead("jane", CandidateService.MAX_TYPEAHEAD_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> candidateService.typeahead("jane", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(candidateRepository, never()).suggest(anyString(), anyInt());
     }
 }
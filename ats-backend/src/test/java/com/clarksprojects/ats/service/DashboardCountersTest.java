@@ -0,0 +1,115 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.entity.JobStatus;
+import com.clarksprojects.ats.entity.PipelineStage;
+import com.clarksprojects.ats.entity.TaskStatus;
+import com.clarksprojects.ats.repository.DashboardCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCountersTest {
+
+    @Mock
+    private DashboardCounterRepository counterRepository;
+
+    @InjectMocks
+    private DashboardCounters dashboardCounters;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> capturedIncrement() {
+        ArgumentCaptor<Map<String, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(counterRepository).increment(deltas.capture());
+        return deltas.getValue();
+    }
+
+    @Test
+    void outsideTransaction_appliesDeltaImmediately() {
+        dashboardCounters.taskStatusChanged(null, TaskStatus.OPEN);
+
+        assertThat(capturedIncrement()).containsExactly(Map.entry("tasks.status:OPEN", 1L));
+    }
+
+    @Test
+    void unchangedValues_recordNothing() {
+        dashboardCounters.candidateStageChanged(PipelineStage.APPLIED, PipelineStage.APPLIED);
+        dashboardCounters.jobChanged("Acme", JobStatus.OPEN, "Acme", JobStatus.OPEN);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void insideTransaction_mergesDeltasAndAppliesThemSortedBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dashboardCounters.jobChanged(null, null, "Pixel", JobStatus.OPEN);
+        dashboardCounters.candidateStageChanged(null, PipelineStage.APPLIED);
+        dashboardCounters.candidateStageChanged(PipelineStage.APPLIED, PipelineStage.SCREENING);
+        dashboardCounters.candidateStageChanged(null, PipelineStage.APPLIED);
+        verify(counterRepository, never()).increment(anyMap());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("candidates.stage:APPLIED", 1L);
+        expected.put("candidates.stage:SCREENING", 1L);
+        expected.put("jobs.employer:Pixel", 1L);
+        expected.put("jobs.status:OPEN", 1L);
+        assertThat(capturedIncrement()).containsExactlyEntriesOf(expected);
+    }
+
+    @Test
+    void insideTransaction_deltasThatCancelOutAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dashboardCounters.taskStatusChanged(null, TaskStatus.OPEN);
+        dashboardCounters.taskStatusChanged(TaskStatus.OPEN, null);
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        assertThat(capturedIncrement()).isEmpty();
+    }
+
+    @Test
+    void reconcile_recountsFromTheBaseTables() {
+        ReflectionTestUtils.setField(dashboardCounters, "reconcileEnabled", true);
+
+        dashboardCounters.reconcile();
+
+        verify(counterRepository).recount();
+    }
+
+    @Test
+    void reconcile_disabled_touchesNothing() {
+        ReflectionTestUtils.setField(dashboardCounters, "reconcileEnabled", false);
+
+        dashboardCounters.reconcile();
+
+        verifyNoInteractions(counterRepository);
+    }
+}
@@ -1,24 +1,27 @@
 package com.clarksprojects.ats.service;
 
 import com.clarksprojects.ats.dto.DashboardStats;
-import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.entity.TaskStatus;
-import com.clarksprojects.ats.repository.CandidateRepository;
+import com.clarksprojects.ats.repository.DashboardQueryRepository;
+import com.clarksprojects.ats.repository.DashboardQueryRepository.TimeWindowCounts;
 import com.clarksprojects.ats.repository.FollowUpTaskRepository;
-import com.clarksprojects.ats.repository.JobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +30,10 @@ class DashboardServiceTest {
     private static final String SYSTEM_EMPLOYER = JobService.TALENT_POOL_EMPLOYER;
 
     @Mock
-    private JobRepository jobRepository;
+    private DashboardCounters dashboardCounters;
 
     @Mock
-    private CandidateRepository candidateRepository;
+    private DashboardQueryRepository dashboardQueryRepository;
 
     @Mock
     private FollowUpTaskRepository taskRepository;
@@ -43,108 +46,94 @@ class DashboardServiceTest {
 
     @BeforeEach
     void stubTasksAndActivity() {
-        when(taskRepository.countByStatus(TaskStatus.OPEN)).thenReturn(0L);
-        when(taskRepository.countByStatusAndDueAtBefore(any(TaskStatus.class), any(LocalDateTime.class))).thenReturn(0L);
         when(taskRepository.findTop5ByStatusOrderByDueAtAscCreatedAtAsc(TaskStatus.OPEN)).thenReturn(List.of());
-        when(candidateRepository.countHiredSince(any(LocalDateTime.class))).thenReturn(0L);
         when(activityService.recent(any(Integer.class))).thenReturn(List.of());
     }
 
+    private void stubTimeWindow(long hiredSince, long overdueTasks) {
+        when(dashboardQueryRepository.timeWindowCounts(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new TimeWindowCounts(hiredSince, overdueTasks));
+    }
+
+    private void stubCounters(Map<String, Long> counters) {
+        when(dashboardCounters.snapshot()).thenReturn(counters);
+    }
+
     @Test
-    void getStats_returnsAggregatedCounts() {
-        when(jobRepository.countByEmployerNot(SYSTEM_EMPLOYER)).thenReturn(6L);
-        when(jobRepository.countByStatus(JobStatus.OPEN)).thenReturn(4L);
-        when(candidateRepository.count()).thenReturn(13L);
-        when(candidateRepository.countByStage(PipelineStage.APPLIED)).thenReturn(3L);
-        when(candidateRepository.countByStage(PipelineStage.SCREENING)).thenReturn(3L);
-        when(candidateRepository.countByStage(PipelineStage.INTERVIEW)).thenReturn(2L);
-        when(candidateRepository.countByStage(PipelineStage.ASSESSMENT)).thenReturn(1L);
-        when(candidateRepository.countByStage(PipelineStage.OFFER)).thenReturn(1L);
-        when(candidateRepository.countByStage(PipelineStage.HIRED)).thenReturn(2L);
-        when(candidateRepository.countByStage(PipelineStage.REJECTED)).thenReturn(1L);
-        when(jobRepository.countJobsGroupedByEmployer(SYSTEM_EMPLOYER)).thenReturn(List.of(
-                new Object[]{"Acme", 3L},
-                new Object[]{"DataBridge", 2L},
-                new Object[]{"GrowthMedia", 1L}
-        ));
+    void getStats_derivesCountsFromCounters() {
+        Map<String, Long> counters = new HashMap<>();
+        counters.put("candidates.stage:APPLIED", 3L);
+        counters.put("candidates.stage:SCREENING", 3L);
+        counters.put("candidates.stage:HIRED", 2L);
+        counters.put("jobs.employer:Acme", 3L);
+        counters.put("jobs.employer:DataBridge", 2L);
+        counters.put("jobs.employer:GrowthMedia", 1L);
+        counters.put("jobs.employer:" + SYSTEM_EMPLOYER, 1L);
+        counters.put("jobs.status:OPEN", 4L);
+        counters.put("jobs.status:ON_HOLD", 3L);
+        counters.put("tasks.status:OPEN", 5L);
+        counters.put("tasks.status:DONE", 7L);
+        stubCounters(counters);
+        stubTimeWindow(2L, 1L);
 
         DashboardStats stats = dashboardService.getStats();
 
         assertThat(stats.totalJobs()).isEqualTo(6L);
         assertThat(stats.openJobs()).isEqualTo(4L);
-        assertThat(stats.totalCandidates()).isEqualTo(13L);
-        assertThat(stats.jobsByEmployer()).containsEntry("Acme", 3L);
-        assertThat(stats.jobsByEmployer()).containsEntry("DataBridge", 2L);
-        assertThat(stats.jobsByEmployer()).containsEntry("GrowthMedia", 1L);
+        assertThat(stats.totalCandidates()).isEqualTo(8L);
+        assertThat(stats.hiredThisMonth()).isEqualTo(2L);
+        assertThat(stats.openTasks()).isEqualTo(5L);
+        assertThat(stats.overdueTasks()).isEqualTo(1L);
+        assertThat(stats.jobsByEmployer())
+                .containsOnly(Map.entry("Acme", 3L), Map.entry("DataBridge", 2L), Map.entry("GrowthMedia", 1L));
     }
 
     @Test
-    void getStats_jobsByEmployer_groupedByEmployer() {
-        when(jobRepository.countByEmployerNot(SYSTEM_EMPLOYER)).thenReturn(4L);
-        when(jobRepository.countByStatus(JobStatus.OPEN)).thenReturn(2L);
-        when(candidateRepository.count()).thenReturn(0L);
-        for (PipelineStage stage : PipelineStage.values()) {
-            when(candidateRepository.countByStage(stage)).thenReturn(0L);
-        }
-        when(jobRepository.countJobsGroupedByEmployer(SYSTEM_EMPLOYER)).thenReturn(List.of(
-                new Object[]{"Acme", 2L},
-                new Object[]{"Pixel", 2L}
-        ));
+    void getStats_employersWithNoJobsLeftAreOmitted() {
+        stubCounters(Map.of("jobs.employer:Acme", 2L, "jobs.employer:Pixel", 0L));
+        stubTimeWindow(0, 0);
 
         DashboardStats stats = dashboardService.getStats();
 
-        assertThat(stats.jobsByEmployer()).hasSize(2)
-                .containsEntry("Acme", 2L)
-                .containsEntry("Pixel", 2L);
+        assertThat(stats.jobsByEmployer()).containsOnly(Map.entry("Acme", 2L));
+        assertThat(stats.totalJobs()).isEqualTo(2L);
     }
 
     @Test
-    void getStats_candidatesByStage_containsAllStages() {
-        when(jobRepository.countByStatus(JobStatus.OPEN)).thenReturn(0L);
-        when(candidateRepository.count()).thenReturn(0L);
-        for (PipelineStage stage : PipelineStage.values()) {
-            when(candidateRepository.countByStage(stage)).thenReturn(0L);
-        }
+    void getStats_countsHiresFromStartOfMonth() {
+        stubCounters(Map.of());
+        stubTimeWindow(0, 0);
 
-        DashboardStats stats = dashboardService.getStats();
+        dashboardService.getStats();
 
-        assertThat(stats.candidatesByStage()).containsKeys(
-                PipelineStage.APPLIED.name(),
-                PipelineStage.SCREENING.name(),
-                PipelineStage.INTERVIEW.name(),
-                PipelineStage.ASSESSMENT.name(),
-                PipelineStage.OFFER.name(),
-                PipelineStage.HIRED.name(),
-                PipelineStage.REJECTED.name()
-        );
+        ArgumentCaptor<LocalDateTime> hiredSince = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(dashboardQueryRepository).timeWindowCounts(hiredSince.capture(), now.capture());
+        assertThat(hiredSince.getValue()).isEqualTo(now.getValue().toLocalDate().withDayOfMonth(1).atStartOfDay());
     }
 
     @Test
-    void getStats_candidatesByStage_valuesMatchRepositoryCounts() {
-        when(jobRepository.countByStatus(JobStatus.OPEN)).thenReturn(1L);
-        when(candidateRepository.count()).thenReturn(5L);
-        when(candidateRepository.countByStage(PipelineStage.APPLIED)).thenReturn(5L);
-        when(candidateRepository.countByStage(PipelineStage.SCREENING)).thenReturn(0L);
-        when(candidateRepository.countByStage(PipelineStage.INTERVIEW)).thenReturn(0L);
-        when(candidateRepository.countByStage(PipelineStage.ASSESSMENT)).thenReturn(0L);
-        when(candidateRepository.countByStage(PipelineStage.OFFER)).thenReturn(0L);
-        when(candidateRepository.countByStage(PipelineStage.HIRED)).thenReturn(0L);
-        when(candidateRepository.countByStage(PipelineStage.REJECTED)).thenReturn(0L);
+    void getStats_candidatesByStage_containsAllStagesInOrder() {
+        stubCounters(Map.of("candidates.stage:APPLIED", 5L));
+        stubTimeWindow(0, 0);
 
         DashboardStats stats = dashboardService.getStats();
 
-        assertThat(stats.candidatesByStage().get(PipelineStage.APPLIED.name())).isEqualTo(5L);
-        assertThat(stats.candidatesByStage().get(PipelineStage.SCREENING.name())).isEqualTo(0L);
+        assertThat(stats.candidatesByStage()).containsExactly(
+                Map.entry(PipelineStage.APPLIED.name(), 5L),
+                Map.entry(PipelineStage.SCREENING.name(), 0L),
+                Map.entry(PipelineStage.INTERVIEW.name(), 0L),
+                Map.entry(PipelineStage.ASSESSMENT.name(), 0L),
+                Map.entry(PipelineStage.OFFER.name(), 0L),
+                Map.entry(PipelineStage.HIRED.name(), 0L),
+                Map.entry(PipelineStage.REJECTED.name(), 0L)
+        );
     }
 
     @Test
     void getStats_emptyDatabase_returnsZeroCounts() {
-        when(jobRepository.countByEmployerNot(SYSTEM_EMPLOYER)).thenReturn(0L);
-        when(jobRepository.countByStatus(JobStatus.OPEN)).thenReturn(0L);
-        when(candidateRepository.count()).thenReturn(0L);
-        for (PipelineStage stage : PipelineStage.values()) {
-            when(candidateRepository.countByStage(stage)).thenReturn(0L);
-        }
+        stubCounters(Map.of());
+        stubTimeWindow(0, 0);
 
         DashboardStats stats = dashboardService.getStats();
 
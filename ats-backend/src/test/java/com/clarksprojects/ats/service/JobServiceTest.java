@@ -2,6 +2,7 @@ package com.clarksprojects.ats.service;
 
 import com.clarksprojects.ats.dto.JobRequest;
 import com.clarksprojects.ats.dto.JobResponse;
+import com.clarksprojects.ats.dto.JobTopCandidates;
 import com.clarksprojects.ats.dto.TopCandidateMatch;
 import com.clarksprojects.ats.entity.Candidate;
 import com.clarksprojects.ats.entity.EmploymentType;
@@ -9,7 +10,6 @@ import com.clarksprojects.ats.entity.Job;
 import com.clarksprojects.ats.entity.JobStatus;
 import com.clarksprojects.ats.entity.PipelineStage;
 import com.clarksprojects.ats.exception.ResourceNotFoundException;
-import com.clarksprojects.ats.repository.CandidateRepository;
 import com.clarksprojects.ats.repository.JobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +34,16 @@ class JobServiceTest {
     private JobRepository jobRepository;
 
     @Mock
-    private CandidateRepository candidateRepository;
+    private CandidateMatchingService candidateMatchingService;
+
+    @Mock
+    private CandidateFeatureIndex candidateFeatureIndex;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private ParsedResumeCache parsedResumeCache;
 
     @InjectMocks
     private JobService jobService;
@@ -174,11 +183,16 @@ class JobServiceTest {
 
     @Test
     void deleteJob_existingId_deletesJob() {
+        sampleJob.getCandidates().add(Candidate.builder().id(7L).stage(PipelineStage.APPLIED)
+                .resumeUrl("/api/talent-pool/resumes/a.pdf").job(sampleJob).build());
         when(jobRepository.findById(1L)).thenReturn(Optional.of(sampleJob));
 
         jobService.deleteJob(1L);
 
         verify(jobRepository).delete(sampleJob);
+        verify(candidateFeatureIndex).invalidate(List.of(7L));
+        verify(parsedResumeCache).forget(List.of("/api/talent-pool/resumes/a.pdf"));
+        verify(dashboardCounters).jobChanged(sampleJob.getEmployer(), sampleJob.getStatus(), null, null);
     }
 
     @Test
@@ -324,189 +338,53 @@ class JobServiceTest {
     // ── getTopCandidates ─────────────────────────────────────────────────────
 
     @Test
-    void getTopCandidates_jobHasNoRequiredSkills_returnsEmptyList() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills(null)
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
-                .candidates(new ArrayList<>())
-                .build();
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-
-        List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
-
-        assertThat(result).isEmpty();
-        verify(candidateRepository, never()).findAll();
-    }
-
-    @Test
-    void getTopCandidates_candidateWithMatchingSkills_isIncluded() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills("Java, Spring")
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
-                .candidates(new ArrayList<>())
-                .build();
-
-        Candidate matching = Candidate.builder()
-                .id(10L)
-                .firstName("Alice")
-                .lastName("Smith")
-                .email("alice@example.com")
-                .skills("Java, Spring, Docker")
-                .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
-                .job(sampleJob)
-                .build();
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-        when(candidateRepository.findAll()).thenReturn(List.of(matching));
-
-        List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).candidateId()).isEqualTo(10L);
-        assertThat(result.get(0).skillsMatchPercent()).isEqualTo(100);
-    }
-
-    @Test
-    void getTopCandidates_candidateWithNoMatchingSkills_isFiltered() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills("Java, Spring")
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
-                .candidates(new ArrayList<>())
-                .build();
-
-        Candidate noMatch = Candidate.builder()
-                .id(20L)
-                .firstName("Bob")
-                .lastName("Jones")
-                .email("bob@example.com")
-                .skills("Python, Django")
-                .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
-                .job(sampleJob)
-                .build();
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-        when(candidateRepository.findAll()).thenReturn(List.of(noMatch));
+    void getTopCandidates_delegatesToMatchingServiceWithLoadedJob() {
+        TopCandidateMatch match = new TopCandidateMatch(10L, "Alice", "Smith", "alice@example.com",
+                100, 0, -1.0, List.of("Java"), List.of("Java"));
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(sampleJob));
+        when(candidateMatchingService.topCandidates(sampleJob)).thenReturn(List.of(match));
 
         List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
 
-        assertThat(result).isEmpty();
+        assertThat(result).containsExactly(match);
     }
 
     @Test
-    void getTopCandidates_withGeoCoordsOnBothJobAndCandidate_includesDistanceInResult() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills("Java")
-                .latitude(37.3382)
-                .longitude(-121.8863)  // San Jose, CA
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
-                .candidates(new ArrayList<>())
-                .build();
-
-        Candidate candidate = Candidate.builder()
-                .id(10L)
-                .firstName("Alice")
-                .lastName("Smith")
-                .email("alice@example.com")
-                .skills("Java")
-                .latitude(37.7749)
-                .longitude(-122.4194)  // San Francisco, CA
-                .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
-                .job(sampleJob)
-                .build();
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-        when(candidateRepository.findAll()).thenReturn(List.of(candidate));
-
-        List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
+    void getTopCandidates_unknownJob_throwsNotFound() {
+        when(jobRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThat(result).hasSize(1);
-        // Distance SJ → SF is ~48 miles — should be populated
-        assertThat(result.get(0).distanceMiles()).isGreaterThan(40.0);
-        assertThat(result.get(0).distanceMiles()).isLessThan(60.0);
+        assertThatThrownBy(() -> jobService.getTopCandidates(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(candidateMatchingService);
     }
 
     @Test
-    void getTopCandidates_moreThanFiveCandidates_limitsResultToFive() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills("Java")
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
+    void getTopCandidatesForOpenJobs_scoresAllOpenJobsInOneCall() {
+        Job other = Job.builder()
+                .id(2L).employer("Globex").title("Data Engineer")
+                .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME)
                 .candidates(new ArrayList<>())
                 .build();
-
-        List<Candidate> candidates = new ArrayList<>();
-        for (int i = 1; i <= 8; i++) {
-            candidates.add(Candidate.builder()
-                    .id((long) i)
-                    .firstName("Candidate")
-                    .lastName("Number" + i)
-                    .email("c" + i + "@example.com")
-                    .skills("Java, Spring")
-                    .stage(PipelineStage.APPLIED)
-                    .stageOrder(0)
-                    .job(sampleJob)
-                    .build());
-        }
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-        when(candidateRepository.findAll()).thenReturn(candidates);
-
-        List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
-
-        assertThat(result).hasSize(5);
+        TopCandidateMatch match = new TopCandidateMatch(10L, "Alice", "Smith", "alice@example.com",
+                100, 0, -1.0, List.of("Java"), List.of("Java"));
+        when(jobRepository.findByStatusOrderByCreatedAtDesc(JobStatus.OPEN)).thenReturn(List.of(sampleJob, other));
+        when(candidateMatchingService.topCandidates(List.of(sampleJob, other), 3))
+                .thenReturn(List.of(List.of(match), List.of()));
+
+        List<JobTopCandidates> result = jobService.getTopCandidatesForOpenJobs(3);
+
+        assertThat(result).extracting(JobTopCandidates::jobId).containsExactly(1L, 2L);
+        assertThat(result.get(0).title()).isEqualTo("Software Engineer");
+        assertThat(result.get(0).matches()).containsExactly(match);
+        assertThat(result.get(1).matches()).isEmpty();
     }
 
     @Test
-    void getTopCandidates_candidateWithNullSkills_isFiltered() {
-        Job job = Job.builder()
-                .id(1L)
-                .employer("Acme")
-                .title("Dev")
-                .requiredSkills("Java")
-                .status(JobStatus.OPEN)
-                .employmentType(EmploymentType.FULL_TIME)
-                .candidates(new ArrayList<>())
-                .build();
-
-        Candidate noSkills = Candidate.builder()
-                .id(5L)
-                .firstName("Dave")
-                .lastName("Blank")
-                .email("dave@example.com")
-                .skills(null)
-                .stage(PipelineStage.APPLIED)
-                .stageOrder(0)
-                .job(sampleJob)
-                .build();
-
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
-        when(candidateRepository.findAll()).thenReturn(List.of(noSkills));
-
-        List<TopCandidateMatch> result = jobService.getTopCandidates(1L);
-
-        assertThat(result).isEmpty();
+    void getTopCandidatesForOpenJobs_limitOutOfRange_throwsIllegalArgument() {
+        assertThatThrownBy(() -> jobService.getTopCandidatesForOpenJobs(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobService.getTopCandidatesForOpenJobs(JobService.MAX_TOP_CANDIDATES + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(candidateMatchingService);
     }
 }
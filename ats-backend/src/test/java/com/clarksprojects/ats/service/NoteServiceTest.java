@@ -43,7 +43,7 @@ class NoteServiceTest {
         Job job = Job.builder().id(1L).employer("Acme").title("Eng").department("Eng")
                 .location("Remote").status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME).build();
         candidate = Candidate.builder().id(10L).firstName("Alice").lastName("Smith")
-                .email("a@b.com").stage(PipelineStage.APPLIED).stageOrder(0).job(job).build();
+                .email("a@b.com").stage(PipelineStage.APPLIED).stageOrder(0L).job(job).build();
         author = User.builder().id(1L).username("rec").password("x").email("r@x.com")
                 .fullName("Recruiter").role(Role.RECRUITER).build();
     }
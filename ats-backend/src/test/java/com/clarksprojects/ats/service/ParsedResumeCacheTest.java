@@ -0,0 +1,151 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.ParsedResume;
+import com.clarksprojects.ats.entity.ParsedResumeEntry;
+import com.clarksprojects.ats.repository.ParsedResumeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ParsedResumeCacheTest {
+
+    private static final Duration MAX_AGE = Duration.ofDays(30);
+
+    private final ParsedResumeRepository repository = mock(ParsedResumeRepository.class);
+
+    private static ParsedResume parsed(String firstName) {
+        return new ParsedResume(firstName, "Doe", null, null, "Java", firstName + " Doe\nJava");
+    }
+
+    private static ParsedResumeEntry entry(int parserVersion) {
+        return ParsedResumeEntry.builder()
+                .contentHash("abc")
+                .parserVersion(parserVersion)
+                .firstName("Jane")
+                .rawText("Jane Doe")
+                .build();
+    }
+
+    @Test
+    void find_servesRecentResultsFromMemoryWithoutSkills() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        cache.put("abc", parsed("Jane"));
+
+        assertThat(cache.find("abc")).get()
+                .extracting(ParsedResume::firstName, ParsedResume::skills)
+                .containsExactly("Jane", null);
+        verify(repository, times(0)).findById(any());
+    }
+
+    @Test
+    void find_evictsTheLeastRecentlyUsedResult() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        cache.put("a", parsed("Ann"));
+        cache.put("b", parsed("Bob"));
+        cache.find("a");
+        cache.put("c", parsed("Cy"));
+
+        assertThat(cache.find("a")).isPresent();
+        assertThat(cache.find("c")).isPresent();
+        assertThat(cache.find("b")).isEmpty();
+        verify(repository).findById("b");
+    }
+
+    @Test
+    void find_ignoresResultsOfAnotherParserVersion() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        when(repository.findById("abc")).thenReturn(Optional.of(entry(ResumeParserService.PARSER_VERSION - 1)));
+
+        assertThat(cache.find("abc")).isEmpty();
+    }
+
+    @Test
+    void find_loadsStoredResultsIntoMemory() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        when(repository.findById("abc")).thenReturn(Optional.of(entry(ResumeParserService.PARSER_VERSION)));
+
+        assertThat(cache.find("abc")).map(ParsedResume::firstName).contains("Jane");
+        assertThat(cache.find("abc")).isPresent();
+        verify(repository, times(1)).findById("abc");
+    }
+
+    @Test
+    void databaseErrorsAreTreatedAsMisses() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 0, MAX_AGE);
+        when(repository.findById("abc")).thenThrow(new DataAccessResourceFailureException("down"));
+        when(repository.save(any(ParsedResumeEntry.class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        cache.put("abc", parsed("Jane"));
+
+        assertThat(cache.find("abc")).isEmpty();
+    }
+
+    @Test
+    void put_dropsNulCharactersThatPostgresCannotStore() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+
+        cache.put("abc", new ParsedResume("Jane", "Doe", null, null, null, "Jane\u0000 Doe"));
+
+        assertThat(cache.find("abc")).map(ParsedResume::rawText).contains("Jane Doe");
+    }
+
+    @Test
+    void forget_deletesUnreferencedParsesOfContentAddressedResumes() {
+        String hash = "c".repeat(64);
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        cache.put(hash, parsed("Jane"));
+
+        cache.forget(Arrays.asList(ResumeStorage.URL_PREFIX + hash + ".pdf",
+                ResumeStorage.URL_PREFIX + "0b7c3a52-8d3e-4c1f-9a3e-2f1d4c5b6a7e.pdf", null));
+
+        verify(repository).deleteUnreferenced(List.of(hash), ResumeStorage.URL_PREFIX);
+        cache.find(hash);
+        verify(repository).findById(hash);
+    }
+
+    @Test
+    void forget_withoutContentAddressedResumes_touchesNothing() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+
+        cache.forget(Arrays.asList((String) null));
+
+        verify(repository, never()).deleteUnreferenced(any(), any());
+    }
+
+    @Test
+    void purgeStale_deletesOtherVersionsAndRowsPastMaxAge() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE);
+        LocalDateTime before = LocalDateTime.now().minus(MAX_AGE);
+
+        cache.purgeStale();
+
+        verify(repository).deleteOtherVersions(ResumeParserService.PARSER_VERSION);
+        verify(repository).deleteParsedBefore(argThat(cutoff -> !cutoff.isBefore(before)
+                && !cutoff.isAfter(LocalDateTime.now().minus(MAX_AGE))));
+    }
+
+    @Test
+    void purgeStale_disabled_deletesNothing() {
+        ParsedResumeCache cache = new ParsedResumeCache(repository, 2, MAX_AGE, false);
+
+        cache.purgeStale();
+
+        verifyNoInteractions(repository);
+    }
+}
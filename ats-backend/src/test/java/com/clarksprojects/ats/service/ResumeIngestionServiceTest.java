@@ -0,0 +1,256 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.dto.BulkUploadStatus;
+import com.clarksprojects.ats.dto.BulkUploadStatus.FileState;
+import com.clarksprojects.ats.dto.CandidateResponse;
+import com.clarksprojects.ats.dto.StoredResume;
+import com.clarksprojects.ats.exception.ResourceNotFoundException;
+import com.clarksprojects.ats.repository.ParsedResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ResumeIngestionServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final CandidateService candidateService = mock(CandidateService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private ResumeIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ResumeIngestionService(parser(),
+                new ResumeStorage(new LocalDiskBlobStore(uploadDir.toString())),
+                candidateService, Runnable::run, 2, Duration.ofHours(1));
+    }
+
+    /** The file name is part of the content, so resumes with different names are different files. */
+    private static ResumeParserService parser() {
+        return new ResumeParserService(new SkillExtractor(),
+                new ParsedResumeCache(mock(ParsedResumeRepository.class), 16, Duration.ofDays(30)));
+    }
+
+    private static MockMultipartFile resume(String name, String firstName) {
+        return file(name, (firstName + " Doe\n" + firstName.toLowerCase() + "@example.com\nJava\n" + name + "\n").getBytes());
+    }
+
+    private static MockMultipartFile file(String name, byte[] content) {
+        return new MockMultipartFile("files", name, null, content);
+    }
+
+    /** Creates one candidate per resume, numbering them in call order. */
+    private List<CandidateResponse> created(List<StoredResume> resumes) {
+        return resumes.stream()
+                .map(r -> CandidateResponse.builder().id(ids.incrementAndGet()).firstName(r.parsed().firstName()).build())
+                .toList();
+    }
+
+    private static List<Long> idsUpTo(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(Long::valueOf).toList();
+    }
+
+    @Test
+    void start_createsCandidatesInBatches() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+        List<MultipartFile> files = IntStream.range(0, ResumeIngestionService.BATCH_SIZE + 5)
+                .<MultipartFile>mapToObj(i -> resume("resume" + i + ".txt", "Jane"))
+                .toList();
+
+        BulkUploadStatus started = service.start(files);
+        BulkUploadStatus status = service.status(started.id());
+
+        assertThat(status.state()).isEqualTo(BulkUploadStatus.State.COMPLETED);
+        assertThat(status.total()).isEqualTo(files.size());
+        assertThat(status.created()).isEqualTo(files.size());
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::candidateId)
+                .containsExactlyElementsOf(idsUpTo(files.size()));
+        verify(candidateService, times(2)).createFromParsedResumes(anyList());
+        try (var stored = Files.list(uploadDir)) {
+            assertThat(stored).hasSize(files.size());
+        }
+    }
+
+    @Test
+    void start_recordsUnusableFilesWithoutFailingTheRest() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+
+        BulkUploadStatus status = service.start(List.of(
+                resume("jane.txt", "Jane"),
+                file("tool.exe", new byte[]{0x4D, 0x5A}),
+                file("fake.pdf", new byte[]{0x4D, 0x5A, 0x00, 0x00}),
+                resume("john.txt", "John")));
+
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::state)
+                .containsExactly(FileState.CREATED, FileState.FAILED, FileState.FAILED, FileState.CREATED);
+        assertThat(status.files().get(1).error()).isEqualTo("Unsupported file extension");
+        assertThat(status.files().get(2).error()).contains("Unsupported file type");
+        assertThat(status.created()).isEqualTo(2);
+        assertThat(status.failed()).isEqualTo(2);
+    }
+
+    @Test
+    void start_retriesAFailedBatchOneByOneAndDiscardsOrphanedFiles() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> {
+            List<StoredResume> resumes = inv.getArgument(0);
+            if (resumes.size() > 1 || "John".equals(resumes.get(0).parsed().firstName())) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return created(resumes);
+        });
+
+        BulkUploadStatus status = service.start(List.of(resume("jane.txt", "Jane"), resume("john.txt", "John")));
+
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::state)
+                .containsExactly(FileState.CREATED, FileState.FAILED);
+        assertThat(status.files().get(1).error()).isEqualTo("Could not create candidate");
+        try (var stored = Files.list(uploadDir)) {
+            assertThat(stored).hasSize(1);
+        }
+    }
+
+    @Test
+    void start_failedCandidate_keepsAFileThatWasStoredBefore() throws IOException {
+        MockMultipartFile john = resume("john.txt", "John");
+        Path spooled = Files.createTempFile("resume-", ".upload");
+        Files.write(spooled, john.getBytes());
+        ResumeStorage storage = new ResumeStorage(new LocalDiskBlobStore(uploadDir.toString()));
+        storage.store(storage.filenameFor("john.txt", spooled), spooled);
+        when(candidateService.createFromParsedResumes(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+
+        BulkUploadStatus status = service.start(List.of(john));
+
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::state).containsExactly(FileState.FAILED);
+        try (var stored = Files.list(uploadDir)) {
+            assertThat(stored).hasSize(1);
+        }
+    }
+
+    @Test
+    void start_skipsFilesUploadedBefore() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+        MockMultipartFile jane = resume("jane.txt", "Jane");
+        MockMultipartFile john = resume("john.txt", "John");
+        CandidateResponse existing = CandidateResponse.builder().id(42L).build();
+        when(candidateService.findByResumeUrl(anyString())).thenAnswer(inv ->
+                inv.getArgument(0, String.class).equals(ResumeStorage.URL_PREFIX + hashedName(john))
+                        ? Optional.of(existing) : Optional.empty());
+
+        BulkUploadStatus status = service.start(List.of(jane, john, file("copy.txt", jane.getBytes())));
+
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::state)
+                .containsExactly(FileState.CREATED, FileState.DUPLICATE, FileState.DUPLICATE);
+        assertThat(status.files().get(1).candidateId()).isEqualTo(42L);
+        assertThat(status.files().get(2).error()).isEqualTo("Same file as jane.txt");
+        assertThat(status.created()).isEqualTo(1);
+        assertThat(status.duplicates()).isEqualTo(2);
+        assertThat(status.processed()).isEqualTo(3);
+        try (var stored = Files.list(uploadDir)) {
+            assertThat(stored).hasSize(1);
+        }
+    }
+
+    private static String hashedName(MockMultipartFile file) throws IOException {
+        Path copy = Files.createTempFile("resume-", ".upload");
+        try {
+            Files.write(copy, file.getBytes());
+            return ResumeStorage.sha256(copy) + ".txt";
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    void start_expandsZipArchives() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            zip.putNextEntry(new ZipEntry("resumes/"));
+            zip.putNextEntry(new ZipEntry("resumes/jane.txt"));
+            zip.write(resume("jane.txt", "Jane").getBytes());
+            zip.putNextEntry(new ZipEntry("__MACOSX/resumes/._jane.txt"));
+            zip.write(new byte[]{0, 5, 22, 7});
+            zip.putNextEntry(new ZipEntry("resumes/john.txt"));
+            zip.write(resume("john.txt", "John").getBytes());
+        }
+
+        BulkUploadStatus status = service.start(List.of(file("batch.ZIP", archive.toByteArray())));
+
+        assertThat(status.files()).extracting(BulkUploadStatus.FileResult::name)
+                .containsExactly("jane.txt", "john.txt");
+        assertThat(status.created()).isEqualTo(2);
+    }
+
+    @Test
+    void start_rejectsTooManyFiles() {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i <= ResumeIngestionService.MAX_FILES; i++) {
+            files.add(resume("resume" + i + ".txt", "Jane"));
+        }
+
+        assertThatThrownBy(() -> service.start(files))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most " + ResumeIngestionService.MAX_FILES);
+    }
+
+    @Test
+    void start_rejectsAnEmptyUpload() {
+        assertThatThrownBy(() -> service.start(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void start_disabled_throwsNotFound() {
+        service = new ResumeIngestionService(parser(),
+                new ResumeStorage(new LocalDiskBlobStore(uploadDir.toString())),
+                candidateService, null, 2, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> service.start(List.of(resume("jane.txt", "Jane"))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(candidateService);
+    }
+
+    @Test
+    void status_throwsForUnknownUpload() {
+        assertThatThrownBy(() -> service.status("no-such-upload"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void status_forgetsUploadsFinishedLongerThanTheRetention() throws IOException {
+        when(candidateService.createFromParsedResumes(anyList())).thenAnswer(inv -> created(inv.getArgument(0)));
+        service = new ResumeIngestionService(parser(),
+                new ResumeStorage(new LocalDiskBlobStore(uploadDir.toString())),
+                candidateService, Runnable::run, 2, Duration.ofMillis(-1));
+
+        String id = service.start(List.of(resume("jane.txt", "Jane"))).id();
+
+        assertThatThrownBy(() -> service.status(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -1,16 +1,37 @@
 package com.clarksprojects.ats.service;
 
 import com.clarksprojects.ats.dto.ParsedResume;
+import com.clarksprojects.ats.entity.ParsedResumeEntry;
 import com.clarksprojects.ats.exception.UnsupportedFileTypeException;
+import com.clarksprojects.ats.repository.ParsedResumeRepository;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class ResumeParserServiceTest {
 
-    private final ResumeParserService service = new ResumeParserService();
+    private final ParsedResumeRepository parsedResumeRepository = mock(ParsedResumeRepository.class);
+    private final ResumeParserService service = new ResumeParserService(new SkillExtractor(),
+            new ParsedResumeCache(parsedResumeRepository, 16, Duration.ofDays(30)));
 
     @Test
     void parse_rejectsUnsupportedFileType() {
@@ -82,4 +103,82 @@ class ResumeParserServiceTest {
         assertThat(result.firstName()).isEmpty();
         assertThat(result.lastName()).isEmpty();
     }
+
+    private static Path writePdf(Path pdf) throws Exception {
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream text = new PDPageContentStream(doc, page)) {
+                text.beginText();
+                text.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                text.setLeading(16);
+                text.newLineAtOffset(72, 700);
+                text.showText("Jane Doe");
+                text.newLine();
+                text.showText("jane.doe@example.com");
+                text.newLine();
+                text.showText("Kotlin, Kafka, Terraform");
+                text.endText();
+            }
+            doc.save(pdf.toFile());
+        }
+        return pdf;
+    }
+
+    @Test
+    void parse_readsPdfFromFile(@TempDir Path dir) throws Exception {
+        ParsedResume result = service.parse(writePdf(dir.resolve("resume.pdf")));
+
+        assertThat(result.firstName()).isEqualTo("Jane");
+        assertThat(result.email()).isEqualTo("jane.doe@example.com");
+        assertThat(result.skills()).contains("Kotlin").contains("Kafka").contains("Terraform");
+    }
+
+    @Test
+    void parse_reusesTheCachedResultForTheSameFile(@TempDir Path dir) throws Exception {
+        Path pdf = writePdf(dir.resolve("resume.pdf"));
+
+        ParsedResume first = service.parse(pdf);
+        ParsedResume second = service.parse(Files.copy(pdf, dir.resolve("copy.pdf")));
+
+        assertThat(second).isEqualTo(first);
+        verify(parsedResumeRepository, times(1)).save(any(ParsedResumeEntry.class));
+    }
+
+    @Test
+    void parse_usesAStoredResultOfTheCurrentParserVersion(@TempDir Path dir) throws Exception {
+        Path pdf = writePdf(dir.resolve("resume.pdf"));
+        when(parsedResumeRepository.findById(ResumeStorage.sha256(pdf))).thenReturn(Optional.of(
+                ParsedResumeEntry.builder()
+                        .parserVersion(ResumeParserService.PARSER_VERSION)
+                        .firstName("Stored").lastName("Name")
+                        .rawText("Stored Name\nRust")
+                        .build()));
+
+        ParsedResume result = service.parse(pdf);
+
+        assertThat(result.firstName()).isEqualTo("Stored");
+        assertThat(result.skills()).isEqualTo("Rust");
+        verify(parsedResumeRepository, never()).save(any(ParsedResumeEntry.class));
+    }
+
+    @Test
+    void parse_detectsTypeFromContentNotFileName(@TempDir Path dir) throws Exception {
+        Path disguised = dir.resolve("resume.pdf");
+        Files.write(disguised, new byte[]{0x4D, 0x5A, 0x00, 0x00});
+
+        assertThatThrownBy(() -> service.parse(disguised))
+                .isInstanceOf(UnsupportedFileTypeException.class);
+    }
+
+    @Test
+    void parse_matchesSkillsAsWholeWordsOnly() throws Exception {
+        String content = "Jane Doe\njane@example.com\nJavaScript developer, formerly at Google\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "resume.txt", "text/plain", content.getBytes());
+
+        ParsedResume result = service.parse(file);
+
+        assertThat(result.skills()).isEqualTo("JavaScript");
+    }
 }
@@ -0,0 +1,82 @@
+package com.clarksprojects.ats.service;
+
+import com.clarksprojects.ats.service.BlobStore.Blob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResumeStorageTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @TempDir
+    Path spoolDir;
+
+    private ResumeStorage storage() {
+        return new ResumeStorage(new LocalDiskBlobStore(uploadDir.toString()));
+    }
+
+    private Path spooled(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(spoolDir, "resume-", ".upload"), content);
+    }
+
+    @Test
+    void filenameFor_isTheContentHashPlusExtension() throws IOException {
+        String filename = storage().filenameFor("Jane Resume.PDF", spooled("abc"));
+
+        assertThat(filename).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad.pdf");
+        assertThat(ResumeStorage.contentHashOf(filename)).contains(filename.substring(0, 64));
+    }
+
+    @Test
+    void filenameFor_rejectsUnsupportedExtension() {
+        assertThatThrownBy(() -> storage().filenameFor("tool.exe", spooled("MZ")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void store_keepsOneCopyOfTheSameContent() throws IOException {
+        ResumeStorage storage = storage();
+        Path first = spooled("Jane Doe");
+        Path second = spooled("Jane Doe");
+        String filename = storage.filenameFor("jane.txt", first);
+
+        assertThat(storage.store(filename, first)).isTrue();
+        assertThat(storage.store(storage.filenameFor("copy.txt", second), second)).isFalse();
+
+        assertThat(second).doesNotExist();
+        try (var stored = Files.list(uploadDir)) {
+            assertThat(stored).hasSize(1);
+        }
+        Blob blob = storage.find(filename).orElseThrow();
+        assertThat(blob.size()).isEqualTo(8);
+        try (InputStream in = storage.open(blob)) {
+            assertThat(in.readAllBytes()).isEqualTo("Jane Doe".getBytes());
+        }
+    }
+
+    @Test
+    void find_servesLegacyUuidFilenames() throws IOException {
+        String legacy = "123e4567-e89b-12d3-a456-426614174000.pdf";
+        Files.writeString(uploadDir.resolve(legacy), "old");
+
+        assertThat(storage().find(legacy)).map(Blob::size).contains(3L);
+        assertThat(ResumeStorage.contentHashOf(legacy)).isEmpty();
+    }
+
+    @Test
+    void isValidFilename_rejectsAnythingElse() throws IOException {
+        assertThat(ResumeStorage.isValidFilename("../etc/passwd")).isFalse();
+        assertThat(ResumeStorage.isValidFilename("resume.pdf")).isFalse();
+        assertThat(storage().find("../etc/passwd")).isEqualTo(Optional.empty());
+    }
+}
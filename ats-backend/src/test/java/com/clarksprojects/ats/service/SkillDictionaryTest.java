@@ -0,0 +1,54 @@
+package com.clarksprojects.ats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillDictionaryTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+
+    @Test
+    void constructor_seedsTechSkillsAsNormalizedKeys() {
+        assertThat(dictionary.idOf("java")).isNotNegative();
+        assertThat(dictionary.idOf("spring boot")).isNotNegative();
+        assertThat(dictionary.idOf("Java")).isEqualTo(-1);
+        assertThat(dictionary.size()).isEqualTo(ResumeParserService.TECH_SKILLS.size());
+    }
+
+    @Test
+    void intern_newSkill_assignsNextIdAndIsStable() {
+        int before = dictionary.size();
+
+        int id = dictionary.intern("cobol");
+
+        assertThat(id).isEqualTo(before);
+        assertThat(dictionary.intern("cobol")).isEqualTo(id);
+        assertThat(dictionary.size()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void lookupAll_unknownSkill_isSkippedWithoutGrowingDictionary() {
+        int before = dictionary.size();
+
+        long[] bits = dictionary.lookupAll(List.of("java", "fortran"));
+
+        assertThat(dictionary.size()).isEqualTo(before);
+        assertThat(SkillDictionary.overlap(bits, dictionary.internAll(List.of("java", "go")))).isEqualTo(1);
+    }
+
+    @Test
+    void overlap_countsSharedSkillsAcrossDifferentLengthBitsets() {
+        for (int i = 0; i < 200; i++) {
+            dictionary.intern("custom-" + i);
+        }
+        long[] wide = dictionary.internAll(List.of("java", "docker", "custom-199"));
+        long[] narrow = dictionary.internAll(List.of("java", "docker"));
+
+        assertThat(wide.length).isGreaterThan(narrow.length);
+        assertThat(SkillDictionary.overlap(wide, narrow)).isEqualTo(2);
+        assertThat(SkillDictionary.overlap(narrow, wide)).isEqualTo(2);
+    }
+}
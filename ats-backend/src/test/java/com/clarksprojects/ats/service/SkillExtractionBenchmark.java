@@ -0,0 +1,94 @@
+package com.clarksprojects.ats.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original skill extraction (lower-case the whole resume, then
+ * one {@code String.contains} per skill) with the single-pass
+ * {@link SkillExtractor} automaton, over synthetic resumes from a few KB to a
+ * few MB. Not a unit test; run manually:
+ *
+ * <pre>{@code
+ * mvn -q test-compile
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.clarksprojects.ats.service.SkillExtractionBenchmark
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillExtractionBenchmark {
+
+    private static final String[] FILLER = {
+            "designed", "and", "shipped", "a", "platform", "for", "payments", "with", "the", "team",
+            "led", "migration", "of", "services", "to", "improve", "latency", "across", "regions", "Google",
+    };
+
+    @Param({"4096", "262144", "4194304"})
+    public int resumeChars;
+
+    private String resume;
+    private SkillExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> skills = ResumeParserService.TECH_SKILLS;
+        StringBuilder text = new StringBuilder(resumeChars + 64);
+        while (text.length() < resumeChars) {
+            text.append(random.nextInt(12) == 0
+                    ? skills.get(random.nextInt(skills.size()))
+                    : FILLER[random.nextInt(FILLER.length)]);
+            text.append(random.nextInt(10) == 0 ? ".\n" : " ");
+        }
+        resume = text.toString();
+        extractor = new SkillExtractor(new ClassPathResource("skills.txt"));
+    }
+
+    @Benchmark
+    public List<String> legacyContains() {
+        String lowerText = resume.toLowerCase();
+        List<String> found = new ArrayList<>();
+        for (String skill : ResumeParserService.TECH_SKILLS) {
+            if (lowerText.contains(skill.toLowerCase())) {
+                found.add(skill);
+            }
+        }
+        found.sort(String::compareToIgnoreCase);
+        return found;
+    }
+
+    @Benchmark
+    public List<String> automaton() {
+        return extractor.extract(resume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SkillExtractionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.clarksprojects.ats.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillExtractorTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String content, Instant modified) throws IOException {
+        Path file = dir.resolve("skills.txt");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    @Test
+    void extract_usesBuiltInSkillsAndDictionaryAliases() throws IOException {
+        Path file = write("""
+                # comment
+                Kubernetes: k8s, kube
+                "Go": Golang
+                C#: CSharp
+                """, Instant.now());
+
+        SkillExtractor extractor = new SkillExtractor(new FileSystemResource(file));
+
+        assertThat(extractor.extract("Java and k8s at Google, some golang, CSharp, let's go"))
+                .containsExactly("C#", "Go", "Java", "Kubernetes");
+    }
+
+    @Test
+    void reloadIfChanged_picksUpEditedDictionary() throws IOException {
+        Instant loaded = Instant.now().minusSeconds(60);
+        Path file = write("Kubernetes: k8s\n", loaded);
+        SkillExtractor extractor = new SkillExtractor(new FileSystemResource(file));
+        assertThat(extractor.extract("Helm charts")).isEmpty();
+
+        write("Kubernetes: k8s\nHelm: helm charts\n", loaded.plusSeconds(30));
+        extractor.reloadIfChanged();
+
+        assertThat(extractor.extract("Helm charts")).containsExactly("Helm");
+    }
+
+    @Test
+    void reloadIfChanged_keepsPreviousDictionaryWhenTheNewOneIsBroken() throws IOException {
+        Instant loaded = Instant.now().minusSeconds(60);
+        Path file = write("Kubernetes: k8s\n", loaded);
+        SkillExtractor extractor = new SkillExtractor(new FileSystemResource(file));
+
+        write(": orphan alias\n", loaded.plusSeconds(30));
+        extractor.reloadIfChanged();
+
+        assertThat(extractor.extract("k8s")).containsExactly("Kubernetes");
+    }
+
+    @Test
+    void extract_withMissingDictionaryUsesBuiltInSkills() {
+        SkillExtractor extractor = new SkillExtractor(new FileSystemResource(dir.resolve("missing.txt")));
+
+        assertThat(extractor.extract("Docker and k8s")).containsExactly("Docker");
+    }
+
+    @Test
+    void bundledDictionary_loads() throws IOException {
+        assertThat(SkillExtractor.read(new ClassPathResource("skills.txt"))).isNotEmpty();
+        SkillExtractor extractor = new SkillExtractor(new ClassPathResource("skills.txt"));
+
+        assertThat(extractor.extract("Postgres, Golang and ReactJS; ready to go for a rest"))
+                .containsExactly("Go", "PostgreSQL", "React");
+    }
+}
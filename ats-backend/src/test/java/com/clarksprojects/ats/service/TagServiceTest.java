@@ -38,7 +38,7 @@ class TagServiceTest {
         Job job = Job.builder().id(1L).employer("Acme").title("Eng").department("Eng").location("R")
                 .status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME).build();
         candidate = Candidate.builder().id(10L).firstName("A").lastName("B").email("a@b.com")
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(job).tags(new HashSet<>()).build();
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(job).tags(new HashSet<>()).build();
         topPick = Tag.builder().id(1L).name("Top Pick").color("#22c55e").build();
         referral = Tag.builder().id(2L).name("Referral").color("#3b82f6").build();
     }
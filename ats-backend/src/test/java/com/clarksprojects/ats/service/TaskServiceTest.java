@@ -34,6 +34,7 @@ class TaskServiceTest {
     @Mock UserRepository userRepository;
     @Mock CurrentUserService currentUserService;
     @Mock ActivityService activityService;
+    @Mock DashboardCounters dashboardCounters;
 
     @InjectMocks TaskService taskService;
 
@@ -46,7 +47,7 @@ class TaskServiceTest {
         job = Job.builder().id(1L).employer("Acme").title("Eng").department("Eng")
                 .location("R").status(JobStatus.OPEN).employmentType(EmploymentType.FULL_TIME).build();
         candidate = Candidate.builder().id(10L).firstName("A").lastName("B").email("a@b.com")
-                .stage(PipelineStage.APPLIED).stageOrder(0).job(job).build();
+                .stage(PipelineStage.APPLIED).stageOrder(0L).job(job).build();
         user = User.builder().id(1L).username("rec").password("x").email("r@x.com")
                 .fullName("Rec").role(Role.RECRUITER).build();
     }
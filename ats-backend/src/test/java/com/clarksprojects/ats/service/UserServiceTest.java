@@ -8,6 +8,7 @@ import com.clarksprojects.ats.entity.User;
 import com.clarksprojects.ats.exception.ResourceNotFoundException;
 import com.clarksprojects.ats.repository.RefreshTokenRepository;
 import com.clarksprojects.ats.repository.UserRepository;
+import com.clarksprojects.ats.security.UserPrincipalCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -29,6 +30,7 @@ class UserServiceTest {
     @Mock UserRepository userRepository;
     @Mock RefreshTokenRepository refreshTokenRepository;
     @Mock PasswordEncoder passwordEncoder;
+    @Mock UserPrincipalCache principalCache;
 
     @InjectMocks UserService userService;
 
@@ -107,6 +109,43 @@ class UserServiceTest {
         assertThat(out.email()).isEqualTo("new@b.com");
         assertThat(out.role()).isEqualTo(Role.ADMIN);
         assertThat(out.enabled()).isFalse();
+        verify(principalCache).evict("alice");
+    }
+
+    @Test
+    void update_disabling_bumpsTokenVersionAndRevokesRefreshTokens() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        userService.update(1L, UpdateUserRequest.builder()
+                .email("a@b.com").fullName("Alice").role(Role.RECRUITER).enabled(false).build());
+
+        assertThat(alice.getTokenVersion()).isEqualTo(1);
+        verify(refreshTokenRepository).revokeAllForUser(eq(alice), any());
+    }
+
+    @Test
+    void update_roleChange_bumpsTokenVersion() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        userService.update(1L, UpdateUserRequest.builder()
+                .email("a@b.com").fullName("Alice").role(Role.ADMIN).enabled(true).build());
+
+        assertThat(alice.getTokenVersion()).isEqualTo(1);
+        verify(refreshTokenRepository, never()).revokeAllForUser(any(), any());
+    }
+
+    @Test
+    void update_detailsOnly_keepsTokensValidButEvictsTheCachedUser() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        userService.update(1L, UpdateUserRequest.builder()
+                .email("new@b.com").fullName("Alice Renamed").role(Role.RECRUITER).enabled(true).build());
+
+        assertThat(alice.getTokenVersion()).isZero();
+        verify(principalCache).evict("alice");
     }
 
     @Test
@@ -115,5 +154,6 @@ class UserServiceTest {
         userService.delete(1L);
         verify(refreshTokenRepository).revokeAllForUser(eq(alice), any());
         verify(userRepository).delete(alice);
+        verify(principalCache).evict("alice");
     }
 }
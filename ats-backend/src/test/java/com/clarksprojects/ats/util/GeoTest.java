@@ -0,0 +1,54 @@
+package com.clarksprojects.ats.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoTest {
+
+    @Test
+    void haversineMiles_sanJoseToSanFrancisco_isAboutFortyEightMiles() {
+        assertThat(Geo.haversineMiles(37.3382, -121.8863, 37.7749, -122.4194))
+                .isBetween(40.0, 60.0);
+    }
+
+    @Test
+    void cellOf_matchesMigrationFormula() {
+        // band = floor((37.7749 + 90) / 0.5) = 255, column = floor((-122.4194 + 180) / 0.5) = 115
+        assertThat(Geo.cellOf(37.7749, -122.4194)).isEqualTo(255 * 720 + 115);
+        assertThat(Geo.cellOf(90.0, 180.0)).isEqualTo(359 * 720 + 719);
+        assertThat(Geo.cellOf((Double) null, Double.valueOf(-122.0))).isNull();
+    }
+
+    @Test
+    void cellsWithin_containsCellOfEveryPointInsideRadius() {
+        double lat = 37.3382;
+        double lon = -121.8863;
+        int[] cells = Geo.cellsWithin(lat, lon, 50.0);
+
+        assertThat(cells).isNotNull().hasSizeLessThan(40);
+        for (double dLat = -0.7; dLat <= 0.7; dLat += 0.05) {
+            for (double dLon = -0.9; dLon <= 0.9; dLon += 0.05) {
+                if (Geo.haversineMiles(lat, lon, lat + dLat, lon + dLon) <= 50.0) {
+                    assertThat(cells).contains(Geo.cellOf(lat + dLat, lon + dLon));
+                }
+            }
+        }
+    }
+
+    @Test
+    void cellsWithin_nearAntimeridian_wrapsToTheOtherSide() {
+        int[] cells = Geo.cellsWithin(0.0, 179.9, 50.0);
+
+        assertThat(cells).isNotNull();
+        assertThat(Arrays.stream(cells).anyMatch(c -> c == Geo.cellOf(0.0, -179.9))).isTrue();
+    }
+
+    @Test
+    void cellsWithin_hugeRadiusOrPolarCentre_returnsNull() {
+        assertThat(Geo.cellsWithin(37.0, -122.0, 5_000.0)).isNull();
+        assertThat(Geo.cellsWithin(89.9, 0.0, 50.0)).isNull();
+    }
+}
@@ -0,0 +1,24 @@
+package com.clarksprojects.ats.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HighlightsTest {
+
+    @Test
+    void toHtml_wrapsMarkedMatchesAndEscapesTheRest() {
+        assertThat(Highlights.toHtml("Built <b>⟦Kafka⟧</b> & ⟦Spark⟧ … pipelines", "⟦", "⟧"))
+                .isEqualTo("Built &lt;b&gt;<mark>Kafka</mark>&lt;/b&gt; &amp; <mark>Spark</mark> … pipelines");
+    }
+
+    @Test
+    void toHtml_leavesAnUnpairedMarkerAsText() {
+        assertThat(Highlights.toHtml("a ⟦b", "⟦", "⟧")).isEqualTo("a ⟦b");
+    }
+
+    @Test
+    void toHtml_keepsNull() {
+        assertThat(Highlights.toHtml(null, "⟦", "⟧")).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.clarksprojects.ats.util;
+
+import com.clarksprojects.ats.util.SkillMatcher.Term;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillMatcherTest {
+
+    private static Term term(String text) {
+        return new Term(text, text, false);
+    }
+
+    @Test
+    void find_onlyMatchesWholeWords() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("Java"), term("Go"), term("JavaScript")));
+
+        assertThat(matcher.find("Worked at Google on JavaScript tooling")).containsExactly("JavaScript");
+        assertThat(matcher.find("Java, Go and JavaScript")).containsExactly("Go", "Java", "JavaScript");
+    }
+
+    @Test
+    void find_ignoresCaseAndCollapsesWhitespace() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("Machine Learning"), term("Spring Boot")));
+
+        assertThat(matcher.find("MACHINE\n  learning with spring\tboot"))
+                .containsExactly("Machine Learning", "Spring Boot");
+    }
+
+    @Test
+    void find_reportsAliasesAsTheirSkillOnce() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(
+                term("Kubernetes"), new Term("k8s", "Kubernetes", false)));
+
+        assertThat(matcher.find("k8s operators; Kubernetes admin (k8s)")).containsExactly("Kubernetes");
+    }
+
+    @Test
+    void find_overlappingTermsAllMatch() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("Spring"), term("Spring Boot"), term("Boot")));
+
+        assertThat(matcher.find("spring boot")).containsExactly("Boot", "Spring", "Spring Boot");
+    }
+
+    @Test
+    void find_symbolEdgesAreNotBoundaryChecked() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("C++"), term("C#"), term("Node.js"), term(".NET")));
+
+        assertThat(matcher.find("C++17, C#; Node.js. ASP.NET")).containsExactly(".NET", "C#", "C++", "Node.js");
+    }
+
+    @Test
+    void find_caseSensitiveTermsNeedExactCapitalisation() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(new Term("Go", "Go", true), new Term("Golang", "Go", false)));
+
+        assertThat(matcher.find("Ready to go")).isEmpty();
+        assertThat(matcher.find("Built services in Go")).containsExactly("Go");
+        assertThat(matcher.find("golang")).containsExactly("Go");
+    }
+
+    @Test
+    void find_handlesNonAsciiTerms() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("Señor Dev"), term("Straße")));
+
+        assertThat(matcher.find("SEÑOR dev who lives on a straße")).containsExactly("Señor Dev", "Straße");
+    }
+
+    @Test
+    void compile_laterTermsReplaceEarlierOnes() {
+        SkillMatcher matcher = SkillMatcher.compile(List.of(term("Go"), new Term("go", "Go", true)));
+
+        assertThat(matcher.termCount()).isEqualTo(1);
+        assertThat(matcher.find("Go")).isEmpty();
+        assertThat(matcher.find("go")).containsExactly("Go");
+    }
+
+    @Test
+    void find_emptyDictionaryFindsNothing() {
+        assertThat(SkillMatcher.compile(List.of()).find("Java")).isEmpty();
+    }
+}
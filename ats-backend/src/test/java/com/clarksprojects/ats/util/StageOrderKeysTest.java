@@ -0,0 +1,50 @@
+package com.clarksprojects.ats.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageOrderKeysTest {
+
+    @Test
+    void between_emptyColumn_startsAtGap() {
+        assertThat(StageOrderKeys.between(null, null)).isEqualTo(StageOrderKeys.GAP);
+    }
+
+    @Test
+    void between_edges_stepOneGapOutwards() {
+        assertThat(StageOrderKeys.between(null, 100L)).isEqualTo(100L - StageOrderKeys.GAP);
+        assertThat(StageOrderKeys.between(100L, null)).isEqualTo(100L + StageOrderKeys.GAP);
+    }
+
+    @Test
+    void between_neighbours_takesMidpoint() {
+        assertThat(StageOrderKeys.between(StageOrderKeys.nth(0), StageOrderKeys.nth(1)))
+                .isEqualTo(StageOrderKeys.GAP + StageOrderKeys.GAP / 2);
+        assertThat(StageOrderKeys.between(-3L, 4L)).isEqualTo(0L);
+    }
+
+    @Test
+    void between_adjacentKeys_hasNoRoom() {
+        assertThat(StageOrderKeys.between(5L, 6L)).isNull();
+        assertThat(StageOrderKeys.between(5L, 5L)).isNull();
+    }
+
+    @Test
+    void between_pastMaxKey_hasNoRoom() {
+        assertThat(StageOrderKeys.between(StageOrderKeys.MAX_KEY, null)).isNull();
+        assertThat(StageOrderKeys.between(null, -StageOrderKeys.MAX_KEY)).isNull();
+    }
+
+    @Test
+    void repeatedSplits_atOneSpot_lastTwentyTimes() {
+        long before = StageOrderKeys.nth(0);
+        long after = StageOrderKeys.nth(1);
+        int splits = 0;
+        for (Long key = StageOrderKeys.between(before, after); key != null; key = StageOrderKeys.between(before, after)) {
+            after = key;
+            splits++;
+        }
+        assertThat(splits).isEqualTo(20);
+    }
+}
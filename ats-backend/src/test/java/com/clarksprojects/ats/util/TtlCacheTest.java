@@ -0,0 +1,96 @@
+package com.clarksprojects.ats.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(5), now::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Integer load(String key) {
+        return loads.incrementAndGet();
+    }
+
+    @Test
+    void get_withinTtl_returnsCachedValue() {
+        assertThat(cache.get("k", this::load)).isEqualTo(1);
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertThat(cache.get("k", this::load)).isEqualTo(1);
+    }
+
+    @Test
+    void get_afterTtl_reloads() {
+        cache.get("k", this::load);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertThat(cache.get("k", this::load)).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateAll_forcesReload() {
+        cache.get("k", this::load);
+        cache.invalidateAll();
+
+        assertThat(cache.get("k", this::load)).isEqualTo(2);
+    }
+
+    @Test
+    void get_failedLoad_isNotCached() {
+        assertThatThrownBy(() -> cache.get("k", key -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(cache.get("k", this::load)).isEqualTo(1);
+    }
+
+    @Test
+    void get_concurrentMisses_loadOnce() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get("k", key -> {
+                loaderStarted.countDown();
+                await(release);
+                return load(key);
+            })));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> cache.get("k", this::load)));
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
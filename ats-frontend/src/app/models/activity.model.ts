@@ -41,6 +41,6 @@ export interface Activity {
   actorId: number | null;
   actorName: string;
   summary: string;
-  metadata: string | null;
+  metadata: Record<string, string> | null;
   createdAt: string;
 }
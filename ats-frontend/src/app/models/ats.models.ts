@@ -1,5 +1,5 @@
 export { type JobStatus, type EmploymentType, type Job, type JobRequest, type TopCandidateMatch } from './job.model';
-export { type Candidate, type CandidateRequest, type StageMoveRequest } from './candidate.model';
+export { type Candidate, type CandidateRequest, type StageMoveRequest, type CandidateMove } from './candidate.model';
 export { type PipelineStage, PIPELINE_STAGES, STAGE_LABELS, STAGE_COLORS } from './pipeline.model';
 export { type DashboardStats } from './dashboard.model';
 export { type Role, ROLE_LABELS, type UserInfo, type LoginRequest, type CreateUserRequest, type UpdateUserRequest } from './auth.model';
@@ -44,3 +44,7 @@ export interface StageMoveRequest {
   newStage: PipelineStage;
   newOrder?: number;
 }
+
+export interface CandidateMove extends StageMoveRequest {
+  candidateId: number;
+}
@@ -4,7 +4,8 @@ import { HttpTestingController, provideHttpClientTesting } from '@angular/common
 import { ActivatedRoute, convertToParamMap, provideRouter } from '@angular/router';
 import { PipelineComponent } from './pipeline.component';
 import { AuthService } from '../../services/auth.service';
-import { Candidate } from '../../models/ats.models';
+import { CdkDragDrop } from '@angular/cdk/drag-drop';
+import { Candidate, PipelineStage } from '../../models/ats.models';
 
 describe('PipelineComponent', () => {
   let httpMock: HttpTestingController;
@@ -58,6 +59,26 @@ describe('PipelineComponent', () => {
     expect(fixture.componentInstance.getCandidatesForStage('SCREENING').length).toBe(1);
   });
 
+  it('drop sends only the dropped card with its new position', () => {
+    const fixture = TestBed.createComponent(PipelineComponent);
+    fixture.detectChanges();
+    const alice = mkCandidate({ id: 1, stage: 'APPLIED', stageOrder: 0 });
+    const bob = mkCandidate({ id: 2, stage: 'SCREENING', stageOrder: 0 });
+    fulfillLoad([alice, bob]);
+
+    fixture.componentInstance.onDrop({
+      item: { data: alice }, container: { data: 'SCREENING' }, previousIndex: 0, currentIndex: 0
+    } as unknown as CdkDragDrop<PipelineStage>);
+
+    expect(fixture.componentInstance.getCandidatesForStage('SCREENING').map(c => c.id)).toEqual([1, 2]);
+    const r = httpMock.expectOne('/api/candidates/stage');
+    expect(r.request.method).toBe('PATCH');
+    expect(r.request.body.moves).toEqual([{ candidateId: 1, newStage: 'SCREENING', newOrder: 0 }]);
+    r.flush([{ ...alice, stage: 'SCREENING', stageOrder: 524288 }, { ...bob, stageOrder: 1048576 }]);
+    expect(fixture.componentInstance.getCandidatesForStage('APPLIED')).toEqual([]);
+    expect(fixture.componentInstance.getCandidatesForStage('SCREENING').map(c => c.stageOrder)).toEqual([524288, 1048576]);
+  });
+
   it('opens edit modal with seeded form', () => {
     const fixture = TestBed.createComponent(PipelineComponent);
     fixture.detectChanges();
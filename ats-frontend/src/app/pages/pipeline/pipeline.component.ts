@@ -92,26 +92,37 @@ export class PipelineComponent implements OnInit {
 
   onDrop(event: CdkDragDrop<PipelineStage>): void {
     const candidate: Candidate = event.item.data;
+    const fromStage = candidate.stage;
     const newStage = event.container.data;
-    if (candidate.stage === newStage) return;
-
-    // Optimistic update: reflect the stage change immediately in the local array
-    // so the card stays in the new column without waiting for the API round-trip.
-    const idx = this.candidates.findIndex(c => c.id === candidate.id);
-    if (idx !== -1) {
-      this.candidates[idx] = { ...this.candidates[idx], stage: newStage };
-      this.candidates = [...this.candidates];
-      this.cdr.detectChanges();
-    }
-
-    this.candidateService.moveStage(candidate.id, {
+    if (fromStage === newStage && event.previousIndex === event.currentIndex) return;
+
+    // Optimistic update: show the card at its drop position immediately; the
+    // response then replaces both columns with what the server committed.
+    const column = this.getCandidatesForStage(newStage).filter(c => c.id !== candidate.id);
+    column.splice(event.currentIndex, 0, { ...candidate, stage: newStage });
+    this.replaceColumns([newStage], column);
+
+    // The server gives the card a key between its new neighbours, so only the
+    // dropped card is sent and written.
+    this.candidateService.moveStages([{
+      candidateId: candidate.id,
       newStage,
       newOrder: event.currentIndex
-    }).subscribe({
-      next: () => this.loadCandidates()
+    }]).subscribe({
+      next: (columns) => this.replaceColumns([fromStage, newStage], columns)
     });
   }
 
+  /** Swaps in `columns` (board order) for everything currently shown in `stages`. */
+  private replaceColumns(stages: PipelineStage[], columns: Candidate[]): void {
+    const ids = new Set(columns.map(c => c.id));
+    this.candidates = [
+      ...this.candidates.filter(c => !ids.has(c.id) && !stages.includes(c.stage)),
+      ...columns
+    ];
+    this.cdr.detectChanges();
+  }
+
   deleteCandidate(id: number): void {
     if (confirm('Remove this candidate?')) {
       this.candidateService.delete(id).subscribe(() => this.loadCandidates());
@@ -56,6 +56,44 @@ describe('TalentComponent', () => {
     expect(fixture.nativeElement.textContent).toContain('Alice Smith');
   });
 
+  it('load more appends the next page until there is none', () => {
+    const fixture = TestBed.createComponent(TalentComponent);
+    fixture.detectChanges();
+    httpMock.expectOne('/api/jobs').flush([]);
+    httpMock.expectOne(r => r.url === '/api/candidates/search')
+      .flush([mkCandidate({ id: 1 })], { headers: { 'X-Next-Cursor': 'c1' } });
+    fixture.detectChanges();
+    expect(fixture.nativeElement.textContent).toContain('Load more candidates');
+
+    const c = fixture.componentInstance;
+    c.loadMore();
+    httpMock.expectOne(r => r.url === '/api/candidates/search' && r.params.get('cursor') === 'c1')
+      .flush([mkCandidate({ id: 2 })]);
+    fixture.detectChanges();
+
+    expect(c.candidates.map(x => x.id)).toEqual([1, 2]);
+    expect(c.nextCursor).toBeNull();
+    expect(fixture.nativeElement.textContent).not.toContain('Load more candidates');
+  });
+
+  it('load more discards a page that arrives after a new search', () => {
+    const fixture = TestBed.createComponent(TalentComponent);
+    fixture.detectChanges();
+    httpMock.expectOne('/api/jobs').flush([]);
+    httpMock.expectOne(r => r.url === '/api/candidates/search')
+      .flush([mkCandidate({ id: 1 })], { headers: { 'X-Next-Cursor': 'c1' } });
+
+    const c = fixture.componentInstance;
+    c.loadMore();
+    const more = httpMock.expectOne(r => r.params.get('cursor') === 'c1');
+    c.runSearch();
+    httpMock.expectOne(r => r.url === '/api/candidates/search' && !r.params.has('cursor'))
+      .flush([mkCandidate({ id: 3 })]);
+    more.flush([mkCandidate({ id: 2 })]);
+
+    expect(c.candidates.map(x => x.id)).toEqual([3]);
+  });
+
   it('hasActiveFilter detects each filter', () => {
     const fixture = TestBed.createComponent(TalentComponent);
     fixture.detectChanges();
@@ -4,7 +4,7 @@ import { Router, RouterLink } from '@angular/router';
 import { FormsModule } from '@angular/forms';
 import { Subject } from 'rxjs';
 import { debounceTime, distinctUntilChanged, takeUntil } from 'rxjs/operators';
-import { CandidateService, CandidateSort } from '../../services/candidate.service';
+import { CandidateSearchParams, CandidateService, CandidateSort } from '../../services/candidate.service';
 import { JobService } from '../../services/job.service';
 import { AuthService } from '../../services/auth.service';
 import {
@@ -26,7 +26,11 @@ export class TalentComponent implements OnInit, OnDestroy {
   candidates: Candidate[] = [];
   jobs: Job[] = [];
   loading = false;
+  loadingMore = false;
   totalCount = 0;
+  /** Set while the search has matches beyond those loaded; loadMore() fetches the next page. */
+  nextCursor: string | null = null;
+  private totalHasMore = false;
 
   showAddModal = false;
   showUploadModal = false;
@@ -102,23 +106,19 @@ export class TalentComponent implements OnInit, OnDestroy {
 
   runSearch(): void {
     this.loading = true;
+    this.nextCursor = null;
     this.cdr.detectChanges();
     try {
       localStorage?.setItem?.(SORT_STORAGE_KEY, this.filters.sort);
     } catch {
       /* ignore — localStorage may be unavailable (e.g. SSR / private mode) */
     }
-    this.candidateService.search({
-      name: this.filters.name || undefined,
-      skills: this.filters.skills || undefined,
-      stage: this.filters.stage || undefined,
-      jobId: this.filters.jobId ?? undefined,
-      sort: this.filters.sort
-    }).subscribe({
-      next: (results) => {
-        this.candidates = results;
+    this.candidateService.search(this.searchParams()).subscribe({
+      next: (result) => {
+        this.candidates = result.candidates;
+        this.nextCursor = result.nextCursor;
         this.page = 1;
-        if (!this.hasActiveFilter()) this.totalCount = results.length;
+        this.updateTotal();
         this.loading = false;
         this.cdr.detectChanges();
       },
@@ -126,6 +126,45 @@ export class TalentComponent implements OnInit, OnDestroy {
     });
   }
 
+  /** Appends the next page of the current search; a new search started meanwhile discards it. */
+  loadMore(): void {
+    const cursor = this.nextCursor;
+    if (!cursor || this.loadingMore) return;
+    this.loadingMore = true;
+    this.candidateService.search(this.searchParams(), cursor).subscribe({
+      next: (result) => {
+        this.loadingMore = false;
+        if (this.nextCursor === cursor) {
+          this.candidates = [...this.candidates, ...result.candidates];
+          this.nextCursor = result.nextCursor;
+          this.updateTotal();
+        }
+        this.cdr.detectChanges();
+      },
+      error: () => { this.loadingMore = false; this.cdr.detectChanges(); }
+    });
+  }
+
+  get totalLabel(): string {
+    return this.totalHasMore ? `${this.totalCount}+` : `${this.totalCount}`;
+  }
+
+  private searchParams(): CandidateSearchParams {
+    return {
+      name: this.filters.name || undefined,
+      skills: this.filters.skills || undefined,
+      stage: this.filters.stage || undefined,
+      jobId: this.filters.jobId ?? undefined,
+      sort: this.filters.sort
+    };
+  }
+
+  private updateTotal(): void {
+    if (this.hasActiveFilter()) return;
+    this.totalCount = this.candidates.length;
+    this.totalHasMore = this.nextCursor !== null;
+  }
+
   resetFilters(): void {
     this.filters = { name: '', skills: '', stage: '', jobId: null, sort: 'name' };
     this.runSearch();
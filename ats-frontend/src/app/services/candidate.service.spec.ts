@@ -46,12 +46,24 @@ describe('CandidateService', () => {
   });
 
   it('searches with name', () => {
-    service.search({ name: 'Jane' }).subscribe(list => expect(list.length).toBe(1));
+    service.search({ name: 'Jane' }).subscribe(page => {
+      expect(page.candidates.length).toBe(1);
+      expect(page.nextCursor).toBeNull();
+    });
     const req = httpMock.expectOne('/api/candidates/search?name=Jane');
     expect(req.request.method).toBe('GET');
     req.flush([mockCandidate]);
   });
 
+  it('search returns the next-page cursor and sends it back', () => {
+    service.search({ name: 'Jane' }).subscribe(page => expect(page.nextCursor).toBe('abc'));
+    httpMock.expectOne('/api/candidates/search?name=Jane')
+      .flush([mockCandidate], { headers: { 'X-Next-Cursor': 'abc' } });
+
+    service.search({ name: 'Jane' }, 'abc').subscribe();
+    httpMock.expectOne(r => r.url === '/api/candidates/search' && r.params.get('cursor') === 'abc').flush([]);
+  });
+
   it('searches with sort + multi-filter', () => {
     const params: CandidateSearchParams = { name: 'Jane', skills: 'Java', stage: 'APPLIED', jobId: 1, sort: 'applied' };
     service.search(params).subscribe();
@@ -108,6 +120,16 @@ describe('CandidateService', () => {
     r.flush({ ...mockCandidate, stage: 'INTERVIEW' });
   });
 
+  it('moves several candidates in one request', () => {
+    service.moveStages([{ candidateId: 1, newStage: 'INTERVIEW', newOrder: 0 }]).subscribe(res => {
+      expect(res[0].stage).toBe('INTERVIEW');
+    });
+    const r = httpMock.expectOne('/api/candidates/stage');
+    expect(r.request.method).toBe('PATCH');
+    expect(r.request.body).toEqual({ moves: [{ candidateId: 1, newStage: 'INTERVIEW', newOrder: 0 }] });
+    r.flush([{ ...mockCandidate, stage: 'INTERVIEW' }]);
+  });
+
   it('deletes a candidate', () => {
     service.delete(1).subscribe();
     const r = httpMock.expectOne('/api/candidates/1');
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Candidate, CandidateRequest, PipelineStage, StageMoveRequest } from '../models/ats.models';
+import { map } from 'rxjs/operators';
+import { Candidate, CandidateMove, CandidateRequest, PipelineStage, StageMoveRequest } from '../models/ats.models';
 
 export type CandidateSort = 'name' | 'applied' | 'applied:asc' | 'updated';
 
@@ -13,20 +14,29 @@ export interface CandidateSearchParams {
   sort?: CandidateSort;
 }
 
+/** One page of search results; nextCursor fetches the next page and is null on the last. */
+export interface CandidatePage {
+  candidates: Candidate[];
+  nextCursor: string | null;
+}
+
 @Injectable({ providedIn: 'root' })
 export class CandidateService {
   private readonly baseUrl = '/api/candidates';
 
   constructor(private readonly http: HttpClient) {}
 
-  search(params: CandidateSearchParams): Observable<Candidate[]> {
+  search(params: CandidateSearchParams, cursor?: string): Observable<CandidatePage> {
     let p = new HttpParams();
     if (params.name)   p = p.set('name', params.name);
     if (params.skills) p = p.set('skills', params.skills);
     if (params.stage)  p = p.set('stage', params.stage);
     if (params.jobId)  p = p.set('jobId', params.jobId);
     if (params.sort)   p = p.set('sort', params.sort);
-    return this.http.get<Candidate[]>(`${this.baseUrl}/search`, { params: p });
+    if (cursor)        p = p.set('cursor', cursor);
+    return this.http.get<Candidate[]>(`${this.baseUrl}/search`, { params: p, observe: 'response' }).pipe(
+      map(res => ({ candidates: res.body ?? [], nextCursor: res.headers.get('X-Next-Cursor') }))
+    );
   }
 
   getByJob(jobId: number, stage?: PipelineStage): Observable<Candidate[]> {
@@ -53,6 +63,11 @@ export class CandidateService {
     return this.http.patch<Candidate>(`${this.baseUrl}/${id}/stage`, request);
   }
 
+  /** Applies several moves at once; returns every column they touched, in board order. */
+  moveStages(moves: CandidateMove[]): Observable<Candidate[]> {
+    return this.http.patch<Candidate[]>(`${this.baseUrl}/stage`, { moves });
+  }
+
   delete(id: number): Observable<void> {
     return this.http.delete<void>(`${this.baseUrl}/${id}`);
   }